@@ -2,11 +2,15 @@ package com.portfolio.backend.advisories.controllers;
 
 import com.portfolio.backend.advisories.dto.AdvisoryDTO;
 import com.portfolio.backend.advisories.services.AdvisoryService;
+import com.portfolio.backend.common.KeysetParams;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -25,20 +29,36 @@ public class AdvisoryController {
     }
 
     @GetMapping("/programmer/{id}")
-    public ResponseEntity<List<AdvisoryDTO>> getByProgrammer(@PathVariable Long id) {
+    public ResponseEntity<List<AdvisoryDTO>> getByProgrammer(@PathVariable Long id, KeysetParams page) {
+        if (page.isRequested()) {
+            return advisoryService.getAdvisoriesByProgrammer(id, page).toResponse();
+        }
         return ResponseEntity.ok(advisoryService.getAdvisoriesByProgrammer(id));
     }
 
     @GetMapping("/user/{id}")
-    public ResponseEntity<List<AdvisoryDTO>> getByUser(@PathVariable Long id) {
+    public ResponseEntity<List<AdvisoryDTO>> getByUser(@PathVariable Long id, KeysetParams page) {
+        if (page.isRequested()) {
+            return advisoryService.getAdvisoriesByUser(id, page).toResponse();
+        }
         return ResponseEntity.ok(advisoryService.getAdvisoriesByUser(id));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<AdvisoryDTO>> getAll() {
+    public ResponseEntity<List<AdvisoryDTO>> getAll(KeysetParams page) {
+        if (page.isRequested()) {
+            return advisoryService.getAllAdvisories(page).toResponse();
+        }
         return ResponseEntity.ok(advisoryService.getAllAdvisories());
     }
 
+    // ?stream=true: JSON array written row by row for full admin dumps
+    @GetMapping(value = "/all", params = "stream=true")
+    public void streamAll(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        advisoryService.writeAllAdvisories(response.getOutputStream());
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<AdvisoryDTO> updateStatus(@PathVariable Long id, @RequestParam String status,
             @RequestParam(required = false) String responseMessage) {
@@ -25,4 +25,5 @@ public class AdvisoryDTO {
     private String modality;
     private String responseMessage;
     private Long scheduleId; // To link and update schedule status
+    private String holdToken; // Token from POST /api/schedules/{id}/holds, if the slot was held
 }
@@ -10,7 +10,13 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "advisories")
+@Table(name = "advisories", indexes = {
+        @Index(name = "idx_advisories_programmer_status", columnList = "programmer_id, status"),
+        @Index(name = "idx_advisories_schedule", columnList = "schedule_id"),
+        @Index(name = "idx_advisories_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_advisories_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_advisories_programmer_created_id", columnList = "programmer_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,17 +1,72 @@
 package com.portfolio.backend.advisories.repository;
 
+import com.portfolio.backend.advisories.dto.AdvisoryDTO;
 import com.portfolio.backend.advisories.entity.Advisory;
 import com.portfolio.backend.advisories.entity.enums.AdvisoryStatus;
+import com.portfolio.backend.schedules.dto.CalendarEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AdvisoryRepository extends JpaRepository<Advisory, Long> {
+
+    // Advisory + programmer + user + schedule id in one row; list reads never load the User entities
+    String DTO_SELECT = "SELECT new com.portfolio.backend.advisories.dto.AdvisoryDTO(a.id, p.id, p.name, u.id, "
+            + "u.name, str(a.status), a.message, a.date, a.time, a.modality, a.responseMessage, s.id, "
+            + "cast(null as String)) FROM Advisory a JOIN a.programmer p JOIN a.user u LEFT JOIN a.schedule s";
+
     List<Advisory> findByProgrammerId(Long programmerId);
 
     List<Advisory> findByUserId(Long userId);
 
+    @Query(DTO_SELECT + " ORDER BY a.id")
+    List<AdvisoryDTO> findAllDTOs();
+
+    @Query(DTO_SELECT + " WHERE p.id = :programmerId ORDER BY a.id")
+    List<AdvisoryDTO> findDTOsByProgrammerId(@Param("programmerId") Long programmerId);
+
+    @Query(DTO_SELECT + " WHERE u.id = :userId ORDER BY a.id")
+    List<AdvisoryDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    // (status, modality, count) rows for the stats endpoints
+    @Query("SELECT a.status, a.modality, COUNT(a) FROM Advisory a WHERE a.programmer.id = :programmerId "
+            + "GROUP BY a.status, a.modality")
+    List<Object[]> countByStatusAndModalityForProgrammer(@Param("programmerId") Long programmerId);
+
+    @Query("SELECT a.status, a.modality, COUNT(a) FROM Advisory a WHERE a.user.id = :userId "
+            + "GROUP BY a.status, a.modality")
+    List<Object[]> countByStatusAndModalityForUser(@Param("userId") Long userId);
+
     long countByProgrammerIdAndStatus(Long programmerId, AdvisoryStatus status);
+
+    @Query("SELECT COUNT(a) > 0 FROM Advisory a JOIN a.schedule s "
+            + "WHERE a.programmer.id = :programmerId AND a.id <> :advisoryId "
+            + "AND a.status = com.portfolio.backend.advisories.entity.enums.AdvisoryStatus.ACCEPTED "
+            + "AND s.date = :date AND s.startTime < :end AND s.endTime > :start")
+    boolean existsAcceptedOverlap(@Param("programmerId") Long programmerId, @Param("advisoryId") Long advisoryId,
+            @Param("date") LocalDate date, @Param("start") LocalTime start, @Param("end") LocalTime end);
+
+    // Calendar events of a programmer's booked slots; only slot-backed rows,
+    // whose every change goes through the schedule change log
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.portfolio.backend.schedules.dto.CalendarEntry(a.id, s.date, s.startTime, s.endTime, "
+            + "a.modality, NULL, a.updatedAt) FROM Advisory a JOIN a.schedule s "
+            + "WHERE a.programmer.id = :programmerId AND a.status = :status ORDER BY s.date, s.startTime, a.id")
+    Stream<CalendarEntry> streamCalendarEntries(@Param("programmerId") Long programmerId,
+            @Param("status") AdvisoryStatus status);
+
+    // Whole table as DTOs, in id order, for the streaming dump of /api/advisories/all
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + " ORDER BY a.id")
+    Stream<AdvisoryDTO> streamAllAsDTO();
 }
@@ -1,22 +1,36 @@
 package com.portfolio.backend.advisories.services;
 
 import com.portfolio.backend.advisories.dto.AdvisoryDTO;
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetParams;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface AdvisoryService {
     AdvisoryDTO createAdvisory(AdvisoryDTO dto);
 
     List<AdvisoryDTO> getAdvisoriesByProgrammer(Long programmerId);
 
+    KeysetPage<AdvisoryDTO> getAdvisoriesByProgrammer(Long programmerId, KeysetParams params);
+
     List<AdvisoryDTO> getAdvisoriesByUser(Long userId);
 
+    KeysetPage<AdvisoryDTO> getAdvisoriesByUser(Long userId, KeysetParams params);
+
     List<AdvisoryDTO> getAllAdvisories();
 
+    KeysetPage<AdvisoryDTO> getAllAdvisories(KeysetParams params);
+
+    void writeAllAdvisories(OutputStream out);
+
     AdvisoryDTO updateAdvisoryStatus(Long id, String status, String responseMessage);
 
     Map<String, Long> getProgrammerStats(Long programmerId);
 
+    Optional<Map<String, Long>> findProgrammerStats(Long programmerId);
+
     Map<String, Long> getUserStats(Long userId);
 }
@@ -4,19 +4,30 @@ import com.portfolio.backend.advisories.dto.AdvisoryDTO;
 import com.portfolio.backend.advisories.entity.Advisory;
 import com.portfolio.backend.advisories.entity.enums.AdvisoryStatus;
 import com.portfolio.backend.advisories.repository.AdvisoryRepository;
+import com.portfolio.backend.common.JsonArrayWriter;
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetPager;
+import com.portfolio.backend.common.KeysetParams;
 import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.events.ScheduleChangeType;
+import com.portfolio.backend.schedules.events.ScheduleChangedEvent;
+import com.portfolio.backend.schedules.holds.ScheduleHoldService;
 import com.portfolio.backend.schedules.repository.ScheduleRepository;
 import com.portfolio.backend.users.entity.User;
 import com.portfolio.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.portfolio.backend.emails.service.EmailService;
 
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.portfolio.backend.profiles.repository.ProgrammerProfileRepository;
 
@@ -29,8 +40,13 @@ public class AdvisoryServiceImpl implements AdvisoryService {
     private final ScheduleRepository scheduleRepository;
     private final ProgrammerProfileRepository programmerProfileRepository;
     private final EmailService emailService;
+    private final ScheduleHoldService scheduleHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPager keysetPager;
+    private final JsonArrayWriter jsonArrayWriter;
 
     @Override
+    @Transactional
     public AdvisoryDTO createAdvisory(AdvisoryDTO dto) {
         // Programmer is a User in the Advisory entity
         User programmer = userRepository.findById(dto.getProgrammerId())
@@ -53,13 +69,16 @@ public class AdvisoryServiceImpl implements AdvisoryService {
             Schedule schedule = scheduleRepository.findById(dto.getScheduleId())
                     .orElseThrow(() -> new RuntimeException("Schedule not found"));
 
-            if ("BOOKED".equals(schedule.getStatus())) {
+            // Conditional update so two concurrent requests cannot both book the
+            // slot, run under the slot's hold so nobody else can hold it meanwhile
+            if (!scheduleHoldService.book(schedule.getId(), dto.getHoldToken(), user.getId(),
+                    () -> scheduleRepository.markBookedIfAvailable(schedule.getId()) > 0)) {
                 throw new RuntimeException("Schedule is already booked!");
             }
 
-            schedule.setStatus("BOOKED");
-            scheduleRepository.save(schedule);
+            schedule.setStatus(ScheduleStatus.BOOKED);
             advisory.setSchedule(schedule); // Link Schedule to Advisory
+            eventPublisher.publishEvent(ScheduleChangedEvent.of(ScheduleChangeType.BOOKED, schedule));
         } else {
             throw new RuntimeException("Schedule ID must be provided for advisory creation.");
         }
@@ -91,26 +110,52 @@ public class AdvisoryServiceImpl implements AdvisoryService {
         return mapToDTO(savedAdvisory);
     }
 
+    // List reads are a single projection query each (see AdvisoryRepository.DTO_SELECT)
     @Override
+    @Transactional(readOnly = true)
     public List<AdvisoryDTO> getAdvisoriesByProgrammer(Long programmerId) {
         // programmerId refers to the User ID of the programmer
-        return advisoryRepository.findByProgrammerId(programmerId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return advisoryRepository.findDTOsByProgrammerId(programmerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AdvisoryDTO> getAdvisoriesByUser(Long userId) {
-        return advisoryRepository.findByUserId(userId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return advisoryRepository.findDTOsByUserId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AdvisoryDTO> getAllAdvisories() {
-        return advisoryRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return advisoryRepository.findAllDTOs();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<AdvisoryDTO> getAdvisoriesByProgrammer(Long programmerId, KeysetParams params) {
+        return keysetPager.page(AdvisoryRepository.DTO_SELECT, "a", AdvisoryDTO.class,
+                "a.programmer.id = :programmerId", Map.of("programmerId", programmerId), params);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<AdvisoryDTO> getAdvisoriesByUser(Long userId, KeysetParams params) {
+        return keysetPager.page(AdvisoryRepository.DTO_SELECT, "a", AdvisoryDTO.class,
+                "a.user.id = :userId", Map.of("userId", userId), params);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<AdvisoryDTO> getAllAdvisories(KeysetParams params) {
+        return keysetPager.page(AdvisoryRepository.DTO_SELECT, "a", AdvisoryDTO.class, null, Map.of(), params);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllAdvisories(OutputStream out) {
+        try (Stream<AdvisoryDTO> rows = advisoryRepository.streamAllAsDTO()) {
+            jsonArrayWriter.write(rows, out);
+        }
     }
 
     @Override
@@ -120,17 +165,28 @@ public class AdvisoryServiceImpl implements AdvisoryService {
                 .orElseThrow(() -> new RuntimeException("Advisory not found"));
 
         AdvisoryStatus newStatus = AdvisoryStatus.valueOf(status.toUpperCase());
+        boolean changed = !newStatus.equals(advisory.getStatus());
+        if (AdvisoryStatus.ACCEPTED.equals(newStatus) && changed) {
+            checkNoAcceptedOverlap(advisory);
+        }
         advisory.setStatus(newStatus);
         advisory.setResponseMessage(responseMessage);
 
-        // If Rejected, free the schedule
+        // If Rejected, free the schedule, unless it was already given up or
+        // another advisory has booked it since
         if (AdvisoryStatus.REJECTED.equals(newStatus)) {
-            if (advisory.getSchedule() != null) {
-                Schedule schedule = advisory.getSchedule();
-                schedule.setStatus("AVAILABLE");
-                scheduleRepository.save(schedule);
+            Schedule schedule = advisory.getSchedule();
+            if (changed && schedule != null
+                    && scheduleRepository.markAvailableIfHeldOnlyBy(schedule.getId(), advisory.getId()) > 0) {
+                schedule.setStatus(ScheduleStatus.AVAILABLE);
+                eventPublisher.publishEvent(ScheduleChangedEvent.of(ScheduleChangeType.FREED, schedule));
                 System.out.println("Advisory rejected. Schedule " + schedule.getId() + " freed.");
             }
+        } else if (changed && advisory.getSchedule() != null && (AdvisoryStatus.ACCEPTED.equals(newStatus)
+                || AdvisoryStatus.COMPLETED.equals(newStatus))) {
+            // Slot stays BOOKED, but calendars showing confirmed advisories must refresh
+            eventPublisher.publishEvent(
+                    ScheduleChangedEvent.of(ScheduleChangeType.CONFIRMED, advisory.getSchedule()));
         }
 
         Advisory savedAdvisory = advisoryRepository.save(advisory);
@@ -161,38 +217,81 @@ public class AdvisoryServiceImpl implements AdvisoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Long> getProgrammerStats(Long programmerId) {
-        // Verify programmer profile exists to ensure they are actually a programmer
-        programmerProfileRepository.findByUserId(programmerId)
+        return findProgrammerStats(programmerId)
                 .orElseThrow(() -> new RuntimeException("Programmer profile not found"));
+    }
 
-        List<Advisory> advisories = advisoryRepository.findByProgrammerId(programmerId);
+    // Empty when the user has no programmer profile (portfolio of a plain user)
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Long>> findProgrammerStats(Long programmerId) {
+        // Verify programmer profile exists to ensure they are actually a programmer
+        if (!programmerProfileRepository.existsByUserId(programmerId)) {
+            return Optional.empty();
+        }
 
-        return calculateStats(advisories);
+        return Optional.of(calculateStats(advisoryRepository.countByStatusAndModalityForProgrammer(programmerId)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Long> getUserStats(Long userId) {
         // Verify user exists
-        userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Advisory> advisories = advisoryRepository.findByUserId(userId);
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
 
-        return calculateStats(advisories);
+        return calculateStats(advisoryRepository.countByStatusAndModalityForUser(userId));
     }
 
-    private Map<String, Long> calculateStats(List<Advisory> advisories) {
-        long pending = advisories.stream().filter(a -> AdvisoryStatus.PENDING.equals(a.getStatus())).count();
-        long accepted = advisories.stream().filter(a -> AdvisoryStatus.ACCEPTED.equals(a.getStatus())).count();
-        long rejected = advisories.stream().filter(a -> AdvisoryStatus.REJECTED.equals(a.getStatus())).count();
-        long completed = advisories.stream().filter(a -> AdvisoryStatus.COMPLETED.equals(a.getStatus())).count();
+    /**
+     * Rejects an acceptance that overlaps another accepted advisory of the same
+     * programmer. Locking that programmer's slots for the day makes concurrent
+     * accepts on the same day run one after the other; other days are not
+     * affected.
+     */
+    private void checkNoAcceptedOverlap(Advisory advisory) {
+        Schedule schedule = advisory.getSchedule();
+        if (schedule == null) {
+            return;
+        }
+        Long programmerId = advisory.getProgrammer().getId();
+        scheduleRepository.lockProgrammerDay(programmerId, schedule.getDate());
+        if (advisoryRepository.existsAcceptedOverlap(programmerId, advisory.getId(), schedule.getDate(),
+                schedule.getStartTime(), schedule.getEndTime())) {
+            throw new RuntimeException("Schedule conflict: the programmer already accepted an advisory at "
+                    + schedule.getDate() + " " + schedule.getStartTime());
+        }
+    }
 
-        long virtual = advisories.stream().filter(a -> "VIRTUAL".equals(a.getModality())).count();
-        long presencial = advisories.stream().filter(a -> "PRESENCIAL".equals(a.getModality())).count();
+    // Folds the (status, modality, count) groups into the flat stats map
+    private Map<String, Long> calculateStats(List<Object[]> groups) {
+        long total = 0, pending = 0, accepted = 0, rejected = 0, completed = 0, virtual = 0, presencial = 0;
+        for (Object[] group : groups) {
+            AdvisoryStatus status = (AdvisoryStatus) group[0];
+            String modality = (String) group[1];
+            long count = (Long) group[2];
+            total += count;
+            if (AdvisoryStatus.PENDING.equals(status)) {
+                pending += count;
+            } else if (AdvisoryStatus.ACCEPTED.equals(status)) {
+                accepted += count;
+            } else if (AdvisoryStatus.REJECTED.equals(status)) {
+                rejected += count;
+            } else if (AdvisoryStatus.COMPLETED.equals(status)) {
+                completed += count;
+            }
+            if ("VIRTUAL".equals(modality)) {
+                virtual += count;
+            } else if ("PRESENCIAL".equals(modality)) {
+                presencial += count;
+            }
+        }
 
         Map<String, Long> stats = new HashMap<>();
-        stats.put("total", (long) advisories.size());
+        stats.put("total", total);
         stats.put("pending", pending);
         stats.put("accepted", accepted);
         stats.put("rejected", rejected);
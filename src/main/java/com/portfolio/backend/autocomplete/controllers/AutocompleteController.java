@@ -0,0 +1,62 @@
+package com.portfolio.backend.autocomplete.controllers;
+
+import com.portfolio.backend.autocomplete.dtos.TermSuggestionDTO;
+import com.portfolio.backend.autocomplete.services.AutocompleteService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para el autocompletado de formularios.
+ *
+ * Endpoints disponibles:
+ * - GET /api/autocomplete/techs?q= - Tecnologías usadas en proyectos (público)
+ * - GET /api/autocomplete/skills?q= - Habilidades de programadores (público)
+ *
+ * Ignora mayúsculas y tildes ("jav" sugiere "Java" y "JavaScript") y
+ * ordena por cantidad de proyectos o perfiles que usan cada término.
+ */
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Autocompletado", description = "Sugerencias de tecnologías y habilidades")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Sugerencias de tecnologías
+     *
+     * Endpoint: GET /api/autocomplete/techs?q=spr&limit=10
+     *
+     * @param q     Prefijo escrito por el usuario (vacío = más usadas)
+     * @param limit Máximo de sugerencias (hasta 50)
+     * @return 200 OK con las sugerencias, de más a menos usada
+     */
+    @GetMapping("/techs")
+    public ResponseEntity<List<TermSuggestionDTO>> suggestTechs(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggestTechs(q, limit));
+    }
+
+    /**
+     * Sugerencias de habilidades
+     *
+     * Endpoint: GET /api/autocomplete/skills?q=jav&limit=10
+     *
+     * @param q     Prefijo escrito por el usuario (vacío = más usadas)
+     * @param limit Máximo de sugerencias (hasta 50)
+     * @return 200 OK con las sugerencias, de más a menos usada
+     */
+    @GetMapping("/skills")
+    public ResponseEntity<List<TermSuggestionDTO>> suggestSkills(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggestSkills(q, limit));
+    }
+}
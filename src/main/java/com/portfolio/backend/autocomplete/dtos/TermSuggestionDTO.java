@@ -0,0 +1,19 @@
+package com.portfolio.backend.autocomplete.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sugerencia de autocompletado
+ *
+ * Ejemplo: { "value": "Spring Boot", "count": 42 }
+ * "count" es la cantidad de proyectos o perfiles que usan el término.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TermSuggestionDTO {
+    private String value;
+    private int count;
+}
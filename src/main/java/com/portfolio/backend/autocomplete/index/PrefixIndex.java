@@ -0,0 +1,165 @@
+package com.portfolio.backend.autocomplete.index;
+
+import com.portfolio.backend.autocomplete.dtos.TermSuggestionDTO;
+import com.portfolio.backend.projects.search.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Popularity-ranked prefix lookup over a set of free-text terms.
+ *
+ * Terms are kept in a sorted map keyed by their folded form, so every
+ * completion of a prefix is one contiguous sub-range. A term's popularity
+ * is the number of owners (projects or profiles) that use it.
+ *
+ * The empty prefix is answered from a second set ordered by popularity.
+ * Ranges for one and two character prefixes can still span thousands of
+ * terms, so their top terms are cached and a write only drops the cache
+ * entries of the prefixes it touches. Writes are serialized; reads take
+ * no lock.
+ */
+public class PrefixIndex {
+
+    private static final int SHORT_PREFIX = 2;
+    private static final Comparator<Term> RANKING = Comparator.comparingInt(Term::count)
+            .thenComparing(Term::key, Comparator.reverseOrder());
+
+    private final int maxResults;
+    private final ConcurrentSkipListMap<String, Term> terms = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Term> byPopularity = new ConcurrentSkipListSet<>(RANKING.reversed());
+    private final Map<String, List<TermSuggestionDTO>> shortPrefixTop = new ConcurrentHashMap<>();
+
+    private record Term(String key, String label, int count) {
+    }
+
+    public PrefixIndex(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public List<TermSuggestionDTO> suggest(String prefix, int limit) {
+        String key = TextNormalizer.fold(prefix);
+        int size = Math.min(Math.max(limit, 1), maxResults);
+        if (key.isEmpty()) {
+            return byPopularity.stream()
+                    .limit(size)
+                    .map(term -> new TermSuggestionDTO(term.label(), term.count()))
+                    .toList();
+        }
+        if (key.length() <= SHORT_PREFIX) {
+            List<TermSuggestionDTO> top = shortPrefixTop.computeIfAbsent(key, k -> top(k, maxResults));
+            return top.size() > size ? top.subList(0, size) : top;
+        }
+        return top(key, size);
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    /**
+     * Applies one owner's change. Terms are deduplicated per owner after
+     * folding, so "React" and "react" on the same project count once.
+     */
+    public synchronized void replace(Collection<String> previous, Collection<String> current) {
+        Set<String> removed = keys(previous);
+        Set<String> added = keys(current);
+        for (String key : removed) {
+            if (!added.remove(key)) {
+                Term term = terms.get(key);
+                if (term != null) {
+                    update(term, term.count() > 1 ? new Term(key, term.label(), term.count() - 1) : null);
+                }
+            }
+        }
+        for (String label : labels(current, added)) {
+            String key = TextNormalizer.fold(label);
+            Term term = terms.get(key);
+            update(term, term != null ? new Term(key, term.label(), term.count() + 1) : new Term(key, label, 1));
+        }
+    }
+
+    public synchronized void clear() {
+        terms.clear();
+        byPopularity.clear();
+        shortPrefixTop.clear();
+    }
+
+    private void update(Term previous, Term next) {
+        String key = previous != null ? previous.key() : next.key();
+        if (previous != null) {
+            byPopularity.remove(previous);
+        }
+        if (next != null) {
+            terms.put(key, next);
+            byPopularity.add(next);
+        } else {
+            terms.remove(key);
+        }
+        invalidate(key);
+    }
+
+    private List<TermSuggestionDTO> top(String key, int size) {
+        NavigableMap<String, Term> range = terms.subMap(key, true, key + Character.MAX_VALUE, false);
+        PriorityQueue<Term> heap = new PriorityQueue<>(size + 1, RANKING);
+        for (Term term : range.values()) {
+            if (heap.size() < size) {
+                heap.add(term);
+            } else if (RANKING.compare(term, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(term);
+            }
+        }
+        List<TermSuggestionDTO> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Term term = heap.poll();
+            result.add(new TermSuggestionDTO(term.label(), term.count()));
+        }
+        return List.copyOf(result.reversed());
+    }
+
+    // Runs after the terms map is updated; a concurrent computeIfAbsent on the
+    // same prefix finishes first and its result is then dropped here.
+    private void invalidate(String key) {
+        for (int length = 1; length <= Math.min(SHORT_PREFIX, key.length()); length++) {
+            shortPrefixTop.remove(key.substring(0, length));
+        }
+    }
+
+    private static Set<String> keys(Collection<String> values) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                String key = TextNormalizer.fold(value);
+                if (!key.isEmpty()) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    // First original spelling of each key still to be added
+    private static List<String> labels(Collection<String> values, Set<String> keys) {
+        List<String> labels = new ArrayList<>();
+        if (values != null) {
+            Set<String> pending = new LinkedHashSet<>(keys);
+            for (String value : values) {
+                if (value != null && pending.remove(TextNormalizer.fold(value))) {
+                    labels.add(value.trim());
+                }
+            }
+        }
+        return labels;
+    }
+}
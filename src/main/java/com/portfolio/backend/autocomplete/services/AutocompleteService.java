@@ -0,0 +1,16 @@
+package com.portfolio.backend.autocomplete.services;
+
+import com.portfolio.backend.autocomplete.dtos.TermSuggestionDTO;
+
+import java.util.List;
+
+/**
+ * Servicio de autocompletado para tecnologías de proyectos y habilidades
+ * de programadores.
+ */
+public interface AutocompleteService {
+
+    List<TermSuggestionDTO> suggestTechs(String prefix, int limit);
+
+    List<TermSuggestionDTO> suggestSkills(String prefix, int limit);
+}
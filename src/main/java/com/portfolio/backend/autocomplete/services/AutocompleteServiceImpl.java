@@ -0,0 +1,84 @@
+package com.portfolio.backend.autocomplete.services;
+
+import com.portfolio.backend.autocomplete.dtos.TermSuggestionDTO;
+import com.portfolio.backend.autocomplete.index.PrefixIndex;
+import com.portfolio.backend.profiles.events.ProfileChangedEvent;
+import com.portfolio.backend.profiles.repository.ProgrammerProfileRepository;
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación del autocompletado.
+ *
+ * Los términos viven en memoria (uno {@link PrefixIndex} por tipo) y se
+ * cargan al arrancar desde project_techs y programmer_skills. Después se
+ * actualizan con los eventos de proyectos y perfiles ya confirmados.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    // Máximo de sugerencias por consulta
+    private static final int MAX_RESULTS = 50;
+
+    private final ProjectRepository projectRepository;
+    private final ProgrammerProfileRepository profileRepository;
+
+    private final PrefixIndex techs = new PrefixIndex(MAX_RESULTS);
+    private final PrefixIndex skills = new PrefixIndex(MAX_RESULTS);
+
+    @Override
+    public List<TermSuggestionDTO> suggestTechs(String prefix, int limit) {
+        return techs.suggest(prefix, limit);
+    }
+
+    @Override
+    public List<TermSuggestionDTO> suggestSkills(String prefix, int limit) {
+        return skills.suggest(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        load(techs, projectRepository.findAllTechPairs());
+        load(skills, profileRepository.findAllSkillPairs());
+        log.info("Autocomplete rebuilt with {} techs and {} skills", techs.size(), skills.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        techs.replace(techsOf(event.previous()), techsOf(event.current()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        skills.replace(event.previousSkills(), event.currentSkills());
+    }
+
+    private static void load(PrefixIndex index, List<Object[]> pairs) {
+        Map<Long, List<String>> byOwner = new HashMap<>();
+        for (Object[] pair : pairs) {
+            byOwner.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        index.clear();
+        byOwner.values().forEach(values -> index.replace(List.of(), values));
+    }
+
+    private static List<String> techsOf(ProjectDTO project) {
+        return project != null && project.getTechs() != null ? project.getTechs() : List.of();
+    }
+}
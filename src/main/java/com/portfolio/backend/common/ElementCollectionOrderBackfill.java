@@ -0,0 +1,53 @@
+package com.portfolio.backend.common;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Numbers the rows of project_techs and programmer_skills that predate
+ * their order columns.
+ *
+ * Schema update adds tech_order/skill_order with a default of 0, so rows
+ * written before that all share position 0 and would collapse into one
+ * element when loaded. They are renumbered in physical order before the
+ * in-memory indexes load. Only PostgreSQL databases can hold such rows;
+ * H2 in dev is recreated on every start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ElementCollectionOrderBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        renumber("project_techs", "project_id", "tech_order");
+        renumber("programmer_skills", "profile_id", "skill_order");
+    }
+
+    private void renumber(String table, String ownerColumn, String orderColumn) {
+        int rows = jdbcTemplate.update("UPDATE " + table + " t SET " + orderColumn + " = s.rn "
+                + "FROM (SELECT ctid AS row_id, ROW_NUMBER() OVER (PARTITION BY " + ownerColumn
+                + " ORDER BY ctid) - 1 AS rn FROM " + table + " WHERE " + ownerColumn + " IN ("
+                + "SELECT " + ownerColumn + " FROM " + table + " GROUP BY " + ownerColumn
+                + " HAVING COUNT(DISTINCT " + orderColumn + ") < COUNT(*))) s "
+                + "WHERE t.ctid = s.row_id");
+        if (rows > 0) {
+            log.info("Numbered {} rows of {}", rows, table);
+        }
+    }
+}
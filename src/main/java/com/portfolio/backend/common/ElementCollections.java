@@ -0,0 +1,158 @@
+package com.portfolio.backend.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers for ordered {@code @ElementCollection}s mapped as value -> sort key.
+ *
+ * Hibernate keys an {@code @OrderColumn} list by position, so inserting or
+ * removing at the head rewrites every row behind it. Keyed by value
+ * instead, Hibernate deletes only the values that went away, inserts only
+ * the new ones and updates the sort key of the rows that actually moved.
+ * Sort keys are sparse, so a value can usually slot in between its
+ * neighbours without renumbering them.
+ */
+public final class ElementCollections {
+
+    // Room left between sort keys, so later inserts fit in between
+    static final int GAP = 1024;
+
+    private ElementCollections() {
+    }
+
+    /**
+     * Values in sort-key order; null if there is no collection.
+     */
+    public static <T> List<T> ordered(Map<T, Integer> positions) {
+        if (positions == null) {
+            return null;
+        }
+        return positions.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Makes {@code target} hold {@code values}, in that order, in place.
+     * Duplicates and nulls are dropped. The longest run of values whose
+     * keys are already in order keeps its keys; the rest get keys between
+     * their neighbours, or everything is renumbered when there is no room.
+     * A new key is never one still held by a row that stays (Hibernate
+     * deletes removed rows first), so a unique (owner, key) index left over
+     * from the old list mapping is never hit.
+     *
+     * @return the map to keep on the entity: {@code target} itself, or a new
+     *         map when the entity had none yet
+     */
+    public static <T> Map<T, Integer> replace(Map<T, Integer> target, List<T> values) {
+        List<T> wanted = new ArrayList<>(new LinkedHashSet<>(values != null ? values : List.<T>of()));
+        wanted.remove(null);
+        if (target == null) {
+            Map<T, Integer> created = new LinkedHashMap<>();
+            for (int i = 0; i < wanted.size(); i++) {
+                created.put(wanted.get(i), i * GAP);
+            }
+            return created;
+        }
+
+        target.keySet().retainAll(new HashSet<>(wanted));
+        Set<Integer> taken = new HashSet<>(target.values());
+        Integer[] current = wanted.stream().map(target::get).toArray(Integer[]::new);
+        long[] next = place(current, taken);
+        if (next == null) {
+            next = renumber(wanted.size(), taken);
+        }
+        for (int i = 0; i < wanted.size(); i++) {
+            int key = (int) next[i];
+            if (current[i] == null || current[i] != key) {
+                target.put(wanted.get(i), key);
+            }
+        }
+        return target;
+    }
+
+    // Keeps the keys of the longest increasing run and spreads the others in
+    // the gaps around it; null if some gap is too narrow
+    private static long[] place(Integer[] current, Set<Integer> taken) {
+        int n = current.length;
+        boolean[] kept = longestIncreasing(current);
+        long[] next = new long[n];
+        int i = 0;
+        while (i < n) {
+            if (kept[i]) {
+                next[i] = current[i];
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < n && !kept[end]) {
+                end++;
+            }
+            int count = end - i;
+            long low = i > 0 ? next[i - 1] : (end < n ? current[end] : 0L) - (long) (count + 1) * GAP;
+            long high = end < n ? current[end] : low + (long) (count + 1) * GAP;
+            for (int j = 0; j < count; j++) {
+                long key = low + (high - low) * (j + 1) / (count + 1);
+                boolean ordered = key > low && key < high && (j == 0 || key > next[i + j - 1]);
+                if (!ordered || !fitsInt(key) || taken.contains((int) key)) {
+                    return null;
+                }
+                next[i + j] = key;
+            }
+            i = end;
+        }
+        return next;
+    }
+
+    // Fresh keys above (or, near the top of the range, below) every key in use
+    private static long[] renumber(int n, Set<Integer> taken) {
+        long max = taken.stream().max(Comparator.naturalOrder()).orElse(-GAP);
+        long min = taken.stream().min(Comparator.naturalOrder()).orElse(0);
+        long start = fitsInt(max + (long) n * GAP) ? max + GAP : min - (long) n * GAP;
+        long[] next = new long[n];
+        Arrays.setAll(next, i -> start + (long) i * GAP);
+        return next;
+    }
+
+    // Marks one longest strictly increasing subsequence of the non-null keys
+    private static boolean[] longestIncreasing(Integer[] keys) {
+        int n = keys.length;
+        int[] length = new int[n];
+        int[] previous = new int[n];
+        int best = -1;
+        for (int i = 0; i < n; i++) {
+            previous[i] = -1;
+            if (keys[i] == null) {
+                continue;
+            }
+            length[i] = 1;
+            for (int j = 0; j < i; j++) {
+                if (keys[j] != null && keys[j] < keys[i] && length[j] + 1 > length[i]) {
+                    length[i] = length[j] + 1;
+                    previous[i] = j;
+                }
+            }
+            if (best < 0 || length[i] > length[best]) {
+                best = i;
+            }
+        }
+        boolean[] kept = new boolean[n];
+        for (int i = best; i >= 0; i = previous[i]) {
+            kept[i] = true;
+        }
+        return kept;
+    }
+
+    private static boolean fitsInt(long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,45 @@
+package com.portfolio.backend.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a JSON array element by element as rows come out of a repository
+ * {@link Stream}, so neither the entity list nor the DTO list is ever built.
+ * The output is flushed every {@value #FLUSH_EVERY} elements, which keeps
+ * time-to-first-byte independent of the table size.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonArrayWriter {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return number of elements written
+     */
+    public long write(Stream<?> rows, OutputStream out) {
+        long written = 0;
+        // The generator is not closed so the servlet stream stays open for the container
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.writeStartArray();
+        Iterator<?> it = rows.iterator();
+        while (it.hasNext()) {
+            generator.writePOJO(it.next());
+            if (++written % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+        generator.writeEndArray();
+        generator.flush();
+        return written;
+    }
+}
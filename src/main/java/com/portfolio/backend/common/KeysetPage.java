@@ -0,0 +1,43 @@
+package com.portfolio.backend.common;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * The body stays a plain JSON array so list endpoints keep their shape; the
+ * cursor of the next page goes in {@code X-Next-Cursor} and in a
+ * {@code Link: <...>; rel="next"} header. Both are absent on the last page.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Same page with its items converted as a whole, so the conversion can
+     * batch extra lookups (e.g. one query for the techs of every row).
+     */
+    public <U> KeysetPage<U> map(Function<List<T>, List<U>> converter) {
+        return new KeysetPage<>(converter.apply(items), nextCursor);
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        if (nextCursor == null) {
+            return ResponseEntity.ok(items);
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", nextCursor)
+                .replaceQueryParam("sort")
+                .replaceQueryParam("dir")
+                .build()
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .header("Link", "<" + next + ">; rel=\"next\"")
+                .body(items);
+    }
+}
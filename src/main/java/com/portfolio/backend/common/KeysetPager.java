@@ -0,0 +1,130 @@
+package com.portfolio.backend.common;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (seek) pagination over any entity with {@code id} and
+ * {@code createdAt}, returning projections rather than managed entities.
+ * Pages reuse the repository's own projection query (e.g.
+ * {@code ScheduleRepository.DTO_SELECT}), so each projection is written once.
+ *
+ * Instead of OFFSET, each page continues after the last row of the previous
+ * one with {@code WHERE (created_at, id) > (?, ?)} (or {@code id > ?}), which
+ * an index on the sort columns answers directly, so page 5000 costs the same
+ * as page 1. The id tie-breaker makes the order total, so rows with equal
+ * timestamps are neither skipped nor repeated.
+ *
+ * Cursors are opaque to clients: URL-safe base64 of
+ * {@code sort|dir|lastValue|lastId}.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    private static final String SELECT = "SELECT ";
+    private static final String ID = "id";
+    private static final String CREATED_AT = "createdAt";
+
+    private final EntityManager entityManager;
+
+    @Value("${pagination.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${pagination.max-limit:100}")
+    private int maxLimit;
+
+    private record Cursor(String sort, boolean descending, LocalDateTime createdAt, long id) {
+    }
+
+    /**
+     * @param query   Projection without WHERE or ORDER BY, e.g.
+     *                {@code SELECT new ...ScheduleDTO(s.id, ...) FROM Schedule s JOIN s.programmer p}
+     * @param alias   Alias of the paged entity in {@code query}, e.g. {@code s}
+     * @param rowType Class produced by {@code query}
+     * @param where   Extra filter, e.g. {@code s.programmer.id = :programmerId}; may be null
+     * @param args    Named parameters used by {@code where}
+     */
+    @Transactional(readOnly = true)
+    public <R> KeysetPage<R> page(String query, String alias, Class<R> rowType, String where,
+            Map<String, Object> args, KeysetParams params) {
+        if (!query.startsWith(SELECT)) {
+            throw new IllegalArgumentException("Expected a SELECT query: " + query);
+        }
+        int limit = params.getLimit() != null ? params.getLimit() : defaultLimit;
+        if (limit < 1 || limit > maxLimit) {
+            throw new RuntimeException("limit must be between 1 and " + maxLimit);
+        }
+        Cursor after = params.getCursor() != null ? decode(params.getCursor()) : null;
+        String sort = after != null ? after.sort() : params.getSort();
+        boolean descending = after != null ? after.descending() : "desc".equalsIgnoreCase(params.getDir());
+        if (!ID.equals(sort) && !CREATED_AT.equals(sort)) {
+            throw new RuntimeException("Invalid sort '" + sort + "': use id or createdAt");
+        }
+
+        String dir = descending ? " DESC" : " ASC";
+        String op = descending ? " < " : " > ";
+        List<String> conditions = new ArrayList<>();
+        if (where != null) {
+            conditions.add(where);
+        }
+        if (after != null) {
+            conditions.add(CREATED_AT.equals(sort)
+                    ? "(" + alias + ".createdAt, " + alias + ".id)" + op + "(:afterCreatedAt, :afterId)"
+                    : alias + ".id" + op + ":afterId");
+        }
+        // The sort keys are selected next to the row so the cursor can be built
+        // without the row type knowing about them
+        String jpql = SELECT + alias + ".id, " + alias + ".createdAt, " + query.substring(SELECT.length())
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + (CREATED_AT.equals(sort) ? alias + ".createdAt" + dir + ", " : "")
+                + alias + ".id" + dir;
+
+        TypedQuery<Object[]> typed = entityManager.createQuery(jpql, Object[].class);
+        args.forEach(typed::setParameter);
+        if (after != null) {
+            typed.setParameter("afterId", after.id());
+            if (CREATED_AT.equals(sort)) {
+                typed.setParameter("afterCreatedAt", after.createdAt());
+            }
+        }
+        // One extra row tells whether there is a next page
+        List<Object[]> rows = typed.setMaxResults(limit + 1).getResultList();
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Object[] last = rows.get(limit - 1);
+            next = encode(sort, descending, (LocalDateTime) last[1], (Long) last[0]);
+        }
+        return new KeysetPage<>(rows.stream().map(row -> rowType.cast(row[2])).toList(), next);
+    }
+
+    private static String encode(String sort, boolean descending, LocalDateTime createdAt, Long id) {
+        String value = CREATED_AT.equals(sort) ? String.valueOf(createdAt) : "";
+        String raw = sort + "|" + (descending ? "desc" : "asc") + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\|", -1);
+            LocalDateTime createdAt = CREATED_AT.equals(parts[0]) ? LocalDateTime.parse(parts[2]) : null;
+            return new Cursor(parts[0], "desc".equals(parts[1]), createdAt, Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
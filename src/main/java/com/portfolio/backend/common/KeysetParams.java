@@ -0,0 +1,25 @@
+package com.portfolio.backend.common;
+
+import lombok.Data;
+
+/**
+ * Query parameters of a keyset-paginated list endpoint, bound from
+ * {@code ?limit=&cursor=&sort=&dir=}.
+ *
+ * Endpoints keep returning the full list when neither {@code limit} nor
+ * {@code cursor} is sent, so existing clients are not cut off at the first
+ * page. {@code sort} and {@code dir} only matter for the first page; after
+ * that they travel inside the cursor.
+ */
+@Data
+public class KeysetParams {
+
+    private String cursor;
+    private Integer limit;
+    private String sort = "id";
+    private String dir = "asc";
+
+    public boolean isRequested() {
+        return cursor != null || limit != null;
+    }
+}
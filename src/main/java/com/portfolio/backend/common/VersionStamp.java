@@ -0,0 +1,11 @@
+package com.portfolio.backend.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * What an ETag of a user-owned resource depends on: the resource's own
+ * {@code @Version} and the updatedAt of the owner whose name, email and
+ * image are rendered with it.
+ */
+public record VersionStamp(Long version, LocalDateTime ownerUpdatedAt) {
+}
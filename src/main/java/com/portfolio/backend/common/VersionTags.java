@@ -0,0 +1,79 @@
+package com.portfolio.backend.common;
+
+import java.time.ZoneOffset;
+
+/**
+ * Strong ETags built from {@code @Version} columns.
+ *
+ * A tag looks like {@code "project-12-3"}: kind, id and version, so a tag
+ * copied from another resource never matches by accident. Resources that
+ * render their owner's data append the owner's updatedAt
+ * ({@code "project-12-3.1718000000000"}); If-Match only compares the
+ * version, since an owner rename does not conflict with an edit.
+ */
+public final class VersionTags {
+
+    private VersionTags() {
+    }
+
+    public static String of(String kind, Long id, Long version) {
+        return "\"" + kind + "-" + id + "-" + version + "\"";
+    }
+
+    public static String of(String kind, Long id, VersionStamp stamp) {
+        long owner = stamp.ownerUpdatedAt() != null
+                ? stamp.ownerUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0;
+        return "\"" + kind + "-" + id + "-" + stamp.version() + "." + owner + "\"";
+    }
+
+    /**
+     * Version a client expects, read from its If-Match header.
+     *
+     * @return null when the header is absent or {@code *} (no check), the
+     *         version carried by a tag for this resource, or -1 when no tag
+     *         in the header belongs to it (weak tags included), which never
+     *         matches
+     */
+    public static Long expectedVersion(String ifMatch, String kind, Long id) {
+        return parse(ifMatch, kind + "-" + id, false);
+    }
+
+    /**
+     * Same as {@link #expectedVersion(String, String, Long)} for endpoints
+     * where the resource is implied by the caller (PUT /api/profiles edits
+     * the caller's own profile), so any id of that kind is accepted.
+     */
+    public static Long expectedVersion(String ifMatch, String kind) {
+        return parse(ifMatch, kind, true);
+    }
+
+    private static Long parse(String ifMatch, String prefix, boolean anyId) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            int dash = value.lastIndexOf('-');
+            if (dash <= 0) {
+                continue;
+            }
+            String resource = value.substring(0, dash);
+            boolean matches = anyId ? resource.startsWith(prefix + "-") : resource.equals(prefix);
+            if (matches) {
+                String version = value.substring(dash + 1);
+                int dot = version.indexOf('.');
+                try {
+                    return Long.parseLong(dot >= 0 ? version.substring(0, dot) : version);
+                } catch (NumberFormatException e) {
+                    return -1L;
+                }
+            }
+        }
+        return -1L;
+    }
+}
@@ -2,6 +2,7 @@ package com.portfolio.backend.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Manejador global de excepciones para toda la API
@@ -64,12 +66,58 @@ public class GlobalExceptionHandler {
                 .body(errorResponse);
     }
 
+    /**
+     * Maneja ediciones sobre una versión desactualizada
+     *
+     * - If-Match no coincide con la versión actual → PreconditionFailedException
+     * - Otra transacción actualizó la fila antes del commit (@Version)
+     *   → ObjectOptimisticLockingFailureException
+     *
+     * En ambos casos el cliente debe volver a leer el recurso.
+     *
+     * @return ResponseEntity con ErrorResponse (412 Precondition Failed)
+     */
+    @ExceptionHandler({ PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class })
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(RuntimeException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .message(ex instanceof PreconditionFailedException ? ex.getMessage()
+                        : "The resource was modified by another request")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(errorResponse);
+    }
+
+    /**
+     * Maneja colas de trabajo llenas (ej: subidas de imagen en segundo plano)
+     *
+     * El cliente puede reintentar más tarde.
+     *
+     * @return ResponseEntity con ErrorResponse (503 Service Unavailable)
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(errorResponse);
+    }
+
     /**
      * Maneja RuntimeException genéricos lanzados por los servicios
      * 
      * Ejemplos:
      * - "User not found" → 404 Not Found
      * - "Only users with PROGRAMMER role..." → 403 Forbidden
+     * - "Schedule conflict: ..." → 409 Conflict
      * - "El email ya está registrado" → 400 Bad Request
      * 
      * @param ex RuntimeException lanzada por el servicio
@@ -84,6 +132,8 @@ public class GlobalExceptionHandler {
         // Determinar el código HTTP según el mensaje de error
         if (message.contains("not found") || message.contains("no encontrado")) {
             status = HttpStatus.NOT_FOUND; // 404
+        } else if (message.contains("conflict")) {
+            status = HttpStatus.CONFLICT; // 409
         } else if (message.contains("role") || message.contains("permission") ||
                 message.contains("Only users with")) {
             status = HttpStatus.FORBIDDEN; // 403
@@ -0,0 +1,14 @@
+package com.portfolio.backend.exception;
+
+/**
+ * Se lanza cuando el If-Match de una petición no coincide con la versión
+ * actual del recurso (alguien lo modificó antes).
+ *
+ * El GlobalExceptionHandler la convierte en 412 Precondition Failed.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
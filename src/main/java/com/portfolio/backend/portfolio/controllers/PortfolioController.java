@@ -0,0 +1,46 @@
+package com.portfolio.backend.portfolio.controllers;
+
+import com.portfolio.backend.portfolio.dtos.PortfolioDTO;
+import com.portfolio.backend.portfolio.services.PortfolioService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST del portfolio público
+ *
+ * Endpoints disponibles:
+ * - GET /api/portfolio/{userId} - Perfil, proyectos, horarios y estadísticas
+ * de asesorías en una sola respuesta (público; las estadísticas solo con
+ * sesión iniciada)
+ *
+ * Reemplaza las cuatro llamadas que hacía la página de portfolio
+ * (/api/profiles/user/{id}, /api/projects/user/{id},
+ * /api/schedules/programmer/{id} y /api/advisories/stats/programmer/{id}).
+ */
+@RestController
+@RequestMapping("/api/portfolio")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Portfolio", description = "Portfolio público agregado")
+public class PortfolioController {
+
+    private final PortfolioService portfolioService;
+
+    /**
+     * Obtener el portfolio completo de un usuario
+     *
+     * GET /api/portfolio/{userId}
+     *
+     * @param userId         ID del usuario
+     * @param authentication Usuario autenticado; null si es anónimo
+     * @return 200 OK con el portfolio; las secciones que no respondieron a
+     *         tiempo vienen en null y listadas en "unavailable"
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<PortfolioDTO> getPortfolio(@PathVariable Long userId, Authentication authentication) {
+        return ResponseEntity.ok(portfolioService.getPortfolio(userId, authentication != null));
+    }
+}
@@ -0,0 +1,63 @@
+package com.portfolio.backend.portfolio.dtos;
+
+import com.portfolio.backend.profiles.dtos.ProgrammerProfileDTO;
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Portfolio público de un usuario en un solo documento
+ *
+ * Cada sección se carga en paralelo. Si alguna falla o supera su tiempo
+ * límite queda en null y su nombre aparece en "unavailable", para que el
+ * frontend muestre el resto de la página igualmente.
+ *
+ * Ejemplo de respuesta:
+ * {
+ * "userId": 7, "userName": "Ana", "imageUrl": "...", "role": "PROGRAMMER",
+ * "profile": { ... }, "projects": [ ... ], "schedules": [ ... ],
+ * "advisoryStats": { "total": 12, "pending": 2, ... },
+ * "unavailable": []
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioDTO {
+
+    private Long userId;
+    private String userName;
+    private String imageUrl;
+    private String role;
+
+    /**
+     * Perfil profesional; null si el usuario no tiene perfil
+     */
+    private ProgrammerProfileDTO profile;
+
+    private List<ProjectDTO> projects;
+
+    /**
+     * Horarios disponibles del programador
+     */
+    private List<ScheduleDTO> schedules;
+
+    /**
+     * Estadísticas de asesorías; null para visitantes anónimos o si el
+     * usuario no tiene perfil de programador
+     */
+    private Map<String, Long> advisoryStats;
+
+    /**
+     * Secciones que no se pudieron cargar a tiempo
+     * (profile, projects, schedules, advisoryStats)
+     */
+    private List<String> unavailable;
+}
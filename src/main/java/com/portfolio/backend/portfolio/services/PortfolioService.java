@@ -0,0 +1,21 @@
+package com.portfolio.backend.portfolio.services;
+
+import com.portfolio.backend.portfolio.dtos.PortfolioDTO;
+
+/**
+ * Interface para el servicio del portfolio público agregado
+ */
+public interface PortfolioService {
+
+    /**
+     * Obtener perfil, proyectos, horarios y estadísticas de un usuario (público)
+     *
+     * @param userId       ID del usuario
+     * @param includeStats si se incluyen las estadísticas de asesorías (solo
+     *                     para usuarios autenticados)
+     * @return Portfolio completo; las secciones que no respondieron a tiempo
+     *         quedan en null y se listan en unavailable
+     * @throws RuntimeException si el usuario no existe
+     */
+    PortfolioDTO getPortfolio(Long userId, boolean includeStats);
+}
@@ -0,0 +1,108 @@
+package com.portfolio.backend.portfolio.services;
+
+import com.portfolio.backend.advisories.services.AdvisoryService;
+import com.portfolio.backend.portfolio.dtos.PortfolioDTO;
+import com.portfolio.backend.profiles.services.ProgrammerProfileService;
+import com.portfolio.backend.projects.services.ProjectService;
+import com.portfolio.backend.schedules.services.ScheduleService;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementación del portfolio agregado.
+ *
+ * El usuario se consulta una sola vez y se comparte con las secciones, que
+ * corren en paralelo en hilos virtuales (cada una en su propia transacción
+ * de solo lectura). Todas comparten el mismo plazo: la respuesta tarda lo
+ * que la sección más lenta, nunca más que el tiempo límite configurado.
+ *
+ * Las estadísticas de asesorías solo se calculan para usuarios autenticados,
+ * igual que en /api/advisories/stats/programmer/{id}.
+ */
+@Slf4j
+@Service
+public class PortfolioServiceImpl implements PortfolioService {
+
+    private final UserRepository userRepository;
+    private final ProgrammerProfileService profileService;
+    private final ProjectService projectService;
+    private final ScheduleService scheduleService;
+    private final AdvisoryService advisoryService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${portfolio.section-timeout-ms:1500}")
+    private long sectionTimeoutMs;
+
+    public PortfolioServiceImpl(UserRepository userRepository, ProgrammerProfileService profileService,
+            ProjectService projectService, ScheduleService scheduleService, AdvisoryService advisoryService) {
+        this.userRepository = userRepository;
+        this.profileService = profileService;
+        this.projectService = projectService;
+        this.scheduleService = scheduleService;
+        this.advisoryService = advisoryService;
+    }
+
+    @Override
+    public PortfolioDTO getPortfolio(Long userId, boolean includeStats) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        var profile = executor.submit(() -> profileService.findProfileByUser(user).orElse(null));
+        var projects = executor.submit(() -> projectService.getProjectsByOwner(user));
+        var schedules = executor.submit(() -> scheduleService.getSchedulesByProgrammer(user.getId()));
+        var stats = includeStats
+                ? executor.submit(() -> advisoryService.findProgrammerStats(user.getId()).orElse(null))
+                : null;
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        List<String> unavailable = new ArrayList<>();
+        return PortfolioDTO.builder()
+                .userId(user.getId())
+                .userName(user.getName())
+                .imageUrl(user.getImageUrl())
+                .role(user.getRole().name())
+                .profile(await("profile", profile, deadline, unavailable))
+                .projects(await("projects", projects, deadline, unavailable))
+                .schedules(await("schedules", schedules, deadline, unavailable))
+                .advisoryStats(stats != null ? await("advisoryStats", stats, deadline, unavailable) : null)
+                .unavailable(unavailable)
+                .build();
+    }
+
+    /**
+     * Espera una sección hasta el plazo común. Si falla o no llega a tiempo se
+     * cancela y se reporta en unavailable, sin tumbar el resto de la página.
+     */
+    private <T> T await(String section, Future<T> future, long deadline, List<String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Portfolio section {} timed out after {} ms", section, sectionTimeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Portfolio section {} failed: {}", section, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        future.cancel(true);
+        unavailable.add(section);
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,5 +1,7 @@
 package com.portfolio.backend.profiles.controllers;
 
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.common.VersionTags;
 import com.portfolio.backend.profiles.dtos.ProgrammerProfileDTO;
 import com.portfolio.backend.profiles.dtos.UpdateProfileRequest;
 import com.portfolio.backend.profiles.services.ProgrammerProfileService;
@@ -9,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controlador REST para gestionar perfiles de programadores.
@@ -60,8 +63,8 @@ public class ProgrammerProfileController {
         // Llamar al servicio para obtener el perfil
         ProgrammerProfileDTO profile = profileService.getMyProfile(userEmail);
 
-        // Retornar respuesta HTTP 200 OK con el perfil en JSON
-        return ResponseEntity.ok(profile);
+        // Retornar respuesta HTTP 200 OK con el perfil en JSON (y su ETag para If-Match)
+        return ResponseEntity.ok().eTag(etagOf(profile)).body(profile);
     }
 
     /**
@@ -72,13 +75,21 @@ public class ProgrammerProfileController {
      *
      * Ejemplo: GET /api/profiles/user/5
      *
+     * Responde con ETag. Si el cliente envía If-None-Match con el ETag
+     * vigente, retorna 304 Not Modified consultando solo la versión.
+     *
      * @param userId ID del usuario cuyo perfil se quiere ver
-     * @return ResponseEntity con el perfil público
+     * @return ResponseEntity con el perfil público, o 304 si no cambió
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ProgrammerProfileDTO> getProfileByUserId(@PathVariable Long userId) {
+    public ResponseEntity<ProgrammerProfileDTO> getProfileByUserId(@PathVariable Long userId,
+            WebRequest webRequest) {
+        String etag = profileService.getProfileEtag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         ProgrammerProfileDTO profile = profileService.getProfileByUserId(userId);
-        return ResponseEntity.ok(profile);
+        return ResponseEntity.ok().eTag(etag).body(profile);
     }
 
     /**
@@ -90,10 +101,17 @@ public class ProgrammerProfileController {
      * Útil para mostrar un directorio/showcase de todos los programadores
      * registrados en la plataforma.
      * 
+     * Con ?limit= o ?cursor= responde por páginas; el cursor de la siguiente
+     * página llega en el header X-Next-Cursor.
+     * 
+     * @param page Paginación opcional
      * @return ResponseEntity con lista de todos los perfiles
      */
     @GetMapping("/all")
-    public ResponseEntity<java.util.List<ProgrammerProfileDTO>> getAllProfiles() {
+    public ResponseEntity<java.util.List<ProgrammerProfileDTO>> getAllProfiles(KeysetParams page) {
+        if (page.isRequested()) {
+            return profileService.getAllProfiles(page).toResponse();
+        }
         java.util.List<ProgrammerProfileDTO> profiles = profileService.getAllProfiles();
         return ResponseEntity.ok(profiles);
     }
@@ -114,18 +132,24 @@ public class ProgrammerProfileController {
      * "yearsExperience": 5
      * }
      *
+     * Header opcional If-Match: ETag recibido al leer el perfil. Si otra
+     * edición se guardó antes, responde 412 en lugar de sobrescribirla.
+     *
      * @param request        Datos del perfil (deserializado automáticamente desde
      *                       JSON)
+     * @param ifMatch        ETag de la versión que el cliente editó (opcional)
      * @param authentication Info del usuario autenticado
-     * @return ResponseEntity con el perfil creado/actualizado
+     * @return ResponseEntity con el perfil creado/actualizado y su nuevo ETag
      */
     @PostMapping
     public ResponseEntity<ProgrammerProfileDTO> createOrUpdateProfile(
             @Valid @RequestBody UpdateProfileRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        ProgrammerProfileDTO profile = profileService.createOrUpdateProfile(userEmail, request);
-        return ResponseEntity.ok(profile);
+        ProgrammerProfileDTO profile = profileService.createOrUpdateProfile(userEmail, request,
+                VersionTags.expectedVersion(ifMatch, "profile"));
+        return ResponseEntity.ok().eTag(etagOf(profile)).body(profile);
     }
 
     /**
@@ -142,10 +166,12 @@ public class ProgrammerProfileController {
     @PutMapping
     public ResponseEntity<ProgrammerProfileDTO> updateProfile(
             @Valid @RequestBody UpdateProfileRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        ProgrammerProfileDTO profile = profileService.createOrUpdateProfile(userEmail, request);
-        return ResponseEntity.ok(profile);
+        ProgrammerProfileDTO profile = profileService.createOrUpdateProfile(userEmail, request,
+                VersionTags.expectedVersion(ifMatch, "profile"));
+        return ResponseEntity.ok().eTag(etagOf(profile)).body(profile);
     }
 
     /**
@@ -167,4 +193,9 @@ public class ProgrammerProfileController {
         // 204 No Content: Operación exitosa, sin contenido en la respuesta
         return ResponseEntity.noContent().build();
     }
+
+    // ETag del perfil: "profile-<userId>-<version>.<cambio del usuario>"
+    private String etagOf(ProgrammerProfileDTO profile) {
+        return profileService.getProfileEtag(profile.getUserId());
+    }
 }
@@ -0,0 +1,55 @@
+package com.portfolio.backend.profiles.dtos;
+
+import com.portfolio.backend.users.images.ImageVariantsDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fila de perfil + usuario leída con una proyección JPQL (sin skills)
+ *
+ * Evita cargar el User como entidad, que a su vez dispararía una consulta
+ * más por su relación EAGER con el perfil.
+ */
+public record ProfileRow(
+        Long id,
+        Long userId,
+        String userName,
+        String userEmail,
+        String jobTitle,
+        String bio,
+        String imageUrl,
+        String imageHash,
+        String githubUrl,
+        String linkedinUrl,
+        String instagramUrl,
+        String whatsappUrl,
+        Integer yearsExperience,
+        Double rating,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public ProgrammerProfileDTO toDTO(List<String> skills) {
+        return ProgrammerProfileDTO.builder()
+                .id(id)
+                .userId(userId)
+                .userName(userName)
+                .userEmail(userEmail)
+                .jobTitle(jobTitle)
+                .bio(bio)
+                .imageUrl(imageUrl)
+                .imageVariants(ImageVariantsDTO.of(imageHash))
+                .skills(skills)
+                .githubUrl(githubUrl)
+                .linkedinUrl(linkedinUrl)
+                .instagramUrl(instagramUrl)
+                .whatsappUrl(whatsappUrl)
+                .yearsExperience(yearsExperience)
+                .rating(rating)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .version(version)
+                .build();
+    }
+}
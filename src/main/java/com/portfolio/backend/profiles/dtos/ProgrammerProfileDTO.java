@@ -1,5 +1,6 @@
 package com.portfolio.backend.profiles.dtos;
 
+import com.portfolio.backend.users.images.ImageVariantsDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,6 +21,7 @@ public class ProgrammerProfileDTO {
     private String jobTitle;
     private String bio;
     private String imageUrl;
+    private ImageVariantsDTO imageVariants; // Variantes de la imagen del usuario (null si no hay)
     private List<String> skills;
     private String githubUrl;
     private String linkedinUrl;
@@ -29,4 +31,5 @@ public class ProgrammerProfileDTO {
     private Double rating;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -1,10 +1,13 @@
 package com.portfolio.backend.profiles.entity;
 
+import com.portfolio.backend.common.ElementCollections;
 import com.portfolio.backend.users.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Entidad que representa el perfil profesional de un programador.
@@ -15,7 +18,9 @@ import java.util.List;
  * (OneToOne).
  */
 @Entity
-@Table(name = "programmer_profiles")
+@Table(name = "programmer_profiles", indexes = {
+        @Index(name = "idx_profiles_created_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -60,12 +65,21 @@ public class ProgrammerProfile {
      *
      *                   Estructura en BD:
      *                   - Tabla: programmer_skills
-     *                   - Columnas: profile_id (FK), skill (String)
+     *                   - Columnas: profile_id (FK), skill (String), skill_order (posición)
+     *
+     * @MapKeyColumn: Cada fila se identifica por la habilidad y skill_order
+     *                solo la ordena. Así Hibernate borra, inserta o mueve solo
+     *                las habilidades que cambian, también al añadir o quitar
+     *                la primera (ver ElementCollections). Fuera de la entidad
+     *                se ve como lista ordenada.
      */
     @ElementCollection
     @CollectionTable(name = "programmer_skills", joinColumns = @JoinColumn(name = "profile_id"))
-    @Column(name = "skill")
-    private List<String> skills;
+    @MapKeyColumn(name = "skill")
+    @Column(name = "skill_order", columnDefinition = "integer default 0")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, Integer> skills;
 
     // Enlaces a redes sociales y contacto
     private String githubUrl;
@@ -88,6 +102,30 @@ public class ProgrammerProfile {
     @Column(name = "updated_at")
     private java.time.LocalDateTime updatedAt;
 
+    /**
+     * Versión para control de concurrencia optimista.
+     * Hibernate la incrementa en cada UPDATE; se expone como ETag.
+     */
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    public List<String> getSkills() {
+        return ElementCollections.ordered(skills);
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = ElementCollections.replace(this.skills, skills);
+    }
+
+    public static class ProgrammerProfileBuilder {
+
+        public ProgrammerProfileBuilder skills(List<String> skills) {
+            this.skills = ElementCollections.replace(null, skills);
+            return this;
+        }
+    }
+
     /**
      * @PrePersist: Se ejecuta ANTES de guardar por primera vez en la BD
      *              Inicializa las fechas de creación y actualización
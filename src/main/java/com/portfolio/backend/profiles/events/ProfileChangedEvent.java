@@ -0,0 +1,17 @@
+package com.portfolio.backend.profiles.events;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Published inside the transaction of every profile write.
+ *
+ * Only the skills are carried: {@code previousSkills} is empty for a new
+ * profile and {@code currentSkills} is empty for a deleted one.
+ */
+public record ProfileChangedEvent(Long profileId, List<String> previousSkills, List<String> currentSkills) {
+
+    public static List<String> copyOf(List<String> skills) {
+        return skills != null ? skills.stream().filter(Objects::nonNull).toList() : List.of();
+    }
+}
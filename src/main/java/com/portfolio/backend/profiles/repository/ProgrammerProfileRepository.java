@@ -1,16 +1,47 @@
 package com.portfolio.backend.profiles.repository;
 
+import com.portfolio.backend.common.VersionStamp;
+import com.portfolio.backend.profiles.dtos.ProfileRow;
 import com.portfolio.backend.profiles.entity.ProgrammerProfile;
 import com.portfolio.backend.users.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ProgrammerProfileRepository extends JpaRepository<ProgrammerProfile, Long> {
 
+    // Profile + user columns in one row (see ProfileRow); the user's image wins over the profile's
+    String ROW_SELECT = "SELECT new com.portfolio.backend.profiles.dtos.ProfileRow(p.id, u.id, u.name, u.email, "
+            + "p.jobTitle, p.bio, COALESCE(u.imageUrl, p.imageUrl), u.imageHash, p.githubUrl, p.linkedinUrl, p.instagramUrl, "
+            + "p.whatsappUrl, p.yearsExperience, p.rating, p.createdAt, p.updatedAt, p.version) "
+            + "FROM ProgrammerProfile p JOIN p.user u";
+
     Optional<ProgrammerProfile> findByUser(User user);
 
     Optional<ProgrammerProfile> findByUserId(Long userId);
 
     boolean existsByUserId(Long userId);
+
+    // (profile id, skill) pairs straight from programmer_skills, in skill order;
+    // feeds the autocomplete index and the full profile list
+    @Query("SELECT p.id, KEY(s) FROM ProgrammerProfile p JOIN p.skills s ORDER BY p.id, VALUE(s)")
+    List<Object[]> findAllSkillPairs();
+
+    @Query("SELECT p.id, KEY(s) FROM ProgrammerProfile p JOIN p.skills s WHERE p.id IN :ids ORDER BY p.id, VALUE(s)")
+    List<Object[]> findSkillPairsByProfileIds(@Param("ids") List<Long> ids);
+
+    @Query(ROW_SELECT + " ORDER BY p.id")
+    List<ProfileRow> findAllRows();
+
+    @Query(ROW_SELECT + " WHERE u.id = :userId")
+    Optional<ProfileRow> findRowByUserId(@Param("userId") Long userId);
+
+    // Version and owner's last change only, so conditional GETs can answer 304
+    // without loading the profile
+    @Query("SELECT new com.portfolio.backend.common.VersionStamp(p.version, u.updatedAt) "
+            + "FROM ProgrammerProfile p JOIN p.user u WHERE u.id = :userId")
+    Optional<VersionStamp> findVersionStampByUserId(@Param("userId") Long userId);
 }
@@ -1,18 +1,28 @@
 package com.portfolio.backend.profiles.services;
 
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetParams;
 import com.portfolio.backend.profiles.dtos.ProgrammerProfileDTO;
 import com.portfolio.backend.profiles.dtos.UpdateProfileRequest;
+import com.portfolio.backend.users.entity.User;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ProgrammerProfileService {
     ProgrammerProfileDTO getProfileByUserId(Long userId);
 
+    Optional<ProgrammerProfileDTO> findProfileByUser(User user);
+
+    String getProfileEtag(Long userId);
+
     ProgrammerProfileDTO getMyProfile(String userEmail);
 
-    ProgrammerProfileDTO createOrUpdateProfile(String userEmail, UpdateProfileRequest request);
+    ProgrammerProfileDTO createOrUpdateProfile(String userEmail, UpdateProfileRequest request, Long expectedVersion);
 
     void deleteProfile(String userEmail);
 
     List<ProgrammerProfileDTO> getAllProfiles();
+
+    KeysetPage<ProgrammerProfileDTO> getAllProfiles(KeysetParams params);
 }
@@ -1,16 +1,29 @@
 package com.portfolio.backend.profiles.services;
 
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetPager;
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.common.VersionTags;
+import com.portfolio.backend.exception.PreconditionFailedException;
+import com.portfolio.backend.profiles.dtos.ProfileRow;
 import com.portfolio.backend.profiles.dtos.ProgrammerProfileDTO;
 import com.portfolio.backend.profiles.dtos.UpdateProfileRequest;
 import com.portfolio.backend.profiles.entity.ProgrammerProfile;
+import com.portfolio.backend.profiles.events.ProfileChangedEvent;
 import com.portfolio.backend.profiles.repository.ProgrammerProfileRepository;
+import com.portfolio.backend.users.cache.UserLookup;
+import com.portfolio.backend.users.cache.UserLookupCache;
 import com.portfolio.backend.users.entity.User;
 import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.images.ImageVariantsDTO;
 import com.portfolio.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 /**
  * Implementación del servicio de perfiles de programadores.
  * Contiene la lógica de negocio para gestionar perfiles profesionales.
@@ -26,6 +39,9 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
         // @RequiredArgsConstructor)
         private final ProgrammerProfileRepository profileRepository;
         private final UserRepository userRepository;
+        private final UserLookupCache userLookupCache;
+        private final ApplicationEventPublisher eventPublisher;
+        private final KeysetPager keysetPager;
 
         /**
          * Obtiene el perfil de un programador por su ID de usuario.
@@ -36,17 +52,48 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
          * @throws RuntimeException si el usuario o perfil no existe
          */
         @Override
+        @Transactional(readOnly = true)
         public ProgrammerProfileDTO getProfileByUserId(Long userId) {
-                // Buscar usuario por ID, lanzar excepción si no existe
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                // Perfil y usuario en una sola fila; solo si no hay perfil se
+                // consulta el usuario para distinguir el error
+                ProfileRow row = profileRepository.findRowByUserId(userId).orElseThrow(() -> {
+                        if (!userRepository.existsById(userId)) {
+                                return new RuntimeException("User not found");
+                        }
+                        return new RuntimeException("Profile not found");
+                });
+                return withSkills(java.util.List.of(row)).get(0);
+        }
 
-                // Buscar perfil asociado al usuario
-                ProgrammerProfile profile = profileRepository.findByUser(user)
-                                .orElseThrow(() -> new RuntimeException("Profile not found"));
+        /**
+         * Perfil de un usuario ya cargado, si lo tiene.
+         * A diferencia de getProfileByUserId no vuelve a consultar el usuario
+         * y no lanza excepción cuando el usuario no es programador.
+         *
+         * @param user Usuario dueño del perfil
+         * @return DTO del perfil, o vacío si no tiene
+         */
+        @Override
+        @Transactional(readOnly = true)
+        public Optional<ProgrammerProfileDTO> findProfileByUser(User user) {
+                return profileRepository.findRowByUserId(user.getId())
+                                .map(row -> withSkills(java.util.List.of(row)).get(0));
+        }
 
-                // Convertir entidad a DTO antes de retornar
-                return convertToDTO(profile);
+        /**
+         * ETag actual del perfil de un programador (para 304).
+         * Depende de la versión del perfil y de la última modificación del
+         * usuario (nombre, email e imagen van en la respuesta). Consulta solo
+         * esas dos columnas, sin cargar el perfil.
+         *
+         * @param userId ID del usuario dueño del perfil
+         * @return ETag actual del perfil
+         * @throws RuntimeException si el perfil no existe
+         */
+        @Override
+        public String getProfileEtag(Long userId) {
+                return VersionTags.of("profile", userId, profileRepository.findVersionStampByUserId(userId)
+                                .orElseThrow(() -> new RuntimeException("Profile not found")));
         }
 
         /**
@@ -60,11 +107,11 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
         @Override
         public ProgrammerProfileDTO getMyProfile(String userEmail) {
                 // Buscar usuario por email (viene del token JWT)
-                User user = userRepository.findByEmail(userEmail)
+                UserLookup user = userLookupCache.getByEmail(userEmail)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
                 // Buscar perfil, mensaje específico si no existe
-                ProgrammerProfile profile = profileRepository.findByUser(user)
+                ProgrammerProfile profile = profileRepository.findByUserId(user.id())
                                 .orElseThrow(() -> new RuntimeException("Profile not found. Please create one first."));
 
                 return convertToDTO(profile);
@@ -83,36 +130,51 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
          * @Transactional: Garantiza que toda la operación se ejecute en una transacción
          *                 Si algo falla, se hace rollback automático
          *
-         * @param userEmail Email del usuario autenticado
-         * @param request   Datos del perfil a crear/actualizar
+         * @param userEmail       Email del usuario autenticado
+         * @param request         Datos del perfil a crear/actualizar
+         * @param expectedVersion Versión que el cliente editó (If-Match); null = sin
+         *                        verificación
          * @return DTO con el perfil guardado
          * @throws RuntimeException si el usuario no existe o no tiene rol PROGRAMMER
+         * @throws PreconditionFailedException si la versión no coincide
          */
         @Override
         @Transactional
-        public ProgrammerProfileDTO createOrUpdateProfile(String userEmail, UpdateProfileRequest request) {
-                // 1. Buscar usuario por email
-                User user = userRepository.findByEmail(userEmail)
+        public ProgrammerProfileDTO createOrUpdateProfile(String userEmail, UpdateProfileRequest request,
+                        Long expectedVersion) {
+                // 1. Buscar usuario por email (en caché; un cambio de rol la invalida)
+                UserLookup user = userLookupCache.getByEmail(userEmail)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
                 // 2. VALIDACIÓN DE SEGURIDAD: Solo usuarios con rol PROGRAMMER pueden tener
                 // perfiles
-                if (user.getRole() != Role.PROGRAMMER) {
+                if (user.role() != Role.PROGRAMMER) {
                         throw new RuntimeException("Only users with PROGRAMMER role can create profiles");
                 }
 
                 // 3. Buscar perfil existente o crear uno nuevo
                 // .orElse(): Si no existe, crea un nuevo perfil con valores por defecto
-                ProgrammerProfile profile = profileRepository.findByUser(user)
-                                .orElse(ProgrammerProfile.builder()
-                                                .user(user)
+                // getReferenceById: el perfil nuevo solo necesita el id del usuario
+                ProgrammerProfile profile = profileRepository.findByUserId(user.id())
+                                .orElseGet(() -> ProgrammerProfile.builder()
+                                                .user(userRepository.getReferenceById(user.id()))
                                                 .rating(0.0) // Rating inicial en 0
                                                 .build());
+                java.util.List<String> previousSkills = ProfileChangedEvent.copyOf(profile.getSkills());
+
+                // 3.1 Validar versión (If-Match): rechaza ediciones sobre datos viejos
+                if (expectedVersion != null
+                                && (profile.getId() == null || !expectedVersion.equals(profile.getVersion()))) {
+                        throw new PreconditionFailedException(
+                                        "Profile was modified by someone else; reload it and try again");
+                }
 
                 // 4. Actualizar todos los campos del perfil con los datos del request
                 profile.setJobTitle(request.getJobTitle());
                 profile.setBio(request.getBio());
                 profile.setImageUrl(request.getImageUrl());
+                // Se aplica sobre el mapa existente para que Hibernate solo
+                // escriba las habilidades que cambian (no borra y reinserta todo)
                 profile.setSkills(request.getSkills());
                 profile.setGithubUrl(request.getGithubUrl());
                 profile.setLinkedinUrl(request.getLinkedinUrl());
@@ -121,7 +183,12 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
                 profile.setYearsExperience(request.getYearsExperience());
 
                 // 5. Guardar en la base de datos (INSERT si es nuevo, UPDATE si existe)
-                ProgrammerProfile savedProfile = profileRepository.save(profile);
+                // flush para que la nueva versión vaya en la respuesta
+                ProgrammerProfile savedProfile = profileRepository.saveAndFlush(profile);
+
+                // Avisar a los índices en memoria (autocompletado de habilidades)
+                eventPublisher.publishEvent(new ProfileChangedEvent(savedProfile.getId(), previousSkills,
+                                ProfileChangedEvent.copyOf(savedProfile.getSkills())));
 
                 // 6. Convertir a DTO y retornar
                 return convertToDTO(savedProfile);
@@ -139,14 +206,19 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
         @Transactional
         public void deleteProfile(String userEmail) {
                 // Buscar usuario
-                User user = userRepository.findByEmail(userEmail)
+                UserLookup user = userLookupCache.getByEmail(userEmail)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
                 // Buscar perfil
-                ProgrammerProfile profile = profileRepository.findByUser(user)
+                ProgrammerProfile profile = profileRepository.findByUserId(user.id())
                                 .orElseThrow(() -> new RuntimeException("Profile not found"));
 
                 // Eliminar de la base de datos
+                eventPublisher.publishEvent(new ProfileChangedEvent(profile.getId(),
+                                ProfileChangedEvent.copyOf(profile.getSkills()), java.util.List.of()));
+                // El usuario cargado junto al perfil todavía lo referencia; sin
+                // cascada desde User, hay que soltarlo antes de borrarlo
+                profile.getUser().setProgrammerProfile(null);
                 profileRepository.delete(profile);
         }
 
@@ -160,14 +232,47 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
          * @return Lista de DTOs con todos los perfiles
          */
         @Override
+        @Transactional(readOnly = true)
         public java.util.List<ProgrammerProfileDTO> getAllProfiles() {
-                // Obtener todos los perfiles de la base de datos
-                java.util.List<ProgrammerProfile> profiles = profileRepository.findAll();
+                // Dos consultas en total: filas (perfil + usuario) y skills
+                return withSkills(profileRepository.findAllRows(), profileRepository.findAllSkillPairs());
+        }
 
-                // Convertir cada perfil a DTO usando stream().map()
-                return profiles.stream()
-                                .map(this::convertToDTO)
-                                .collect(java.util.stream.Collectors.toList());
+        /**
+         * Página de perfiles (keyset), con el usuario de cada perfil en la
+         * misma consulta y las skills de toda la página en otra.
+         *
+         * @param params Cursor, tamaño y orden de la página
+         * @return Perfiles de la página y cursor de la siguiente
+         */
+        @Override
+        @Transactional(readOnly = true)
+        public KeysetPage<ProgrammerProfileDTO> getAllProfiles(KeysetParams params) {
+                return keysetPager.page(ProgrammerProfileRepository.ROW_SELECT, "p", ProfileRow.class, null,
+                                java.util.Map.of(), params).map(this::withSkills);
+        }
+
+        private java.util.List<ProgrammerProfileDTO> withSkills(java.util.List<ProfileRow> rows) {
+                if (rows.isEmpty()) {
+                        return java.util.List.of();
+                }
+                return withSkills(rows, profileRepository.findSkillPairsByProfileIds(
+                                rows.stream().map(ProfileRow::id).toList()));
+        }
+
+        /**
+         * Une filas de perfil con pares (id de perfil, skill) ya ordenados.
+         */
+        private static java.util.List<ProgrammerProfileDTO> withSkills(java.util.List<ProfileRow> rows,
+                        java.util.List<Object[]> skillPairs) {
+                java.util.Map<Long, java.util.List<String>> skills = new java.util.HashMap<>();
+                for (Object[] pair : skillPairs) {
+                        skills.computeIfAbsent((Long) pair[0], id -> new java.util.ArrayList<>()).add((String) pair[1]);
+                }
+                return rows.stream()
+                                .map(row -> row.toDTO(java.util.List.copyOf(
+                                                skills.getOrDefault(row.id(), java.util.List.of()))))
+                                .toList();
         }
 
         /**
@@ -191,7 +296,8 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
                                 .bio(profile.getBio())
                                 .imageUrl(profile.getUser().getImageUrl() != null ? profile.getUser().getImageUrl()
                                                 : profile.getImageUrl())
-                                .skills(profile.getSkills())
+                                .imageVariants(ImageVariantsDTO.of(profile.getUser().getImageHash()))
+                                .skills(java.util.List.copyOf(profile.getSkills()))
                                 .githubUrl(profile.getGithubUrl())
                                 .linkedinUrl(profile.getLinkedinUrl())
                                 .instagramUrl(profile.getInstagramUrl())
@@ -200,6 +306,7 @@ public class ProgrammerProfileServiceImpl implements ProgrammerProfileService {
                                 .rating(profile.getRating())
                                 .createdAt(profile.getCreatedAt())
                                 .updatedAt(profile.getUpdatedAt())
+                                .version(profile.getVersion())
                                 .build();
         }
 }
@@ -0,0 +1,85 @@
+package com.portfolio.backend.projects.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.users.events.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of project DTOs: by id, per owner, and the full list.
+ *
+ * Caffeine bounds each cache by size (W-TinyLFU admission) and by age.
+ * Entries are dropped after commit from {@link ProjectChangedEvent} and
+ * {@link UserChangedEvent}; a load racing with a commit cannot leave a stale
+ * entry because invalidating a key waits for its in-flight load. Hit, miss
+ * and eviction counters are published as cache.* meters tagged by cache name.
+ */
+@Component
+public class ProjectCache {
+
+    private static final String ALL = "all";
+
+    private final Cache<Long, ProjectDTO> byId;
+    private final Cache<Long, List<ProjectDTO>> byOwner;
+    private final Cache<String, List<ProjectDTO>> all;
+
+    public ProjectCache(MeterRegistry meterRegistry,
+            @Value("${projects.cache.max-projects:10000}") long maxProjects,
+            @Value("${projects.cache.max-owners:5000}") long maxOwners,
+            @Value("${projects.cache.ttl-minutes:10}") long ttlMinutes) {
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        this.byId = Caffeine.newBuilder().maximumSize(maxProjects).expireAfterWrite(ttl).recordStats().build();
+        this.byOwner = Caffeine.newBuilder().maximumSize(maxOwners).expireAfterWrite(ttl).recordStats().build();
+        this.all = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "projects.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, byOwner, "projects.byOwner");
+        CaffeineCacheMetrics.monitor(meterRegistry, all, "projects.all");
+    }
+
+    public ProjectDTO getById(Long projectId, Function<Long, ProjectDTO> loader) {
+        return byId.get(projectId, loader);
+    }
+
+    public ProjectDTO peekById(Long projectId) {
+        return byId.getIfPresent(projectId);
+    }
+
+    public List<ProjectDTO> getByOwner(Long ownerId, Function<Long, List<ProjectDTO>> loader) {
+        return byOwner.get(ownerId, loader);
+    }
+
+    public List<ProjectDTO> getAll(Supplier<List<ProjectDTO>> loader) {
+        return all.get(ALL, key -> loader.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        byId.invalidate(event.projectId());
+        if (event.previous() != null) {
+            byOwner.invalidate(event.previous().getOwnerId());
+        }
+        if (event.current() != null) {
+            byOwner.invalidate(event.current().getOwnerId());
+        }
+        all.invalidate(ALL);
+    }
+
+    // Owner name and email are copied into every project DTO
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        byOwner.invalidate(event.userId());
+        byId.asMap().values().removeIf(project -> event.userId().equals(project.getOwnerId()));
+        all.invalidate(ALL);
+    }
+}
@@ -1,17 +1,28 @@
 package com.portfolio.backend.projects.controllers;
 
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.common.VersionTags;
 import com.portfolio.backend.projects.dtos.CreateProjectRequest;
 import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.dtos.ProjectFacetsDTO;
+import com.portfolio.backend.projects.dtos.ProjectImportResultDTO;
+import com.portfolio.backend.projects.dtos.ProjectSearchResultDTO;
+import com.portfolio.backend.projects.dtos.SimilarProjectDTO;
 import com.portfolio.backend.projects.dtos.UpdateProjectRequest;
+import com.portfolio.backend.projects.services.ProjectBulkService;
 import com.portfolio.backend.projects.services.ProjectService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -25,6 +36,11 @@ import java.util.List;
  * - GET /api/projects/me - Mis proyectos (requiere auth)
  * - GET /api/projects/user/{userId} - Proyectos de usuario (público)
  * - GET /api/projects - Listar todos (público)
+ * - GET /api/projects/search?q= - Buscar proyectos (público)
+ * - GET /api/projects/facets - Conteos por tecnología y tipo (público)
+ * - GET /api/projects/{id}/similar - Proyectos similares (público)
+ * - GET /api/projects/export - Exportar todo en NDJSON (ADMIN)
+ * - POST /api/projects/import - Importar NDJSON (requiere auth)
  *
  * @RestController: Combina @Controller + @ResponseBody
  * @RequestMapping: Prefijo base para todos los endpoints
@@ -39,6 +55,7 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectBulkService projectBulkService;
 
     /**
      * Crear un nuevo proyecto
@@ -86,22 +103,30 @@ public class ProjectController {
      * 
      * Solo el dueño del proyecto puede actualizarlo.
      * 
+     * Header opcional If-Match: ETag recibido al leer el proyecto. Si otra
+     * edición se guardó antes, responde 412 en lugar de sobrescribirla.
+     * 
      * @param id             ID del proyecto a actualizar
      * @param request        Campos a actualizar (validado con @Valid)
+     * @param ifMatch        ETag de la versión que el cliente editó (opcional)
      * @param authentication Info del usuario autenticado
-     * @return 200 OK con el proyecto actualizado
+     * @return 200 OK con el proyecto actualizado y su nuevo ETag
      */
     @PutMapping("/{id}")
     public ResponseEntity<ProjectDTO> updateProject(
             @PathVariable Long id,
             @Valid @RequestBody UpdateProjectRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             Authentication authentication) {
 
         String userEmail = authentication.getName();
 
-        ProjectDTO project = projectService.updateProject(id, userEmail, request);
+        ProjectDTO project = projectService.updateProject(id, userEmail, request,
+                VersionTags.expectedVersion(ifMatch, "project", id));
 
-        return ResponseEntity.ok(project);
+        return ResponseEntity.ok()
+                .eTag(projectService.getProjectEtag(project.getId()))
+                .body(project);
     }
 
     /**
@@ -137,13 +162,23 @@ public class ProjectController {
      * 
      * Útil para ver detalles de un proyecto específico.
      * 
+     * Responde con ETag. Si el cliente envía If-None-Match con el ETag
+     * vigente, retorna 304 Not Modified consultando solo la versión.
+     * 
      * @param id ID del proyecto
-     * @return 200 OK con el proyecto
+     * @return 200 OK con el proyecto, o 304 si no cambió
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id, WebRequest webRequest) {
+        // El ETag se calcula antes de leer el proyecto: si cambia en medio,
+        // el cliente recibe el dato nuevo con el ETag viejo y solo repite la
+        // descarga la próxima vez
+        String etag = projectService.getProjectEtag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         ProjectDTO project = projectService.getProjectById(id);
-        return ResponseEntity.ok(project);
+        return ResponseEntity.ok().eTag(etag).body(project);
     }
 
     /**
@@ -153,13 +188,18 @@ public class ProjectController {
      * Requiere: Token JWT
      * 
      * Retorna todos los proyectos creados por el usuario autenticado.
+     * Con ?limit= o ?cursor= responde por páginas (ver getAllProjects).
      * 
      * @param authentication Info del usuario autenticado
+     * @param page           Paginación opcional
      * @return 200 OK con lista de proyectos
      */
     @GetMapping("/me")
-    public ResponseEntity<List<ProjectDTO>> getMyProjects(Authentication authentication) {
+    public ResponseEntity<List<ProjectDTO>> getMyProjects(Authentication authentication, KeysetParams page) {
         String userEmail = authentication.getName();
+        if (page.isRequested()) {
+            return projectService.getMyProjects(userEmail, page).toResponse();
+        }
 
         List<ProjectDTO> projects = projectService.getMyProjects(userEmail);
 
@@ -175,10 +215,14 @@ public class ProjectController {
      * Útil para ver el portfolio de otros usuarios/programadores.
      * 
      * @param userId ID del usuario
+     * @param page   Paginación opcional (?limit=, ?cursor=)
      * @return 200 OK con lista de proyectos del usuario
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ProjectDTO>> getProjectsByUserId(@PathVariable Long userId) {
+    public ResponseEntity<List<ProjectDTO>> getProjectsByUserId(@PathVariable Long userId, KeysetParams page) {
+        if (page.isRequested()) {
+            return projectService.getProjectsByUserId(userId, page).toResponse();
+        }
         List<ProjectDTO> projects = projectService.getProjectsByUserId(userId);
         return ResponseEntity.ok(projects);
     }
@@ -194,11 +238,119 @@ public class ProjectController {
      * - Explorar proyectos de la comunidad
      * - Buscar inspiración
      * 
+     * Paginación (opcional): ?limit=20&sort=createdAt&dir=desc devuelve la
+     * primera página; la siguiente se pide con ?cursor= usando el valor del
+     * header X-Next-Cursor (también en el header Link). Sin limit ni cursor
+     * se devuelve la lista completa, como antes.
+     * 
+     * @param page Paginación opcional
      * @return 200 OK con lista de todos los proyectos
      */
     @GetMapping
-    public ResponseEntity<List<ProjectDTO>> getAllProjects() {
+    public ResponseEntity<List<ProjectDTO>> getAllProjects(KeysetParams page) {
+        if (page.isRequested()) {
+            return projectService.getAllProjects(page).toResponse();
+        }
         List<ProjectDTO> projects = projectService.getAllProjects();
         return ResponseEntity.ok(projects);
     }
+
+    /**
+     * Buscar proyectos por texto
+     *
+     * Endpoint: GET /api/projects/search?q=spring%20react&page=0&size=20
+     * Acceso: PÚBLICO (no requiere autenticación)
+     *
+     * Busca en nombre, descripción y tecnologías. Ignora mayúsculas y
+     * tildes ("programacion" encuentra "Programación").
+     *
+     * @param q    Texto a buscar
+     * @param page Página (desde 0)
+     * @param size Resultados por página (máximo 100)
+     * @return 200 OK con la página de resultados ordenada por relevancia
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProjectSearchResultDTO> searchProjects(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(projectService.searchProjects(q, page, size));
+    }
+
+    /**
+     * Conteos por tecnología y tipo
+     *
+     * Endpoint: GET /api/projects/facets?techs=React&techs=Spring%20Boot&limit=50
+     * Acceso: PÚBLICO (no requiere autenticación)
+     *
+     * Sin "techs" retorna los conteos de todo el catálogo. Con "techs"
+     * cuenta solo los proyectos que usan todas las tecnologías indicadas.
+     *
+     * @return 200 OK con conteos por tecnología y por tipo
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ProjectFacetsDTO> getFacets(
+            @RequestParam(required = false) List<String> techs,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(projectService.getFacets(techs, limit));
+    }
+
+    /**
+     * Proyectos similares
+     *
+     * Endpoint: GET /api/projects/{id}/similar?limit=5
+     * Acceso: PÚBLICO (no requiere autenticación)
+     *
+     * Compara principalmente las tecnologías y, en menor medida, la
+     * descripción.
+     *
+     * @param id    ID del proyecto de referencia
+     * @param limit Máximo de recomendaciones (hasta 20)
+     * @return 200 OK con los proyectos similares, del más al menos parecido
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarProjectDTO>> getSimilarProjects(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(projectService.getSimilarProjects(id, limit));
+    }
+
+    /**
+     * Exportar todos los proyectos (respaldo)
+     *
+     * Endpoint: GET /api/projects/export
+     * Requiere: Token JWT + rol ADMIN
+     *
+     * Responde NDJSON (un proyecto por línea) escrito a medida que se lee
+     * de la BD, sin armar la lista completa en memoria.
+     */
+    @GetMapping("/export")
+    public void exportProjects(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"projects.ndjson\"");
+        projectBulkService.exportProjects(response.getOutputStream());
+    }
+
+    /**
+     * Importar proyectos en bloque
+     *
+     * Endpoint: POST /api/projects/import
+     * Requiere: Token JWT
+     * Body: NDJSON, un proyecto por línea con los campos de CreateProjectRequest
+     * (lo que produce /export también sirve). Un ADMIN puede indicar
+     * "ownerEmail" u "ownerId" para crear proyectos de otros usuarios.
+     *
+     * Ejemplo de body:
+     * {"name":"API Tienda","type":"PROFESIONAL","techs":["Spring Boot"]}
+     * {"name":"App Móvil","type":"ACADEMICO","ownerEmail":"ana@mail.com"}
+     *
+     * @return 200 OK con proyectos creados y errores por línea
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ProjectImportResultDTO> importProjects(
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        return ResponseEntity.ok(projectBulkService.importProjects(request.getInputStream(), authentication.getName()));
+    }
 }
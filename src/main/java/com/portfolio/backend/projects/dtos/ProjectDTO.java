@@ -89,4 +89,9 @@ public class ProjectDTO {
      * Fecha de última actualización
      */
     private LocalDateTime updatedAt;
+
+    /**
+     * Versión del proyecto (se envía también como ETag)
+     */
+    private Long version;
 }
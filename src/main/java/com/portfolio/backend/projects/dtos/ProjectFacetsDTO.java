@@ -0,0 +1,49 @@
+package com.portfolio.backend.projects.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conteos de proyectos por tecnología y por tipo
+ *
+ * Ejemplo de respuesta:
+ * {
+ * "total": 1452,
+ * "techs": [ { "value": "React", "count": 812 }, { "value": "Spring Boot", "count": 640 } ],
+ * "types": { "PROFESIONAL": 900, "ACADEMICO": 552 }
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectFacetsDTO {
+
+    /**
+     * Proyectos que cumplen con las tecnologías seleccionadas
+     */
+    private long total;
+
+    /**
+     * Conteo por tecnología, de mayor a menor
+     */
+    private List<FacetCount> techs;
+
+    /**
+     * Conteo por tipo de proyecto
+     */
+    private Map<String, Long> types;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private long count;
+    }
+}
@@ -0,0 +1,54 @@
+package com.portfolio.backend.projects.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación NDJSON
+ *
+ * Ejemplo de respuesta:
+ * {
+ * "imported": 498,
+ * "failed": 2,
+ * "errors": [ { "line": 17, "message": "El tipo de proyecto es obligatorio" } ],
+ * "errorsTruncated": false
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectImportResultDTO {
+
+    /**
+     * Proyectos creados
+     */
+    private long imported;
+
+    /**
+     * Líneas rechazadas
+     */
+    private long failed;
+
+    /**
+     * Detalle por línea (solo las primeras; ver errorsTruncated)
+     */
+    private List<LineError> errors;
+
+    /**
+     * true si hubo más errores de los que se listan
+     */
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,49 @@
+package com.portfolio.backend.projects.dtos;
+
+import com.portfolio.backend.projects.entity.enums.ProjectType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fila de proyecto leída con una proyección JPQL (sin techs)
+ *
+ * No es una entidad: no queda en el contexto de persistencia, así que se
+ * pueden recorrer millones de filas sin que crezca la memoria. Tampoco
+ * arrastra al dueño como entidad (ni su perfil, que es EAGER): sus datos
+ * vienen en la misma fila.
+ */
+public record ProjectRow(
+        Long id,
+        String name,
+        String description,
+        ProjectType type,
+        String imageUrl,
+        String repoUrl,
+        String deployUrl,
+        Long ownerId,
+        String ownerName,
+        String ownerEmail,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public ProjectDTO toDTO(List<String> techs) {
+        return ProjectDTO.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .type(type)
+                .techs(techs)
+                .imageUrl(imageUrl)
+                .repoUrl(repoUrl)
+                .deployUrl(deployUrl)
+                .ownerId(ownerId)
+                .ownerName(ownerName)
+                .ownerEmail(ownerEmail)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .version(version)
+                .build();
+    }
+}
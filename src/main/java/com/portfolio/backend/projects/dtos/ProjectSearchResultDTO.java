@@ -0,0 +1,31 @@
+package com.portfolio.backend.projects.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados de búsqueda, ordenada por relevancia
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSearchResultDTO {
+
+    /**
+     * Proyectos de la página actual
+     */
+    private List<ProjectDTO> items;
+
+    /**
+     * Total de proyectos que coinciden con la búsqueda
+     */
+    private long total;
+
+    private int page;
+    private int size;
+}
@@ -0,0 +1,21 @@
+package com.portfolio.backend.projects.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Proyecto recomendado como similar a otro
+ *
+ * "similarity" va de 0 a 1 (índice de Jaccard sobre tecnologías y
+ * descripción).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarProjectDTO {
+    private ProjectDTO project;
+    private double similarity;
+}
@@ -1,15 +1,21 @@
 package com.portfolio.backend.projects.entity;
 
+import com.portfolio.backend.common.ElementCollections;
 import com.portfolio.backend.projects.entity.enums.ProjectType;
 import com.portfolio.backend.users.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_projects_owner_created_id", columnList = "owner_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,10 +36,16 @@ public class Project {
     @Column(nullable = false)
     private ProjectType type;
 
+    // Tecnología -> posición. Indexadas por valor para que Hibernate solo
+    // escriba las que entran, salen o se mueven (ver ElementCollections);
+    // fuera de la entidad se ven como lista ordenada
     @ElementCollection
     @CollectionTable(name = "project_techs", joinColumns = @JoinColumn(name = "project_id"))
-    @Column(name = "tech")
-    private List<String> techs;
+    @MapKeyColumn(name = "tech")
+    @Column(name = "tech_order", columnDefinition = "integer default 0")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, Integer> techs;
 
     private String imageUrl;
     private String repoUrl;
@@ -49,6 +61,28 @@ public class Project {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Se incrementa en cada UPDATE; es el ETag del proyecto y evita que dos
+    // ediciones simultáneas se pisen
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    public List<String> getTechs() {
+        return ElementCollections.ordered(techs);
+    }
+
+    public void setTechs(List<String> techs) {
+        this.techs = ElementCollections.replace(this.techs, techs);
+    }
+
+    public static class ProjectBuilder {
+
+        public ProjectBuilder techs(List<String> techs) {
+            this.techs = ElementCollections.replace(null, techs);
+            return this;
+        }
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
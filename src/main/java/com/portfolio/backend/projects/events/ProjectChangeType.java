@@ -0,0 +1,7 @@
+package com.portfolio.backend.projects.events;
+
+public enum ProjectChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
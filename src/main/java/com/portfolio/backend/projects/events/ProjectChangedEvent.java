@@ -0,0 +1,50 @@
+package com.portfolio.backend.projects.events;
+
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.entity.Project;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction of every project write.
+ *
+ * {@code previous} is null for CREATED and {@code current} is null for
+ * DELETED, so listeners that keep counters can apply exact deltas.
+ */
+public record ProjectChangedEvent(ProjectChangeType type, Long projectId, ProjectDTO previous, ProjectDTO current) {
+
+    public static ProjectChangedEvent created(ProjectDTO current) {
+        return new ProjectChangedEvent(ProjectChangeType.CREATED, current.getId(), null, current);
+    }
+
+    public static ProjectChangedEvent updated(ProjectDTO previous, ProjectDTO current) {
+        return new ProjectChangedEvent(ProjectChangeType.UPDATED, current.getId(), previous, current);
+    }
+
+    public static ProjectChangedEvent deleted(ProjectDTO previous) {
+        return new ProjectChangedEvent(ProjectChangeType.DELETED, previous.getId(), previous, null);
+    }
+
+    /**
+     * Detached copy of the project; the techs list is copied so later changes
+     * to the entity do not leak into the event.
+     */
+    public static ProjectDTO snapshot(Project project) {
+        return ProjectDTO.builder()
+                .id(project.getId())
+                .name(project.getName())
+                .description(project.getDescription())
+                .type(project.getType())
+                .techs(project.getTechs() != null ? List.copyOf(project.getTechs()) : List.of())
+                .imageUrl(project.getImageUrl())
+                .repoUrl(project.getRepoUrl())
+                .deployUrl(project.getDeployUrl())
+                .ownerId(project.getOwner().getId())
+                .ownerName(project.getOwner().getName())
+                .ownerEmail(project.getOwner().getEmail())
+                .createdAt(project.getCreatedAt())
+                .updatedAt(project.getUpdatedAt())
+                .version(project.getVersion())
+                .build();
+    }
+}
@@ -1,13 +1,20 @@
 package com.portfolio.backend.projects.repository;
 
+import com.portfolio.backend.common.VersionStamp;
+import com.portfolio.backend.projects.dtos.ProjectRow;
 import com.portfolio.backend.projects.entity.Project;
 import com.portfolio.backend.projects.entity.enums.ProjectType;
 import com.portfolio.backend.users.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Project
@@ -19,6 +26,13 @@ import java.util.List;
  */
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    /**
+     * Proyección de proyecto + dueño en una sola fila (ver ProjectRow)
+     */
+    String ROW_SELECT = "SELECT new com.portfolio.backend.projects.dtos.ProjectRow(p.id, p.name, p.description, "
+            + "p.type, p.imageUrl, p.repoUrl, p.deployUrl, o.id, o.name, o.email, p.createdAt, p.updatedAt, "
+            + "p.version) FROM Project p JOIN p.owner o";
+
     /**
      * Buscar proyectos por usuario (entidad User)
      * 
@@ -70,6 +84,78 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      * @param tech Nombre de la tecnología (ej: "React", "Spring Boot")
      * @return Lista de proyectos que usan esa tecnología
      */
-    @Query("SELECT p FROM Project p JOIN p.techs t WHERE t = :tech")
+    @Query("SELECT p FROM Project p JOIN p.techs t WHERE KEY(t) = :tech")
     List<Project> findByTech(@Param("tech") String tech);
+
+    /**
+     * Cargar todos los proyectos con owner y techs en una sola consulta
+     *
+     * Se usa para reconstruir los índices en memoria al arrancar,
+     * evitando una consulta extra por proyecto (N+1).
+     */
+    @Query("SELECT DISTINCT p FROM Project p JOIN FETCH p.owner LEFT JOIN FETCH p.techs")
+    List<Project> findAllWithTechs();
+
+    /**
+     * Pares (id de proyecto, tecnología) leídos directamente de project_techs,
+     * en orden de proyecto y de posición
+     *
+     * Alimenta el autocompletado y el listado completo sin cargar entidades.
+     */
+    @Query("SELECT p.id, KEY(t) FROM Project p JOIN p.techs t ORDER BY p.id, VALUE(t)")
+    List<Object[]> findAllTechPairs();
+
+    /**
+     * Pares (id de proyecto, tecnología) de los proyectos de un dueño
+     */
+    @Query("SELECT p.id, KEY(t) FROM Project p JOIN p.techs t WHERE p.owner.id = :ownerId ORDER BY p.id, VALUE(t)")
+    List<Object[]> findTechPairsByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Pares (id de proyecto, tecnología) de un conjunto de proyectos
+     */
+    @Query("SELECT p.id, KEY(t) FROM Project p JOIN p.techs t WHERE p.id IN :ids ORDER BY p.id, VALUE(t)")
+    List<Object[]> findTechPairsByProjectIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Listados como proyección: una consulta para las filas y otra para las
+     * techs, sin importar cuántos proyectos (ni dueños distintos) haya
+     */
+    @Query(ROW_SELECT + " ORDER BY p.id")
+    List<ProjectRow> findAllRows();
+
+    @Query(ROW_SELECT + " WHERE o.id = :ownerId ORDER BY p.id")
+    List<ProjectRow> findRowsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(ROW_SELECT + " WHERE p.id IN :ids")
+    List<ProjectRow> findRowsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query(ROW_SELECT + " WHERE p.id = :id")
+    Optional<ProjectRow> findRowById(@Param("id") Long id);
+
+    /**
+     * Solo la versión del proyecto y la fecha de cambio del dueño, para
+     * responder 304 sin cargar la entidad
+     */
+    @Query("SELECT new com.portfolio.backend.common.VersionStamp(p.version, o.updatedAt) "
+            + "FROM Project p JOIN p.owner o WHERE p.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    /**
+     * Todos los proyectos como proyección, en orden de id, leídos por lotes
+     *
+     * Se usa para la exportación NDJSON junto con streamAllTechPairs().
+     * Requiere una transacción abierta y cerrar el Stream al terminar.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ROW_SELECT + " ORDER BY p.id")
+    Stream<ProjectRow> streamAllRows();
+
+    /**
+     * Pares (id de proyecto, tecnología) en el mismo orden que streamAllRows()
+     * y respetando la posición de cada tecnología
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.id, KEY(t) FROM Project p JOIN p.techs t ORDER BY p.id, VALUE(t)")
+    Stream<Object[]> streamAllTechPairs();
 }
@@ -0,0 +1,155 @@
+package com.portfolio.backend.projects.search;
+
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.dtos.ProjectFacetsDTO;
+import com.portfolio.backend.projects.entity.enums.ProjectType;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts for the project catalog.
+ *
+ * Keeps one compressed bitmap of project ids per tech and per type. Plain
+ * counts are bitmap cardinalities, and counts narrowed by a tech selection
+ * are AND cardinalities, so no query touches project_techs. Techs are
+ * grouped by their folded form ("react" and "React" are one facet).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectFacetIndex {
+
+    private final ProjectRepository projectRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RoaringBitmap> byTech = new HashMap<>();
+    private final Map<String, String> techLabels = new HashMap<>();
+    private final Map<ProjectType, RoaringBitmap> byType = new EnumMap<>(ProjectType.class);
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<ProjectDTO> projects = projectRepository.findAllWithTechs().stream()
+                .map(ProjectChangedEvent::snapshot)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            byTech.clear();
+            techLabels.clear();
+            byType.clear();
+            all.clear();
+            projects.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Project facet index rebuilt with {} techs", byTech.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.previous() != null) {
+                remove(event.previous());
+            }
+            if (event.current() != null) {
+                add(event.current());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ProjectFacetsDTO facets(Collection<String> selectedTechs, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = all;
+            if (selectedTechs != null && !selectedTechs.isEmpty()) {
+                for (String tech : selectedTechs) {
+                    RoaringBitmap projects = byTech.get(TextNormalizer.fold(tech));
+                    base = projects != null ? RoaringBitmap.and(base, projects) : new RoaringBitmap();
+                }
+            }
+
+            List<ProjectFacetsDTO.FacetCount> techs = new ArrayList<>();
+            for (Map.Entry<String, RoaringBitmap> entry : byTech.entrySet()) {
+                long count = base == all ? entry.getValue().getLongCardinality()
+                        : RoaringBitmap.andCardinality(base, entry.getValue());
+                if (count > 0) {
+                    techs.add(new ProjectFacetsDTO.FacetCount(techLabels.get(entry.getKey()), count));
+                }
+            }
+            techs.sort(Comparator.comparingLong(ProjectFacetsDTO.FacetCount::getCount).reversed()
+                    .thenComparing(ProjectFacetsDTO.FacetCount::getValue));
+
+            Map<String, Long> types = new LinkedHashMap<>();
+            for (ProjectType type : ProjectType.values()) {
+                RoaringBitmap projects = byType.get(type);
+                types.put(type.name(), projects == null ? 0L : RoaringBitmap.andCardinality(base, projects));
+            }
+
+            return ProjectFacetsDTO.builder()
+                    .total(base.getLongCardinality())
+                    .techs(techs.size() > limit ? new ArrayList<>(techs.subList(0, limit)) : techs)
+                    .types(types)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(ProjectDTO project) {
+        int id = Math.toIntExact(project.getId());
+        all.add(id);
+        if (project.getType() != null) {
+            byType.computeIfAbsent(project.getType(), t -> new RoaringBitmap()).add(id);
+        }
+        for (String tech : techs(project)) {
+            String key = TextNormalizer.fold(tech);
+            byTech.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+            techLabels.putIfAbsent(key, tech.trim());
+        }
+    }
+
+    private void remove(ProjectDTO project) {
+        int id = Math.toIntExact(project.getId());
+        all.remove(id);
+        if (project.getType() != null && byType.containsKey(project.getType())) {
+            byType.get(project.getType()).remove(id);
+        }
+        for (String tech : techs(project)) {
+            String key = TextNormalizer.fold(tech);
+            RoaringBitmap projects = byTech.get(key);
+            if (projects != null) {
+                projects.remove(id);
+                if (projects.isEmpty()) {
+                    byTech.remove(key);
+                    techLabels.remove(key);
+                }
+            }
+        }
+    }
+
+    private static List<String> techs(ProjectDTO project) {
+        return project.getTechs() != null ? project.getTechs() : List.of();
+    }
+}
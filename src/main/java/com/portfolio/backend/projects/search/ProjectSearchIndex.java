@@ -0,0 +1,164 @@
+package com.portfolio.backend.projects.search;
+
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over project name, description and techs,
+ * ranked with BM25.
+ *
+ * Name matches weigh three times a description match and tech matches
+ * twice. The index is rebuilt at startup and updated from committed
+ * {@link ProjectChangedEvent}s. Writes are rare, so one read/write lock
+ * guards the whole structure.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int TECH_WEIGHT = 2;
+
+    private final ProjectRepository projectRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (projectId -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // projectId -> (term -> weighted term frequency)
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength;
+
+    public record SearchHits(long total, List<Long> projectIds) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<ProjectDTO> projects = projectRepository.findAllWithTechs().stream()
+                .map(ProjectChangedEvent::snapshot)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            lengths.clear();
+            totalLength = 0;
+            projects.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Project search index rebuilt with {} projects", projects.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(event.projectId());
+            if (event.current() != null) {
+                addDocument(event.current());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int page, int size) {
+        List<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            double avgLength = docCount > 0 ? (double) totalLength / docCount : 0;
+            for (String term : terms.stream().distinct().toList()) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                    int length = lengths.get(posting.getKey());
+                    double tf = posting.getValue();
+                    double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+                    scores.merge(posting.getKey(), idf * norm, Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .skip((long) page * size)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new SearchHits(scores.size(), ranked);
+    }
+
+    private void addDocument(ProjectDTO project) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, project.getName(), NAME_WEIGHT);
+        addTerms(terms, project.getDescription(), 1);
+        if (project.getTechs() != null) {
+            project.getTechs().forEach(tech -> addTerms(terms, tech, TECH_WEIGHT));
+        }
+        int length = length(terms);
+        documents.put(project.getId(), terms);
+        lengths.put(project.getId(), length);
+        totalLength += length;
+        terms.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(project.getId(), tf));
+    }
+
+    private void removeDocument(Long projectId) {
+        Map<String, Integer> terms = documents.remove(projectId);
+        if (terms == null) {
+            return;
+        }
+        totalLength -= lengths.remove(projectId);
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> docs = postings.get(term);
+            docs.remove(projectId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private static int length(Map<String, Integer> terms) {
+        int length = 0;
+        for (int tf : terms.values()) {
+            length += tf;
+        }
+        return length;
+    }
+}
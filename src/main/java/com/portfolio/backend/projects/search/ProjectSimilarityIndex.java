@@ -0,0 +1,232 @@
+package com.portfolio.backend.projects.search;
+
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Similar projects" through MinHash signatures and LSH banding.
+ *
+ * A project's features are its folded techs plus two-word shingles of its
+ * description. Each tech is entered {@value #TECH_WEIGHT} times so shared
+ * technologies dominate over shared wording. The 96-value signature is cut
+ * into 32 bands of 3 rows; projects that share any band land in the same
+ * bucket, so a lookup only scores bucket mates. Two projects at Jaccard J
+ * share a band with probability 1 - (1 - J^3)^32: about 0.99 at 0.5, 0.58
+ * at 0.3 and 0.23 at 0.2. Candidates are then ranked by their exact Jaccard
+ * over the stored feature sets.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectSimilarityIndex {
+
+    private static final int HASHES = 96;
+    private static final int ROWS = 3;
+    private static final int BANDS = HASHES / ROWS;
+    private static final int TECH_WEIGHT = 4;
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_1D5L).longs(HASHES).toArray();
+
+    private final ProjectRepository projectRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Set<String>> features = new HashMap<>();
+    private final Map<Long, long[]> bandKeys = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+    public record Match(Long projectId, double similarity) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<ProjectDTO> projects = projectRepository.findAllWithTechs().stream()
+                .map(ProjectChangedEvent::snapshot)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            features.clear();
+            bandKeys.clear();
+            buckets.clear();
+            projects.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Project similarity index rebuilt with {} projects", projects.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.projectId());
+            if (event.current() != null) {
+                add(event.current());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(Long projectId) {
+        lock.readLock().lock();
+        try {
+            return features.containsKey(projectId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Match> similar(Long projectId, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] keys = bandKeys.get(projectId);
+            if (keys == null) {
+                return List.of();
+            }
+            Set<String> own = features.get(projectId);
+            Set<Long> candidates = new HashSet<>();
+            for (long key : keys) {
+                candidates.addAll(buckets.get(key));
+            }
+            candidates.remove(projectId);
+
+            List<Match> matches = new ArrayList<>(candidates.size());
+            for (Long candidate : candidates) {
+                matches.add(new Match(candidate, jaccard(own, features.get(candidate))));
+            }
+            matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                    .thenComparing(Match::projectId));
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(ProjectDTO project) {
+        Set<String> projectFeatures = features(project);
+        features.put(project.getId(), projectFeatures);
+        if (projectFeatures.isEmpty()) {
+            return;
+        }
+        long[] keys = bandKeys(signature(projectFeatures));
+        bandKeys.put(project.getId(), keys);
+        for (long key : keys) {
+            buckets.computeIfAbsent(key, k -> new HashSet<>()).add(project.getId());
+        }
+    }
+
+    private void remove(Long projectId) {
+        features.remove(projectId);
+        long[] keys = bandKeys.remove(projectId);
+        if (keys == null) {
+            return;
+        }
+        for (long key : keys) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(projectId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private static Set<String> features(ProjectDTO project) {
+        Set<String> result = new HashSet<>();
+        if (project.getTechs() != null) {
+            for (String tech : project.getTechs()) {
+                String key = TextNormalizer.fold(tech);
+                if (!key.isEmpty()) {
+                    for (int copy = 0; copy < TECH_WEIGHT; copy++) {
+                        result.add("t" + copy + ":" + key);
+                    }
+                }
+            }
+        }
+        List<String> tokens = TextNormalizer.tokenize(project.getDescription());
+        for (int i = 0; i + 1 < tokens.size(); i++) {
+            result.add("d:" + tokens.get(i) + " " + tokens.get(i + 1));
+        }
+        if (tokens.size() == 1) {
+            result.add("d:" + tokens.get(0));
+        }
+        return result;
+    }
+
+    private static long[] signature(Set<String> projectFeatures) {
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String feature : projectFeatures) {
+            long base = fnv1a(feature);
+            for (int i = 0; i < HASHES; i++) {
+                signature[i] = Math.min(signature[i], mix(base ^ SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    // One key per band; the band number is mixed in so equal rows in
+    // different bands do not share a bucket.
+    private static long[] bandKeys(long[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = mix(band + 1L);
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key ^ signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int shared = 0;
+        for (String feature : smaller) {
+            if (larger.contains(feature)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
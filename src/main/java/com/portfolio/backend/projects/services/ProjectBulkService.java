@@ -0,0 +1,37 @@
+package com.portfolio.backend.projects.services;
+
+import com.portfolio.backend.projects.dtos.ProjectImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Importación y exportación masiva de proyectos en NDJSON
+ * (un objeto JSON por línea).
+ */
+public interface ProjectBulkService {
+
+    /**
+     * Escribe todos los proyectos, uno por línea, con el mismo formato que
+     * GET /api/projects/{id}. Lee de la BD por lotes, sin cargar la lista
+     * completa en memoria.
+     *
+     * @param out Destino (normalmente el cuerpo de la respuesta)
+     */
+    void exportProjects(OutputStream out) throws IOException;
+
+    /**
+     * Crea proyectos a partir de NDJSON.
+     *
+     * Cada línea usa los campos de CreateProjectRequest y, opcionalmente,
+     * "ownerEmail" u "ownerId" (solo ADMIN puede importar para otros
+     * usuarios; por defecto el dueño es quien importa). Las líneas
+     * inválidas se reportan y se omiten; el resto se inserta por lotes.
+     *
+     * @param in        NDJSON a importar
+     * @param userEmail Email del usuario autenticado
+     * @return Cantidad de proyectos creados y errores por línea
+     */
+    ProjectImportResultDTO importProjects(InputStream in, String userEmail) throws IOException;
+}
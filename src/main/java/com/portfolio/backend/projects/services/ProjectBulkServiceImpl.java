@@ -0,0 +1,400 @@
+package com.portfolio.backend.projects.services;
+
+import com.portfolio.backend.common.ElementCollections;
+import com.portfolio.backend.projects.dtos.CreateProjectRequest;
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.dtos.ProjectImportResultDTO;
+import com.portfolio.backend.projects.dtos.ProjectRow;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import com.portfolio.backend.users.entity.enums.Role;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de la importación / exportación NDJSON.
+ *
+ * Exportación: dos consultas en streaming (proyectos y techs, ambas
+ * ordenadas por id) que se combinan fila a fila, así la memoria no depende
+ * de la cantidad de proyectos.
+ *
+ * Importación: se lee línea por línea y se inserta con JDBC en lotes
+ * (projects.import.batch-size), cada lote en su propia transacción. Si un
+ * lote falla, por la BD o por cualquier otro error, sus líneas se reintentan
+ * una por una para reportar cuál falló; la importación sigue con el resto y
+ * siempre responde con el conteo de lo ya confirmado. Las líneas de más de
+ * {@value #MAX_LINE_LENGTH} caracteres se rechazan sin guardarlas en memoria.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectBulkServiceImpl implements ProjectBulkService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private static final String INSERT_PROJECT = "INSERT INTO projects (name, description, type, image_url, "
+            + "repo_url, deploy_url, owner_id, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_TECH = "INSERT INTO project_techs (project_id, tech, tech_order) VALUES (?, ?, ?)";
+
+    private final ProjectRepository projectRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${projects.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${projects.import.max-cached-owners:1000}")
+    private int maxCachedOwners;
+
+    private record Owner(Long id, String name, String email, Role role) {
+    }
+
+    private record PendingProject(long line, CreateProjectRequest request, Owner owner) {
+    }
+
+    /**
+     * Exportar todos los proyectos (ADMIN)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProjects(OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<ProjectRow> rows = projectRepository.streamAllRows();
+                Stream<Object[]> techPairs = projectRepository.streamAllTechPairs()) {
+            Iterator<Object[]> techs = techPairs.iterator();
+            Object[] pendingTech = techs.hasNext() ? techs.next() : null;
+
+            Iterator<ProjectRow> it = rows.iterator();
+            while (it.hasNext()) {
+                ProjectRow row = it.next();
+                List<String> projectTechs = new ArrayList<>();
+                // Ambas consultas vienen ordenadas por id: se avanza en paralelo
+                while (pendingTech != null && (Long) pendingTech[0] <= row.id()) {
+                    if (row.id().equals(pendingTech[0])) {
+                        projectTechs.add((String) pendingTech[1]);
+                    }
+                    pendingTech = techs.hasNext() ? techs.next() : null;
+                }
+                out.write(objectMapper.writeValueAsBytes(row.toDTO(projectTechs)));
+                out.write('\n');
+                if (++written % batchSize == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        log.info("Exported {} projects", written);
+    }
+
+    /**
+     * Importar proyectos desde NDJSON (requiere auth)
+     */
+    @Override
+    public ProjectImportResultDTO importProjects(InputStream in, String userEmail) throws IOException {
+        Map<String, Owner> owners = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Owner> eldest) {
+                return size() > maxCachedOwners;
+            }
+        };
+        Owner importer = findOwner("email", userEmail, owners);
+        if (importer == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        ImportReport report = new ImportReport();
+        List<PendingProject> batch = new ArrayList<>(batchSize);
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (reader.truncated) {
+                report.fail(lineNumber, "Line longer than " + MAX_LINE_LENGTH + " characters");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(parse(line, lineNumber, importer, owners));
+            } catch (JacksonException e) {
+                report.fail(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            } catch (RuntimeException e) {
+                report.fail(lineNumber, e.getMessage());
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                flush(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, report);
+        }
+        log.info("Imported {} projects for {} ({} lines failed)", report.imported, userEmail, report.failed);
+        return report.toDTO();
+    }
+
+    private PendingProject parse(String line, long lineNumber, Owner importer, Map<String, Owner> owners) {
+        JsonNode node = objectMapper.readTree(line);
+        if (!node.isObject()) {
+            throw new RuntimeException("Each line must be a JSON object");
+        }
+        CreateProjectRequest request = objectMapper.treeToValue(node, CreateProjectRequest.class);
+        List<String> violations = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(String.join("; ", violations));
+        }
+
+        Owner owner = importer;
+        if (node.hasNonNull("ownerEmail")) {
+            owner = findOwner("email", node.get("ownerEmail").asString(), owners);
+        } else if (node.hasNonNull("ownerId")) {
+            owner = findOwner("id", node.get("ownerId").asString(), owners);
+        }
+        if (owner == null) {
+            throw new RuntimeException("Owner not found");
+        }
+        if (!owner.id().equals(importer.id()) && importer.role() != Role.ADMIN) {
+            throw new RuntimeException("You don't have permission to import projects for other users");
+        }
+        return new PendingProject(lineNumber, request, owner);
+    }
+
+    // Proyección por JDBC: no deja entidades User en el contexto de persistencia
+    private Owner findOwner(String column, String value, Map<String, Owner> owners) {
+        String key = column + ":" + value;
+        Owner cached = owners.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Object param = value;
+        if (column.equals("id")) {
+            try {
+                param = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        List<Owner> found = jdbcTemplate.query(
+                "SELECT id, name, email, role FROM users WHERE " + column + " = ?",
+                (rs, i) -> new Owner(rs.getLong("id"), rs.getString("name"), rs.getString("email"),
+                        Role.valueOf(rs.getString("role"))),
+                param);
+        if (found.isEmpty()) {
+            return null;
+        }
+        owners.put(key, found.get(0));
+        return found.get(0);
+    }
+
+    private void flush(List<PendingProject> batch, ImportReport report) {
+        try {
+            report.imported += transactionTemplate.execute(status -> insert(batch));
+        } catch (RuntimeException e) {
+            // Reintentar una por una para saber qué línea falló; los lotes
+            // anteriores ya están confirmados y se siguen contando
+            log.warn("Import batch of {} projects failed, retrying line by line: {}", batch.size(), e.getMessage());
+            for (PendingProject project : batch) {
+                try {
+                    report.imported += transactionTemplate.execute(status -> insert(List.of(project)));
+                } catch (DataAccessException lineError) {
+                    report.fail(project.line(), "Rejected by the database: "
+                            + lineError.getMostSpecificCause().getMessage());
+                } catch (RuntimeException lineError) {
+                    report.fail(project.line(), "Could not be imported: " + lineError.getMessage());
+                }
+            }
+        }
+    }
+
+    private int insert(List<PendingProject> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_PROJECT, new String[] { "id" })) {
+                for (PendingProject project : batch) {
+                    CreateProjectRequest request = project.request();
+                    ps.setString(1, request.getName());
+                    ps.setString(2, request.getDescription());
+                    ps.setString(3, request.getType().name());
+                    ps.setString(4, request.getImageUrl());
+                    ps.setString(5, request.getRepoUrl());
+                    ps.setString(6, request.getDeployUrl());
+                    ps.setLong(7, project.owner().id());
+                    ps.setTimestamp(8, timestamp);
+                    ps.setTimestamp(9, timestamp);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> keys = new ArrayList<>(batch.size());
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        keys.add(rs.getLong(1));
+                    }
+                }
+                return keys;
+            }
+        });
+        if (ids == null || ids.size() != batch.size()) {
+            throw new IllegalStateException("The database did not return the generated project ids");
+        }
+
+        List<Object[]> techRows = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Long id = ids.get(i);
+            ElementCollections.replace(null, batch.get(i).request().getTechs())
+                    .forEach((tech, position) -> techRows.add(new Object[] { id, tech, position }));
+        }
+        if (!techRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TECH, techRows);
+        }
+
+        // Se publican dentro de la transacción: los índices y la caché se
+        // actualizan cuando el lote confirma
+        for (int i = 0; i < batch.size(); i++) {
+            eventPublisher.publishEvent(ProjectChangedEvent.created(toDTO(batch.get(i), ids.get(i), now)));
+        }
+        return batch.size();
+    }
+
+    private static ProjectDTO toDTO(PendingProject project, Long id, LocalDateTime now) {
+        CreateProjectRequest request = project.request();
+        return ProjectDTO.builder()
+                .id(id)
+                .name(request.getName())
+                .description(request.getDescription())
+                .type(request.getType())
+                .techs(ElementCollections.ordered(ElementCollections.replace(null, request.getTechs())))
+                .imageUrl(request.getImageUrl())
+                .repoUrl(request.getRepoUrl())
+                .deployUrl(request.getDeployUrl())
+                .ownerId(project.owner().id())
+                .ownerName(project.owner().name())
+                .ownerEmail(project.owner().email())
+                .createdAt(now)
+                .updatedAt(now)
+                .version(0L)
+                .build();
+    }
+
+    // readLine() con tope: de una línea más larga que MAX_LINE_LENGTH solo se
+    // guarda el comienzo, el resto se lee y se descarta (truncated = true)
+    private static final class BoundedLineReader {
+        private final Reader in;
+        private final char[] chunk = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean truncated;
+
+        BoundedLineReader(Reader in) {
+            this.in = in;
+        }
+
+        String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean any = false;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(chunk);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return any ? finish() : null;
+                    }
+                }
+                any = true;
+                int start = position;
+                while (position < limit && chunk[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++; // '\n'
+                    return finish();
+                }
+            }
+        }
+
+        private void append(int from, int to) {
+            int room = MAX_LINE_LENGTH - line.length();
+            if (to - from > room) {
+                truncated = true;
+                to = from + Math.max(room, 0);
+            }
+            line.append(chunk, from, to - from);
+        }
+
+        private String finish() {
+            int end = line.length();
+            if (end > 0 && line.charAt(end - 1) == '\r') {
+                line.setLength(end - 1);
+            }
+            return line.toString();
+        }
+    }
+
+    // Conteos completos, pero solo los primeros MAX_REPORTED_ERRORS errores
+    private static final class ImportReport {
+        private long imported;
+        private long failed;
+        private final List<ProjectImportResultDTO.LineError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProjectImportResultDTO.LineError(line, message));
+            }
+        }
+
+        ProjectImportResultDTO toDTO() {
+            return ProjectImportResultDTO.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+}
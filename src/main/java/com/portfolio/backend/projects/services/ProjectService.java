@@ -1,8 +1,14 @@
 package com.portfolio.backend.projects.services;
 
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetParams;
 import com.portfolio.backend.projects.dtos.CreateProjectRequest;
 import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.dtos.ProjectFacetsDTO;
+import com.portfolio.backend.projects.dtos.ProjectSearchResultDTO;
+import com.portfolio.backend.projects.dtos.SimilarProjectDTO;
 import com.portfolio.backend.projects.dtos.UpdateProjectRequest;
+import com.portfolio.backend.users.entity.User;
 
 import java.util.List;
 
@@ -31,11 +37,15 @@ public interface ProjectService {
      * 
      * @param projectId ID del proyecto a actualizar
      * @param userEmail Email del usuario autenticado (del JWT)
-     * @param request   Campos a actualizar (parcial)
+     * @param request         Campos a actualizar (parcial)
+     * @param expectedVersion Versión que el cliente editó (If-Match); null = sin
+     *                        verificación
      * @return DTO del proyecto actualizado
      * @throws RuntimeException si el proyecto no existe o el usuario no es el dueño
+     * @throws com.portfolio.backend.exception.PreconditionFailedException si la
+     *                        versión no coincide
      */
-    ProjectDTO updateProject(Long projectId, String userEmail, UpdateProjectRequest request);
+    ProjectDTO updateProject(Long projectId, String userEmail, UpdateProjectRequest request, Long expectedVersion);
 
     /**
      * Eliminar un proyecto
@@ -57,6 +67,18 @@ public interface ProjectService {
      */
     ProjectDTO getProjectById(Long projectId);
 
+    /**
+     * ETag actual de un proyecto (para 304 y para responder a ediciones)
+     *
+     * Depende de la versión del proyecto y de la última modificación del
+     * dueño, cuyo nombre y email van en la respuesta. No carga el proyecto.
+     *
+     * @param projectId ID del proyecto
+     * @return ETag actual
+     * @throws RuntimeException si el proyecto no existe
+     */
+    String getProjectEtag(Long projectId);
+
     /**
      * Obtener todos los proyectos del usuario autenticado
      * 
@@ -65,6 +87,15 @@ public interface ProjectService {
      */
     List<ProjectDTO> getMyProjects(String userEmail);
 
+    /**
+     * Página de los proyectos del usuario autenticado (keyset)
+     *
+     * @param userEmail Email del usuario autenticado (del JWT)
+     * @param params    Cursor, tamaño y orden de la página
+     * @return Proyectos de la página y cursor de la siguiente
+     */
+    KeysetPage<ProjectDTO> getMyProjects(String userEmail, KeysetParams params);
+
     /**
      * Obtener todos los proyectos de un usuario por ID (público)
      * 
@@ -76,6 +107,24 @@ public interface ProjectService {
      */
     List<ProjectDTO> getProjectsByUserId(Long userId);
 
+    /**
+     * Página de los proyectos de un usuario (keyset, público)
+     *
+     * @throws RuntimeException si el usuario no existe
+     */
+    KeysetPage<ProjectDTO> getProjectsByUserId(Long userId, KeysetParams params);
+
+    /**
+     * Obtener los proyectos de un usuario ya cargado (público)
+     *
+     * Igual que getProjectsByUserId pero sin volver a consultar el usuario;
+     * lo usa el portfolio agregado.
+     *
+     * @param owner Usuario dueño de los proyectos
+     * @return Lista de proyectos del usuario
+     */
+    List<ProjectDTO> getProjectsByOwner(User owner);
+
     /**
      * Obtener TODOS los proyectos (público)
      * 
@@ -84,4 +133,49 @@ public interface ProjectService {
      * @return Lista de todos los proyectos
      */
     List<ProjectDTO> getAllProjects();
+
+    /**
+     * Página de todos los proyectos (keyset, público)
+     *
+     * Cada página continúa después del último proyecto de la anterior, sin
+     * OFFSET, así que cualquier página cuesta lo mismo que la primera.
+     *
+     * @param params Cursor, tamaño y orden (id o createdAt, asc o desc)
+     * @return Proyectos de la página y cursor de la siguiente
+     */
+    KeysetPage<ProjectDTO> getAllProjects(KeysetParams params);
+
+    /**
+     * Buscar proyectos por texto (público)
+     *
+     * Busca en nombre, descripción y tecnologías, sin distinguir
+     * mayúsculas ni tildes, y ordena por relevancia (BM25).
+     *
+     * @param query Texto a buscar
+     * @param page  Número de página (desde 0)
+     * @param size  Tamaño de página
+     * @return Página de resultados
+     */
+    ProjectSearchResultDTO searchProjects(String query, int page, int size);
+
+    /**
+     * Conteos por tecnología y tipo (público)
+     *
+     * @param selectedTechs Tecnologías ya seleccionadas (puede ser vacío);
+     *                      los conteos se calculan sobre los proyectos que
+     *                      usan TODAS ellas
+     * @param limit         Máximo de tecnologías a retornar
+     * @return Conteos por tecnología y por tipo
+     */
+    ProjectFacetsDTO getFacets(List<String> selectedTechs, int limit);
+
+    /**
+     * Proyectos similares a uno dado (público)
+     *
+     * @param projectId ID del proyecto de referencia
+     * @param limit     Máximo de recomendaciones
+     * @return Proyectos similares, del más al menos parecido
+     * @throws RuntimeException si el proyecto no existe
+     */
+    List<SimilarProjectDTO> getSimilarProjects(Long projectId, int limit);
 }
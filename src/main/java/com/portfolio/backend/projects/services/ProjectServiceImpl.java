@@ -1,17 +1,39 @@
 package com.portfolio.backend.projects.services;
 
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetPager;
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.common.VersionStamp;
+import com.portfolio.backend.common.VersionTags;
+import com.portfolio.backend.exception.PreconditionFailedException;
+import com.portfolio.backend.projects.cache.ProjectCache;
 import com.portfolio.backend.projects.dtos.CreateProjectRequest;
 import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.dtos.ProjectFacetsDTO;
+import com.portfolio.backend.projects.dtos.ProjectRow;
+import com.portfolio.backend.projects.dtos.ProjectSearchResultDTO;
+import com.portfolio.backend.projects.dtos.SimilarProjectDTO;
 import com.portfolio.backend.projects.dtos.UpdateProjectRequest;
 import com.portfolio.backend.projects.entity.Project;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
 import com.portfolio.backend.projects.repository.ProjectRepository;
+import com.portfolio.backend.projects.search.ProjectFacetIndex;
+import com.portfolio.backend.projects.search.ProjectSearchIndex;
+import com.portfolio.backend.projects.search.ProjectSimilarityIndex;
 import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.cache.UserLookup;
+import com.portfolio.backend.users.cache.UserLookupCache;
 import com.portfolio.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +53,17 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final ProjectSearchIndex projectSearchIndex;
+    private final ProjectFacetIndex projectFacetIndex;
+    private final ProjectSimilarityIndex projectSimilarityIndex;
+    private final ProjectCache projectCache;
+    private final KeysetPager keysetPager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_FACETS = 500;
+    private static final int MAX_SIMILAR = 20;
 
     /**
      * Crear un nuevo proyecto
@@ -62,8 +95,9 @@ public class ProjectServiceImpl implements ProjectService {
                 .owner(user)
                 .build();
 
-        // 3. Guardar en BD
+        // 3. Guardar en BD y notificar a los índices en memoria
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.created(ProjectChangedEvent.snapshot(savedProject)));
 
         // 4. Convertir a DTO
         return convertToDTO(savedProject);
@@ -80,7 +114,8 @@ public class ProjectServiceImpl implements ProjectService {
      */
     @Override
     @Transactional
-    public ProjectDTO updateProject(Long projectId, String userEmail, UpdateProjectRequest request) {
+    public ProjectDTO updateProject(Long projectId, String userEmail, UpdateProjectRequest request,
+            Long expectedVersion) {
         // 1. Buscar proyecto
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
@@ -90,6 +125,12 @@ public class ProjectServiceImpl implements ProjectService {
             throw new RuntimeException("You don't have permission to edit this project");
         }
 
+        // 2.1 Validar versión (If-Match): rechaza ediciones sobre datos viejos
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new PreconditionFailedException("Project was modified by someone else; reload it and try again");
+        }
+        ProjectDTO previous = ProjectChangedEvent.snapshot(project);
+
         // 3. Actualizar campos (solo los que se envíen)
         if (request.getName() != null) {
             project.setName(request.getName());
@@ -101,6 +142,7 @@ public class ProjectServiceImpl implements ProjectService {
             project.setType(request.getType());
         }
         if (request.getTechs() != null) {
+            // En el mismo mapa gestionado: solo se escriben las techs que cambian
             project.setTechs(request.getTechs());
         }
         if (request.getImageUrl() != null) {
@@ -113,8 +155,10 @@ public class ProjectServiceImpl implements ProjectService {
             project.setDeployUrl(request.getDeployUrl());
         }
 
-        // 4. Guardar cambios
-        Project updatedProject = projectRepository.save(project);
+        // 4. Guardar cambios (flush para que la nueva versión vaya en la respuesta)
+        Project updatedProject = projectRepository.saveAndFlush(project);
+        eventPublisher.publishEvent(
+                ProjectChangedEvent.updated(previous, ProjectChangedEvent.snapshot(updatedProject)));
 
         // 5. Retornar DTO
         return convertToDTO(updatedProject);
@@ -140,59 +184,185 @@ public class ProjectServiceImpl implements ProjectService {
         }
 
         // 3. Eliminar
+        eventPublisher.publishEvent(ProjectChangedEvent.deleted(ProjectChangedEvent.snapshot(project)));
         projectRepository.delete(project);
     }
 
     /**
      * Obtener proyecto por ID (público)
+     *
+     * Se sirve desde ProjectCache; la BD solo se consulta si no está en caché.
      */
     @Override
+    @Transactional(readOnly = true)
     public ProjectDTO getProjectById(Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
+        return projectCache.getById(projectId, id -> withTechs(List.of(projectRepository.findRowById(id)
+                .orElseThrow(() -> new RuntimeException("Project not found")))).get(0));
+    }
 
-        return convertToDTO(project);
+    /**
+     * ETag actual de un proyecto (público)
+     *
+     * Si el proyecto y su dueño están en caché no se consulta la BD.
+     */
+    @Override
+    public String getProjectEtag(Long projectId) {
+        ProjectDTO cached = projectCache.peekById(projectId);
+        VersionStamp stamp = cached != null
+                ? userLookupCache.getById(cached.getOwnerId())
+                        .map(owner -> new VersionStamp(cached.getVersion(), owner.updatedAt()))
+                        .orElse(null)
+                : null;
+        if (stamp == null) {
+            stamp = projectRepository.findVersionStampById(projectId)
+                    .orElseThrow(() -> new RuntimeException("Project not found"));
+        }
+        return VersionTags.of("project", projectId, stamp);
     }
 
     /**
      * Obtener proyectos del usuario autenticado
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getMyProjects(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        UserLookup user = userLookupCache.getByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Project> projects = projectRepository.findByOwner(user);
-
-        return projects.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return projectCache.getByOwner(user.id(), this::loadByOwner);
     }
 
     /**
      * Obtener proyectos de un usuario por ID (público)
+     *
+     * La lista se guarda en caché por dueño.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getProjectsByUserId(Long userId) {
-        User user = userRepository.findById(userId)
+        return projectCache.getByOwner(userId, id -> {
+            if (!userRepository.existsById(id)) {
+                throw new RuntimeException("User not found");
+            }
+            return loadByOwner(id);
+        });
+    }
+
+    /**
+     * Obtener proyectos de un usuario ya cargado (público)
+     *
+     * Comparte la entrada de caché por dueño con getProjectsByUserId.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectDTO> getProjectsByOwner(User owner) {
+        return projectCache.getByOwner(owner.getId(), this::loadByOwner);
+    }
+
+    /**
+     * Obtener TODOS los proyectos (público)
+     *
+     * Dos consultas (filas con dueño y techs); el resultado queda en caché
+     * hasta el próximo cambio de algún proyecto.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectDTO> getAllProjects() {
+        return projectCache.getAll(() -> withTechs(projectRepository.findAllRows(),
+                projectRepository.findAllTechPairs()));
+    }
+
+    /**
+     * Página de todos los proyectos (público)
+     *
+     * No pasa por la caché: cada página es una consulta indexada y corta.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ProjectDTO> getAllProjects(KeysetParams params) {
+        return keysetPager.page(ProjectRepository.ROW_SELECT, "p", ProjectRow.class, null, Map.of(), params)
+                .map(this::withTechs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ProjectDTO> getProjectsByUserId(Long userId, KeysetParams params) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        return keysetPager.page(ProjectRepository.ROW_SELECT, "p", ProjectRow.class, "p.owner.id = :ownerId",
+                Map.of("ownerId", userId), params).map(this::withTechs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ProjectDTO> getMyProjects(String userEmail, KeysetParams params) {
+        UserLookup user = userLookupCache.getByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Project> projects = projectRepository.findByOwner(user);
+        return keysetPager.page(ProjectRepository.ROW_SELECT, "p", ProjectRow.class, "p.owner.id = :ownerId",
+                Map.of("ownerId", user.id()), params).map(this::withTechs);
+    }
+
+    /**
+     * Buscar proyectos (público)
+     *
+     * El índice devuelve los IDs ya ordenados por relevancia; solo se
+     * cargan de la BD los proyectos de la página pedida.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectSearchResultDTO searchProjects(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        ProjectSearchIndex.SearchHits hits = projectSearchIndex.search(query, pageNumber, pageSize);
 
-        return projects.stream()
-                .map(this::convertToDTO)
+        Map<Long, ProjectDTO> byId = loadByIds(hits.projectIds());
+        List<ProjectDTO> items = hits.projectIds().stream()
+                .map(byId::get)
+                .filter(p -> p != null)
                 .collect(Collectors.toList());
+
+        return ProjectSearchResultDTO.builder()
+                .items(items)
+                .total(hits.total())
+                .page(pageNumber)
+                .size(pageSize)
+                .build();
     }
 
     /**
-     * Obtener TODOS los proyectos (público)
+     * Conteos por tecnología y tipo (público)
+     *
+     * Se resuelven en memoria con bitmaps, sin consultar la BD.
      */
     @Override
-    public List<ProjectDTO> getAllProjects() {
-        List<Project> projects = projectRepository.findAll();
+    public ProjectFacetsDTO getFacets(List<String> selectedTechs, int limit) {
+        return projectFacetIndex.facets(selectedTechs, Math.max(1, Math.min(limit, MAX_FACETS)));
+    }
+
+    /**
+     * Proyectos similares (público)
+     *
+     * Los candidatos salen de los buckets LSH del índice en memoria; solo
+     * se cargan de la BD los proyectos recomendados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SimilarProjectDTO> getSimilarProjects(Long projectId, int limit) {
+        if (!projectSimilarityIndex.contains(projectId)) {
+            throw new RuntimeException("Project not found");
+        }
+        List<ProjectSimilarityIndex.Match> matches = projectSimilarityIndex.similar(projectId,
+                Math.max(1, Math.min(limit, MAX_SIMILAR)));
 
-        return projects.stream()
-                .map(this::convertToDTO)
+        Map<Long, ProjectDTO> byId = loadByIds(matches.stream().map(ProjectSimilarityIndex.Match::projectId).toList());
+        return matches.stream()
+                .filter(match -> byId.containsKey(match.projectId()))
+                .map(match -> SimilarProjectDTO.builder()
+                        .project(byId.get(match.projectId()))
+                        .similarity(match.similarity())
+                        .build())
                 .collect(Collectors.toList());
     }
 
@@ -208,7 +378,7 @@ public class ProjectServiceImpl implements ProjectService {
                 .name(project.getName())
                 .description(project.getDescription())
                 .type(project.getType())
-                .techs(project.getTechs())
+                .techs(project.getTechs() != null ? List.copyOf(project.getTechs()) : List.of())
                 .imageUrl(project.getImageUrl())
                 .repoUrl(project.getRepoUrl())
                 .deployUrl(project.getDeployUrl())
@@ -217,6 +387,42 @@ public class ProjectServiceImpl implements ProjectService {
                 .ownerEmail(project.getOwner().getEmail())
                 .createdAt(project.getCreatedAt())
                 .updatedAt(project.getUpdatedAt())
+                .version(project.getVersion())
                 .build();
     }
+
+    private List<ProjectDTO> loadByOwner(Long ownerId) {
+        return withTechs(projectRepository.findRowsByOwnerId(ownerId),
+                projectRepository.findTechPairsByOwnerId(ownerId));
+    }
+
+    private Map<Long, ProjectDTO> loadByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return withTechs(projectRepository.findRowsByIdIn(ids)).stream()
+                .collect(Collectors.toMap(ProjectDTO::getId, Function.identity()));
+    }
+
+    // Techs de todas las filas en una sola consulta
+    private List<ProjectDTO> withTechs(List<ProjectRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return withTechs(rows, projectRepository.findTechPairsByProjectIds(rows.stream().map(ProjectRow::id).toList()));
+    }
+
+    /**
+     * Une filas y pares (id de proyecto, tecnología) ya ordenados por posición.
+     * Listas inmutables: se comparten desde la caché entre peticiones.
+     */
+    private static List<ProjectDTO> withTechs(List<ProjectRow> rows, List<Object[]> techPairs) {
+        Map<Long, List<String>> techs = new HashMap<>();
+        for (Object[] pair : techPairs) {
+            techs.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        return rows.stream()
+                .map(row -> row.toDTO(List.copyOf(techs.getOrDefault(row.id(), List.of()))))
+                .toList();
+    }
 }
@@ -1,14 +1,27 @@
 package com.portfolio.backend.schedules.controllers;
 
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.schedules.dto.ScheduleChangeFeedDTO;
 import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import com.portfolio.backend.schedules.dto.ScheduleUtilizationDTO;
+import com.portfolio.backend.schedules.holds.ScheduleHoldDTO;
 import com.portfolio.backend.schedules.services.ScheduleService;
+import com.portfolio.backend.schedules.services.ScheduleUtilizationService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/schedules")
@@ -18,6 +31,7 @@ import java.util.List;
 public class ScheduleController {
 
     private final ScheduleService scheduleService;
+    private final ScheduleUtilizationService scheduleUtilizationService;
 
     @PostMapping
     public ResponseEntity<ScheduleDTO> createSchedule(@RequestBody ScheduleDTO dto) {
@@ -25,19 +39,101 @@ public class ScheduleController {
         return ResponseEntity.status(HttpStatus.CREATED).body(scheduleService.createSchedule(dto));
     }
 
+    // Full list unless ?limit= or ?cursor= asks for keyset pages
     @GetMapping
-    public ResponseEntity<List<ScheduleDTO>> getAllSchedules() {
+    public ResponseEntity<List<ScheduleDTO>> getAllSchedules(KeysetParams page) {
+        if (page.isRequested()) {
+            return scheduleService.getAllSchedules(page).toResponse();
+        }
         return ResponseEntity.ok(scheduleService.getAllSchedules());
     }
 
     @GetMapping("/programmer/{programmerId}")
-    public ResponseEntity<List<ScheduleDTO>> getByProgrammer(@PathVariable Long programmerId) {
+    public ResponseEntity<List<ScheduleDTO>> getByProgrammer(@PathVariable Long programmerId, KeysetParams page) {
+        if (page.isRequested()) {
+            return scheduleService.getSchedulesByProgrammer(programmerId, page).toResponse();
+        }
         return ResponseEntity.ok(scheduleService.getSchedulesByProgrammer(programmerId));
     }
 
+    // iCalendar feed for calendar apps, addressed by its owner's secret token;
+    // unchanged calendars answer 304
+    @GetMapping("/calendar/{token}.ics")
+    public void getCalendar(@PathVariable String token, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Long programmerId = scheduleService.getCalendarOwner(token);
+        String etag = scheduleService.getCalendarEtag(programmerId);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        response.setContentType("text/calendar; charset=UTF-8");
+        scheduleService.writeCalendar(programmerId, response.getWriter());
+    }
+
+    // Feed URL of the logged-in user; POST issues a new one and revokes the old
+    @GetMapping("/calendar/token")
+    public ResponseEntity<Map<String, String>> getCalendarToken(Authentication authentication) {
+        return ResponseEntity.ok(calendarLink(scheduleService.getCalendarToken(authentication.getName())));
+    }
+
+    @PostMapping("/calendar/token")
+    public ResponseEntity<Map<String, String>> rotateCalendarToken(Authentication authentication) {
+        return ResponseEntity.ok(calendarLink(scheduleService.rotateCalendarToken(authentication.getName())));
+    }
+
+    @GetMapping("/next-available")
+    public ResponseEntity<List<ScheduleDTO>> getNextAvailable(@RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String modality) {
+        return ResponseEntity.ok(scheduleService.getNextAvailable(limit, modality));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ScheduleChangeFeedDTO> getChanges(@RequestParam(required = false) Long since,
+            @RequestParam(required = false) Long programmerId,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(scheduleService.getChanges(since, programmerId, limit));
+    }
+
+    // Take the cursor before downloading the full list, then sync from it
+    @GetMapping("/changes/cursor")
+    public ResponseEntity<Map<String, Long>> getChangeCursor() {
+        return ResponseEntity.ok(Map.of("cursor", scheduleService.getLatestChangeCursor()));
+    }
+
+    @GetMapping("/utilization")
+    public ResponseEntity<List<ScheduleUtilizationDTO>> getUtilization(
+            @RequestParam(required = false) Long programmerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(scheduleUtilizationService.getUtilization(programmerId, from, to));
+    }
+
+    @PostMapping("/utilization/rebuild")
+    public ResponseEntity<Map<String, Long>> rebuildUtilization() {
+        return ResponseEntity.ok(Map.of("weeks", (long) scheduleUtilizationService.rebuild()));
+    }
+
+    @PostMapping("/{id}/holds")
+    public ResponseEntity<ScheduleHoldDTO> holdSchedule(@PathVariable Long id,
+            @RequestParam(required = false) Integer minutes, Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(scheduleService.holdSchedule(id, minutes, authentication.getName()));
+    }
+
+    @DeleteMapping("/{id}/holds/{token}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id, @PathVariable String token,
+            Authentication authentication) {
+        scheduleService.releaseHold(id, token, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSchedule(@PathVariable Long id) {
         scheduleService.deleteSchedule(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static Map<String, String> calendarLink(String token) {
+        return Map.of("token", token, "url", "/api/schedules/calendar/" + token + ".ics");
+    }
 }
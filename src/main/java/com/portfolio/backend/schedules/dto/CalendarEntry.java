@@ -0,0 +1,19 @@
+package com.portfolio.backend.schedules.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * One event of the .ics feed, read with a JPQL projection so streaming the
+ * feed loads no entities.
+ */
+public record CalendarEntry(
+        Long id,
+        LocalDate date,
+        LocalTime start,
+        LocalTime end,
+        String modality,
+        String description,
+        LocalDateTime updatedAt) {
+}
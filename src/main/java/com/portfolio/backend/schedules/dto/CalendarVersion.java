@@ -0,0 +1,13 @@
+package com.portfolio.backend.schedules.dto;
+
+/**
+ * Position of one programmer in the schedule change log. {@code pendingId}
+ * is the newest change that has committed but not been sequenced yet (0 if
+ * none), so a change shows up in the tag before the sequencer numbers it.
+ */
+public record CalendarVersion(Long sequence, Long pendingId) {
+
+    public String tag() {
+        return sequence + "." + pendingId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.portfolio.backend.schedules.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleChangeFeedDTO {
+    private List<ScheduleChangeDTO> changes;
+    private Long cursor; // Pass as ?since= on the next call
+    private boolean hasMore;
+}
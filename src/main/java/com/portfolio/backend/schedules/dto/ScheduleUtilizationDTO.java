@@ -0,0 +1,24 @@
+package com.portfolio.backend.schedules.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleUtilizationDTO {
+    private Long programmerId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate weekStart;
+
+    private long availableSlots;
+    private long bookedSlots;
+    private double utilization; // booked / (booked + available), 0 when there are no slots
+}
@@ -1,6 +1,7 @@
 package com.portfolio.backend.schedules.entity;
 
 import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
 import com.portfolio.backend.users.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
@@ -10,7 +11,12 @@ import java.time.LocalTime;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+        @Index(name = "idx_schedules_status_date", columnList = "status, date, time"),
+        @Index(name = "idx_schedules_programmer_date", columnList = "programmer_id, date"),
+        @Index(name = "idx_schedules_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_schedules_programmer_created_id", columnList = "programmer_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,8 +37,9 @@ public class Schedule {
     @Column(nullable = false)
     private LocalTime time;
 
+    @Enumerated(EnumType.STRING)
     @Column(nullable = false)
-    private String status; // "AVAILABLE", "BOOKED"
+    private ScheduleStatus status;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -52,11 +59,15 @@ public class Schedule {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
         if (status == null)
-            status = "AVAILABLE";
+            status = ScheduleStatus.AVAILABLE;
         if (dayOfWeek == null && date != null)
             dayOfWeek = date.getDayOfWeek().name();
         if (startTime == null && time != null)
@@ -64,4 +75,9 @@ public class Schedule {
         if (endTime == null && time != null)
             endTime = time.plusHours(1);
     }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,61 @@
+package com.portfolio.backend.schedules.entity;
+
+import com.portfolio.backend.schedules.events.ScheduleChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Append-only log of schedule mutations. The commit sequence, assigned by
+ * ScheduleChangeSequencer once the row has committed, is the cursor clients
+ * sync from.
+ */
+@Entity
+@Table(name = "schedule_changes", indexes = {
+        @Index(name = "idx_schedule_changes_sequence", columnList = "commit_sequence"),
+        @Index(name = "idx_schedule_changes_programmer", columnList = "programmer_id, commit_sequence")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private ScheduleChangeType changeType;
+
+    @Column(name = "schedule_id", nullable = false)
+    private Long scheduleId;
+
+    @Column(name = "programmer_id", nullable = false)
+    private Long programmerId;
+
+    private LocalDate date;
+    private LocalTime time;
+
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    private String status;
+    private String modality;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Null until the sequencer sees the row committed
+    @Column(name = "commit_sequence", unique = true)
+    private Long commitSequence;
+
+    @PrePersist
+    protected void onCreate() {
+        changedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,38 @@
+package com.portfolio.backend.schedules.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Weekly booked/available slot counters per programmer, maintained
+ * incrementally from schedule changes.
+ */
+@Entity
+@Table(name = "schedule_utilization", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_schedule_utilization_week", columnNames = { "programmer_id", "week_start" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleUtilization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "programmer_id", nullable = false)
+    private Long programmerId;
+
+    // Monday of the ISO week
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "available_slots", nullable = false)
+    private long availableSlots;
+
+    @Column(name = "booked_slots", nullable = false)
+    private long bookedSlots;
+}
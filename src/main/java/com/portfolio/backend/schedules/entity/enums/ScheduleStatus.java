@@ -0,0 +1,6 @@
+package com.portfolio.backend.schedules.entity.enums;
+
+public enum ScheduleStatus {
+    AVAILABLE,
+    BOOKED
+}
@@ -0,0 +1,40 @@
+package com.portfolio.backend.schedules.events;
+
+import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import com.portfolio.backend.schedules.entity.ScheduleChange;
+import com.portfolio.backend.schedules.repository.ScheduleChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every schedule mutation to the change log. Runs synchronously inside
+ * the publishing transaction, so a change row exists if and only if the
+ * mutation committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleChangeRecorder {
+
+    private final ScheduleChangeRepository scheduleChangeRepository;
+
+    @EventListener
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        ScheduleDTO schedule = event.schedule();
+        scheduleChangeRepository.save(ScheduleChange.builder()
+                .changeType(event.type())
+                .scheduleId(schedule.getId())
+                .programmerId(schedule.getProgrammerId())
+                .date(schedule.getDate())
+                .time(schedule.getTime())
+                .endTime(schedule.getEndTime())
+                .status(schedule.getStatus())
+                .modality(schedule.getModality())
+                .build());
+    }
+
+    @EventListener
+    public void onSchedulesDeleted(SchedulesDeletedEvent event) {
+        scheduleChangeRepository.recordDeleted(event.scheduleIds());
+    }
+}
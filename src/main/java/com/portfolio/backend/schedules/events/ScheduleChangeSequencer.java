@@ -0,0 +1,42 @@
+package com.portfolio.backend.schedules.events;
+
+import com.portfolio.backend.schedules.repository.ScheduleChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Numbers change-log rows in commit order.
+ *
+ * Ids are taken at insert, so a long transaction can commit a lower id after
+ * a client has already synced past it. This sequencer only ever sees rows
+ * that have committed and numbers them above everything numbered before, so
+ * a cursor never jumps over a change that shows up later. Like the holds, it
+ * assumes a single application instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleChangeSequencer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ScheduleChangeRepository scheduleChangeRepository;
+
+    @Scheduled(fixedDelayString = "${schedules.changes.sequence-interval-ms:200}")
+    @Transactional
+    public int assignSequences() {
+        List<Long> ids = scheduleChangeRepository.findUnsequencedIds(PageRequest.ofSize(BATCH_SIZE));
+        long sequence = scheduleChangeRepository.findLatestSequence();
+        for (Long id : ids) {
+            // Never below the id: cursors handed out when the id was the
+            // sequence can skip nothing, at worst replay a few changes
+            sequence = Math.max(sequence + 1, id);
+            scheduleChangeRepository.assignSequence(id, sequence);
+        }
+        return ids.size();
+    }
+}
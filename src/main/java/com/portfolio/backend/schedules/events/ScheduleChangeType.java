@@ -0,0 +1,12 @@
+package com.portfolio.backend.schedules.events;
+
+public enum ScheduleChangeType {
+    CREATED,
+    BOOKED,
+    FREED,
+    DELETED,
+    // Booked slot whose advisory was accepted or completed
+    CONFIRMED,
+    // Past unbooked slot removed by the expiry sweeper
+    EXPIRED
+}
@@ -0,0 +1,29 @@
+package com.portfolio.backend.schedules.events;
+
+import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import com.portfolio.backend.schedules.entity.Schedule;
+
+/**
+ * Published inside the transaction of every schedule mutation.
+ * Carries a snapshot of the slot so listeners never touch the entity after
+ * commit.
+ */
+public record ScheduleChangedEvent(ScheduleChangeType type, ScheduleDTO schedule) {
+
+    public static ScheduleChangedEvent of(ScheduleChangeType type, Schedule schedule) {
+        return new ScheduleChangedEvent(type, snapshot(schedule));
+    }
+
+    public static ScheduleDTO snapshot(Schedule schedule) {
+        return ScheduleDTO.builder()
+                .id(schedule.getId())
+                .programmerId(schedule.getProgrammer().getId())
+                .programmerName(schedule.getProgrammer().getName())
+                .date(schedule.getDate())
+                .time(schedule.getTime())
+                .endTime(schedule.getEndTime())
+                .status(schedule.getStatus().name())
+                .modality(schedule.getModality().name())
+                .build();
+    }
+}
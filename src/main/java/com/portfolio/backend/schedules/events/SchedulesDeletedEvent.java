@@ -0,0 +1,13 @@
+package com.portfolio.backend.schedules.events;
+
+import java.util.List;
+
+/**
+ * Published when a batch of slots is removed with a bulk delete (user
+ * deletion), instead of one {@link ScheduleChangedEvent} per slot.
+ *
+ * Sent inside the deleting transaction before the rows are gone, so
+ * synchronous listeners can still read them.
+ */
+public record SchedulesDeletedEvent(Long programmerId, List<Long> scheduleIds) {
+}
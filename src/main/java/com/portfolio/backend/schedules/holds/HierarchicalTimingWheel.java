@@ -0,0 +1,152 @@
+package com.portfolio.backend.schedules.holds;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: scheduling, cancelling and expiring a timeout
+ * are O(1), independent of how many timeouts are pending.
+ *
+ * Level {@code i} has {@code wheelSize} buckets of {@code wheelSize^i} ticks
+ * each. Timeouts far in the future sit in a coarse level and cascade down
+ * when the wheel reaches their bucket. The wheel does not own a thread, the
+ * caller drives it through {@link #advanceTo(long)}.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final int wheelSize;
+    private final long[] intervals;
+    private final List<List<Set<Timeout<T>>>> levels = new ArrayList<>();
+    private final Consumer<T> onExpire;
+    private long currentTick;
+    private int pending;
+
+    public static final class Timeout<T> {
+        private final T item;
+        private final long expirationTick;
+        private Set<Timeout<T>> bucket;
+
+        private Timeout(T item, long expirationTick) {
+            this.item = item;
+            this.expirationTick = expirationTick;
+        }
+
+        public T item() {
+            return item;
+        }
+    }
+
+    public HierarchicalTimingWheel(int wheelSize, int levelCount, long startTick, Consumer<T> onExpire) {
+        this.wheelSize = wheelSize;
+        this.intervals = new long[levelCount];
+        this.onExpire = onExpire;
+        this.currentTick = startTick;
+        long interval = 1;
+        for (int i = 0; i < levelCount; i++) {
+            intervals[i] = interval;
+            interval *= wheelSize;
+            List<Set<Timeout<T>>> buckets = new ArrayList<>(wheelSize);
+            for (int b = 0; b < wheelSize; b++) {
+                buckets.add(new HashSet<>());
+            }
+            levels.add(buckets);
+        }
+    }
+
+    /**
+     * Largest delay, in ticks, the wheel can hold.
+     */
+    public long maxDelayTicks() {
+        return intervals[intervals.length - 1] * (wheelSize - 1);
+    }
+
+    public synchronized long currentTick() {
+        return currentTick;
+    }
+
+    public synchronized Timeout<T> schedule(T item, long delayTicks) {
+        if (delayTicks < 1 || delayTicks > maxDelayTicks()) {
+            throw new IllegalArgumentException("Delay out of range: " + delayTicks + " ticks");
+        }
+        Timeout<T> timeout = new Timeout<>(item, currentTick + delayTicks);
+        place(timeout);
+        pending++;
+        return timeout;
+    }
+
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        boolean removed = timeout.bucket.remove(timeout);
+        timeout.bucket = null;
+        if (removed) {
+            pending--;
+        }
+        return removed;
+    }
+
+    /**
+     * Timeouts scheduled and neither expired nor cancelled yet.
+     */
+    public synchronized int pending() {
+        return pending;
+    }
+
+    /**
+     * Moves the wheel forward tick by tick until {@code tick}, firing every
+     * timeout that expires on the way. Callbacks run outside the lock.
+     */
+    public void advanceTo(long tick) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            while (currentTick < tick) {
+                currentTick++;
+                for (int i = intervals.length - 1; i > 0; i--) {
+                    if (currentTick % intervals[i] == 0) {
+                        Set<Timeout<T>> bucket = bucketAt(i, currentTick);
+                        List<Timeout<T>> cascading = new ArrayList<>(bucket);
+                        bucket.clear();
+                        for (Timeout<T> timeout : cascading) {
+                            if (timeout.expirationTick <= currentTick) {
+                                timeout.bucket = null;
+                                pending--;
+                                expired.add(timeout.item);
+                            } else {
+                                place(timeout);
+                            }
+                        }
+                    }
+                }
+                Set<Timeout<T>> due = bucketAt(0, currentTick);
+                for (Timeout<T> timeout : due) {
+                    timeout.bucket = null;
+                    pending--;
+                    expired.add(timeout.item);
+                }
+                due.clear();
+            }
+        }
+        expired.forEach(onExpire);
+    }
+
+    private void place(Timeout<T> timeout) {
+        for (int i = 0; i < intervals.length; i++) {
+            long distance = timeout.expirationTick / intervals[i] - currentTick / intervals[i];
+            if (distance < wheelSize) {
+                Set<Timeout<T>> bucket = bucketAt(i, timeout.expirationTick);
+                bucket.add(timeout);
+                timeout.bucket = bucket;
+                return;
+            }
+        }
+        throw new IllegalStateException("Timeout beyond wheel range");
+    }
+
+    private Set<Timeout<T>> bucketAt(int level, long tick) {
+        return levels.get(level).get((int) ((tick / intervals[level]) % wheelSize));
+    }
+}
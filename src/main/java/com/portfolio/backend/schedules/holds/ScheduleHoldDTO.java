@@ -0,0 +1,18 @@
+package com.portfolio.backend.schedules.holds;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleHoldDTO {
+    private Long scheduleId;
+    private String holdToken; // Must be sent back as AdvisoryDTO.holdToken when booking
+    private Instant expiresAt;
+}
@@ -0,0 +1,200 @@
+package com.portfolio.backend.schedules.holds;
+
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived reservations of a slot while the user fills the booking form.
+ *
+ * Holds live only in memory and expire through a {@link HierarchicalTimingWheel}
+ * ticking once per second, so no database polling is involved. They are not
+ * persisted: after a restart every hold is dropped and the slot is simply
+ * AVAILABLE again, which is safe because booking still goes through the
+ * conditional update on the schedule row.
+ *
+ * A hold belongs to the user who took it: only that user can release it or
+ * book with its token. Taking, releasing and booking all run under the
+ * slot's entry in the holds map, so a hold cannot slip in between the hold
+ * check and the booking.
+ */
+@Service
+public class ScheduleHoldService {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final ScheduleRepository scheduleRepository;
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<Hold> wheel;
+    private final ScheduledExecutorService ticker;
+    private Clock clock = Clock.systemUTC();
+
+    @Value("${schedules.holds.default-minutes:5}")
+    private int defaultMinutes;
+
+    @Value("${schedules.holds.max-minutes:15}")
+    private int maxMinutes;
+
+    private static final class Hold {
+        private final Long scheduleId;
+        private final Long holderId;
+        private final String token;
+        private final Instant expiresAt;
+        // Set inside holds.compute, before the hold is visible to release()
+        private HierarchicalTimingWheel.Timeout<Hold> timeout;
+
+        private Hold(Long scheduleId, Long holderId, String token, Instant expiresAt) {
+            this.scheduleId = scheduleId;
+            this.holderId = holderId;
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isOwnedBy(String token, Long userId) {
+            return this.token.equals(token) && holderId.equals(userId);
+        }
+    }
+
+    public ScheduleHoldService(ScheduleRepository scheduleRepository, MeterRegistry meterRegistry) {
+        this.scheduleRepository = scheduleRepository;
+        // 60 buckets x 3 levels at 1s per tick covers up to ~59 hours
+        this.wheel = new HierarchicalTimingWheel<>(60, 3, tickAt(clock.instant()),
+                hold -> holds.remove(hold.scheduleId, hold));
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "schedule-hold-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::expireDue, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        Gauge.builder("schedules.holds.active", holds, Map::size)
+                .description("Slot holds currently active")
+                .register(meterRegistry);
+        Gauge.builder("schedules.holds.timeouts_pending", wheel, HierarchicalTimingWheel::pending)
+                .description("Hold expirations still scheduled on the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param holderId User taking the hold
+     */
+    public ScheduleHoldDTO hold(Long scheduleId, Integer minutes, Long holderId) {
+        int duration = minutes != null ? minutes : defaultMinutes;
+        if (duration < 1 || duration > maxMinutes) {
+            throw new RuntimeException("Hold duration must be between 1 and " + maxMinutes + " minutes");
+        }
+
+        Schedule schedule = scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new RuntimeException("Schedule not found with ID: " + scheduleId));
+        if (schedule.getStatus() != ScheduleStatus.AVAILABLE) {
+            throw new RuntimeException("Schedule is already booked!");
+        }
+
+        Hold hold = holds.compute(scheduleId, (id, current) -> {
+            // Read under the entry, so the new hold never starts before the
+            // one it replaces has expired
+            Instant now = clock.instant();
+            if (current != null) {
+                if (current.expiresAt.isAfter(now)) {
+                    throw new RuntimeException("Schedule is already on hold");
+                }
+                // Expired but its tick has not come yet
+                wheel.cancel(current.timeout);
+            }
+            Hold created = new Hold(scheduleId, holderId, UUID.randomUUID().toString(),
+                    now.plusSeconds(duration * 60L));
+            // Fires on the first tick at or after expiresAt, however far the
+            // wheel lags behind the clock
+            long expiryTick = Math.ceilDiv(created.expiresAt.toEpochMilli(), TICK_MILLIS);
+            created.timeout = wheel.schedule(created, Math.max(1, expiryTick - wheel.currentTick()));
+            return created;
+        });
+
+        return ScheduleHoldDTO.builder()
+                .scheduleId(scheduleId)
+                .holdToken(hold.token)
+                .expiresAt(hold.expiresAt)
+                .build();
+    }
+
+    /**
+     * Drops the hold if {@code userId} took it with {@code token}; otherwise
+     * nothing happens.
+     */
+    public void release(Long scheduleId, String token, Long userId) {
+        holds.computeIfPresent(scheduleId, (id, current) -> {
+            if (!current.isOwnedBy(token, userId)) {
+                return current;
+            }
+            wheel.cancel(current.timeout);
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code booking} (the conditional update of the slot) while no hold
+     * can be taken or released on it. A successful booking consumes the
+     * booker's own hold, or an expired one still waiting for its tick.
+     *
+     * @param token  Hold token of the booker; may be null if it held nothing
+     * @param userId User booking the slot
+     * @return What {@code booking} returned
+     * @throws RuntimeException if another user has a live hold on the slot
+     */
+    public boolean book(Long scheduleId, String token, Long userId, BooleanSupplier booking) {
+        boolean[] booked = { false };
+        holds.compute(scheduleId, (id, current) -> {
+            if (current != null && current.expiresAt.isAfter(clock.instant())
+                    && !current.isOwnedBy(token, userId)) {
+                throw new RuntimeException("Schedule is on hold by another user");
+            }
+            booked[0] = booking.getAsBoolean();
+            if (booked[0] && current != null) {
+                wheel.cancel(current.timeout);
+                return null;
+            }
+            return current;
+        });
+        return booked[0];
+    }
+
+    public Set<Long> heldScheduleIds() {
+        Instant now = clock.instant();
+        return holds.values().stream()
+                .filter(h -> h.expiresAt.isAfter(now))
+                .map(h -> h.scheduleId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Expires every hold whose tick has come. Runs on the ticker thread.
+     */
+    void expireDue() {
+        wheel.advanceTo(tickAt(clock.instant()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private static long tickAt(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), TICK_MILLIS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.portfolio.backend.schedules.maintenance;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates a partial index over AVAILABLE slots on databases that support it.
+ *
+ * JPA cannot declare filtered indexes, so on PostgreSQL it is created here.
+ * Other databases (H2 in dev) rely on the composite status index declared on
+ * the entity.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailableSlotsPartialIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIfSupported() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_schedules_available_start "
+                + "ON schedules (date, time) WHERE status = 'AVAILABLE'");
+        log.info("Partial index idx_schedules_available_start is in place");
+    }
+}
@@ -0,0 +1,89 @@
+package com.portfolio.backend.schedules.maintenance;
+
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.events.ScheduleChangeType;
+import com.portfolio.backend.schedules.events.ScheduleChangedEvent;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background compaction of past AVAILABLE slots, including the ones that
+ * already ended earlier today.
+ *
+ * Slots are removed in bounded batches, each in its own short transaction,
+ * so the job never holds locks over the whole table. Slots still referenced
+ * by an advisory are kept.
+ */
+@Slf4j
+@Component
+public class ExpiredScheduleSweeper {
+
+    private final ScheduleRepository scheduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purged;
+    private final Timer duration;
+
+    @Value("${schedules.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${schedules.sweeper.max-batches:20}")
+    private int maxBatches;
+
+    public ExpiredScheduleSweeper(ScheduleRepository scheduleRepository, ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.scheduleRepository = scheduleRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.purged = Counter.builder("schedules.sweeper.purged")
+                .description("Past unbooked slots removed by the sweeper")
+                .register(meterRegistry);
+        this.duration = Timer.builder("schedules.sweeper.duration")
+                .description("Time spent per sweeper run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${schedules.sweeper.interval-ms:900000}", initialDelayString = "${schedules.sweeper.initial-delay-ms:60000}")
+    public void sweep() {
+        int total = duration.record(() -> purgeExpired(LocalDateTime.now()));
+        if (total > 0) {
+            log.info("Schedule sweeper removed {} expired slots", total);
+        }
+    }
+
+    int purgeExpired(LocalDateTime now) {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            Integer removed = transactionTemplate.execute(status -> purgeBatch(now));
+            total += removed;
+            if (removed < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int purgeBatch(LocalDateTime now) {
+        List<Schedule> expired = scheduleRepository.findExpired(now.toLocalDate(), now.toLocalTime(),
+                PageRequest.ofSize(batchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        expired.forEach(s -> eventPublisher.publishEvent(ScheduleChangedEvent.of(ScheduleChangeType.EXPIRED, s)));
+        scheduleRepository.deleteAllInBatch(expired);
+        purged.increment(expired.size());
+        return expired.size();
+    }
+}
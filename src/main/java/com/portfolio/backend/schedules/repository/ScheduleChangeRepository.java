@@ -0,0 +1,50 @@
+package com.portfolio.backend.schedules.repository;
+
+import com.portfolio.backend.schedules.dto.CalendarVersion;
+import com.portfolio.backend.schedules.entity.ScheduleChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ScheduleChangeRepository extends JpaRepository<ScheduleChange, Long> {
+
+    @Query("SELECT c FROM ScheduleChange c WHERE c.commitSequence > :since ORDER BY c.commitSequence")
+    List<ScheduleChange> findSince(@Param("since") Long since, Pageable pageable);
+
+    @Query("SELECT c FROM ScheduleChange c WHERE c.programmerId = :programmerId AND c.commitSequence > :since "
+            + "ORDER BY c.commitSequence")
+    List<ScheduleChange> findSinceForProgrammer(@Param("programmerId") Long programmerId, @Param("since") Long since,
+            Pageable pageable);
+
+    @Query("SELECT c.id FROM ScheduleChange c WHERE c.commitSequence IS NULL ORDER BY c.id")
+    List<Long> findUnsequencedIds(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ScheduleChange c SET c.commitSequence = :sequence WHERE c.id = :id AND c.commitSequence IS NULL")
+    int assignSequence(@Param("id") Long id, @Param("sequence") Long sequence);
+
+    /**
+     * One DELETED entry per slot, copied from the schedules table in a
+     * single statement; must run before the slots are deleted
+     */
+    @Modifying
+    @Query("INSERT INTO ScheduleChange (changeType, scheduleId, programmerId, date, time, endTime, status, "
+            + "modality, changedAt) SELECT com.portfolio.backend.schedules.events.ScheduleChangeType.DELETED, "
+            + "s.id, s.programmer.id, s.date, s.time, s.endTime, str(s.status), str(s.modality), LOCAL DATETIME "
+            + "FROM Schedule s WHERE s.id IN :ids")
+    int recordDeleted(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(c.commitSequence), 0) FROM ScheduleChange c")
+    Long findLatestSequence();
+
+    // Calendar ETag: every change to a programmer's feed rows lands here
+    @Query("SELECT new com.portfolio.backend.schedules.dto.CalendarVersion(COALESCE(MAX(c.commitSequence), 0), "
+            + "COALESCE(MAX(CASE WHEN c.commitSequence IS NULL THEN c.id END), 0)) "
+            + "FROM ScheduleChange c WHERE c.programmerId = :programmerId")
+    CalendarVersion findCalendarVersion(@Param("programmerId") Long programmerId);
+}
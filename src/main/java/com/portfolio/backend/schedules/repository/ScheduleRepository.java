@@ -1,14 +1,97 @@
 package com.portfolio.backend.schedules.repository;
 
+import com.portfolio.backend.schedules.dto.CalendarEntry;
+import com.portfolio.backend.schedules.dto.ScheduleDTO;
 import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+
+    // Slot + programmer name in one row, for the list endpoints
+    String DTO_SELECT = "SELECT new com.portfolio.backend.schedules.dto.ScheduleDTO(s.id, p.id, p.name, s.date, "
+            + "s.time, s.endTime, str(s.status), str(s.modality)) FROM Schedule s JOIN s.programmer p";
+
     List<Schedule> findByProgrammerId(Long programmerId);
 
-    List<Schedule> findByStatus(String status);
+    @Query(DTO_SELECT + " WHERE s.id IN :ids ORDER BY s.id")
+    List<ScheduleDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<Schedule> findByStatus(ScheduleStatus status);
+
+    @Query(DTO_SELECT + " ORDER BY s.id")
+    List<ScheduleDTO> findAllDTOs();
+
+    @Query(DTO_SELECT + " WHERE p.id = :programmerId AND s.status = :status ORDER BY s.id")
+    List<ScheduleDTO> findDTOsByProgrammerIdAndStatus(@Param("programmerId") Long programmerId,
+            @Param("status") ScheduleStatus status);
 
     List<Schedule> findByProgrammerIdAndDateAndTime(Long programmerId, java.time.LocalDate date,
             java.time.LocalTime time);
+
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.programmer "
+            + "WHERE s.status = com.portfolio.backend.schedules.entity.enums.ScheduleStatus.AVAILABLE "
+            + "AND s.date >= :from")
+    List<Schedule> findAvailableFrom(@Param("from") LocalDate from);
+
+    @Query("SELECT s.id FROM Schedule s WHERE s.id IN :ids "
+            + "AND s.status = com.portfolio.backend.schedules.entity.enums.ScheduleStatus.AVAILABLE")
+    List<Long> findAvailableIds(@Param("ids") Collection<Long> ids);
+
+    // Compare-and-set: only one concurrent booking can flip the slot
+    @Modifying
+    @Query("UPDATE Schedule s SET s.status = com.portfolio.backend.schedules.entity.enums.ScheduleStatus.BOOKED, "
+            + "s.updatedAt = LOCAL DATETIME WHERE s.id = :id AND s.status = com.portfolio.backend.schedules.entity.enums.ScheduleStatus.AVAILABLE")
+    int markBookedIfAvailable(@Param("id") Long id);
+
+    // Frees a booked slot unless an advisory other than the one giving it up
+    // still holds it
+    @Modifying
+    @Query("UPDATE Schedule s SET s.status = com.portfolio.backend.schedules.entity.enums.ScheduleStatus.AVAILABLE, "
+            + "s.updatedAt = LOCAL DATETIME WHERE s.id = :id AND s.status = com.portfolio.backend.schedules.entity.enums.ScheduleStatus.BOOKED "
+            + "AND NOT EXISTS (SELECT 1 FROM Advisory a WHERE a.schedule.id = s.id AND a.id <> :advisoryId "
+            + "AND a.status <> com.portfolio.backend.advisories.entity.enums.AdvisoryStatus.REJECTED)")
+    int markAvailableIfHeldOnlyBy(@Param("id") Long id, @Param("advisoryId") Long advisoryId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.portfolio.backend.schedules.dto.CalendarEntry(s.id, s.date, s.startTime, s.endTime, "
+            + "str(s.modality), s.description, s.updatedAt) FROM Schedule s WHERE s.programmer.id = :programmerId "
+            + "AND s.status = com.portfolio.backend.schedules.entity.enums.ScheduleStatus.AVAILABLE "
+            + "AND s.date >= :from ORDER BY s.date, s.time")
+    Stream<CalendarEntry> streamOpenSlots(@Param("programmerId") Long programmerId, @Param("from") LocalDate from);
+
+    // Row locks on one programmer-day only; serializes concurrent accepts for that day
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Schedule s WHERE s.programmer.id = :programmerId AND s.date = :date")
+    List<Schedule> lockProgrammerDay(@Param("programmerId") Long programmerId, @Param("date") LocalDate date);
+
+    // Rows of [programmerId, date, status, count] used to rebuild utilization rollups
+    @Query("SELECT s.programmer.id, s.date, s.status, COUNT(s) FROM Schedule s "
+            + "GROUP BY s.programmer.id, s.date, s.status")
+    List<Object[]> countByProgrammerDateAndStatus();
+
+    // Past unbooked slots that no advisory (e.g. a rejected one) still points to.
+    // Today's slots count once they have ended; one ending after midnight
+    // (endTime before time) waits for the next day
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.programmer "
+            + "WHERE s.status = com.portfolio.backend.schedules.entity.enums.ScheduleStatus.AVAILABLE "
+            + "AND (s.date < :today OR (s.date = :today AND s.endTime <= :now AND s.endTime > s.time)) "
+            + "AND NOT EXISTS (SELECT a.id FROM Advisory a WHERE a.schedule = s) "
+            + "ORDER BY s.date, s.id")
+    List<Schedule> findExpired(@Param("today") LocalDate today, @Param("now") LocalTime now, Pageable pageable);
 }
@@ -0,0 +1,35 @@
+package com.portfolio.backend.schedules.repository;
+
+import com.portfolio.backend.schedules.entity.ScheduleUtilization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ScheduleUtilizationRepository extends JpaRepository<ScheduleUtilization, Long> {
+
+    boolean existsByProgrammerIdAndWeekStart(Long programmerId, LocalDate weekStart);
+
+    @Modifying
+    @Query("UPDATE ScheduleUtilization u SET u.availableSlots = u.availableSlots + :available, "
+            + "u.bookedSlots = u.bookedSlots + :booked "
+            + "WHERE u.programmerId = :programmerId AND u.weekStart = :weekStart")
+    int increment(@Param("programmerId") Long programmerId, @Param("weekStart") LocalDate weekStart,
+            @Param("available") long available, @Param("booked") long booked);
+
+    @Modifying
+    @Query("DELETE FROM ScheduleUtilization u WHERE u.programmerId = :programmerId")
+    int deleteByProgrammerId(@Param("programmerId") Long programmerId);
+
+    @Query("SELECT u FROM ScheduleUtilization u WHERE u.weekStart BETWEEN :from AND :to "
+            + "ORDER BY u.programmerId, u.weekStart")
+    List<ScheduleUtilization> findInRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT u FROM ScheduleUtilization u WHERE u.programmerId = :programmerId "
+            + "AND u.weekStart BETWEEN :from AND :to ORDER BY u.weekStart")
+    List<ScheduleUtilization> findInRangeForProgrammer(@Param("programmerId") Long programmerId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,82 @@
+package com.portfolio.backend.schedules.services;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal RFC 5545 writer. Events are written one by one as they are read,
+ * nothing is buffered besides the current line.
+ */
+class ICalendarWriter {
+
+    private static final DateTimeFormatter LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_OCTETS = 75;
+
+    private final Writer out;
+
+    ICalendarWriter(Writer out) {
+        this.out = out;
+    }
+
+    void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//CiberPortfolio//Asesorias//ES");
+        line("CALSCALE:GREGORIAN");
+        line("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    void event(String uid, LocalDateTime stamp, LocalDate date, LocalTime start, LocalTime end, String summary,
+            String description) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        // DTSTAMP must be UTC; the entities store server-local time
+        LocalDateTime local = stamp != null ? stamp : date.atTime(start);
+        line("DTSTAMP:" + UTC.format(local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC)));
+        line("DTSTART:" + LOCAL.format(date.atTime(start)));
+        line("DTEND:" + LOCAL.format(date.atTime(end)));
+        line("SUMMARY:" + escape(summary));
+        if (description != null && !description.isBlank()) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        line("END:VEVENT");
+    }
+
+    void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    // Lines longer than 75 octets are folded with CRLF + space as the spec requires
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            int size = Character.isHighSurrogate(c) ? 4
+                    : Character.isLowSurrogate(c) ? 0
+                    : c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+            if (octets + size > MAX_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(c);
+            octets += size;
+        }
+        out.write("\r\n");
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+}
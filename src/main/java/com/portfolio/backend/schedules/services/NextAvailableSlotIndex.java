@@ -0,0 +1,124 @@
+package com.portfolio.backend.schedules.services;
+
+import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.events.ScheduleChangeType;
+import com.portfolio.backend.schedules.events.ScheduleChangedEvent;
+import com.portfolio.backend.schedules.events.SchedulesDeletedEvent;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory priority index of AVAILABLE slots ordered by start time.
+ *
+ * Serves "soonest available" queries without scanning the schedules table.
+ * It is rebuilt at startup and kept up to date from committed
+ * {@link ScheduleChangedEvent}s. Callers must still confirm candidates against
+ * the database, the index only narrows the search.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NextAvailableSlotIndex {
+
+    private static final Comparator<Slot> BY_START = Comparator
+            .comparing(Slot::start)
+            .thenComparing(Slot::id);
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final ConcurrentSkipListSet<Slot> slots = new ConcurrentSkipListSet<>(BY_START);
+    private final ConcurrentHashMap<Long, Slot> byId = new ConcurrentHashMap<>();
+
+    private record Slot(Long id, LocalDateTime start, ScheduleDTO schedule) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        slots.clear();
+        byId.clear();
+        List<Schedule> available = scheduleRepository.findAvailableFrom(LocalDate.now());
+        for (Schedule schedule : available) {
+            put(ScheduleChangedEvent.snapshot(schedule));
+        }
+        log.info("Next-available index rebuilt with {} slots", byId.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        ScheduleDTO schedule = event.schedule();
+        if (event.type() != ScheduleChangeType.DELETED && event.type() != ScheduleChangeType.EXPIRED
+                && ScheduleStatus.AVAILABLE.name().equals(schedule.getStatus())) {
+            put(schedule);
+        } else {
+            remove(schedule.getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSchedulesDeleted(SchedulesDeletedEvent event) {
+        event.scheduleIds().forEach(this::remove);
+    }
+
+    /**
+     * Returns up to {@code limit} future slots in start order, skipping the given
+     * ids and, when provided, slots of another modality. Past slots found on
+     * the way are dropped from the index.
+     */
+    public List<ScheduleDTO> peek(int limit, String modality, Set<Long> skip) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduleDTO> result = new ArrayList<>(limit);
+        Iterator<Slot> it = slots.iterator();
+        while (it.hasNext() && result.size() < limit) {
+            Slot slot = it.next();
+            if (slot.start().isBefore(now)) {
+                remove(slot.id());
+                continue;
+            }
+            if (skip.contains(slot.id())) {
+                continue;
+            }
+            if (modality != null && !modality.equals(slot.schedule().getModality())) {
+                continue;
+            }
+            result.add(slot.schedule());
+        }
+        return result;
+    }
+
+    public void remove(Long scheduleId) {
+        byId.computeIfPresent(scheduleId, (id, old) -> {
+            slots.remove(old);
+            return null;
+        });
+    }
+
+    private void put(ScheduleDTO schedule) {
+        Slot slot = new Slot(schedule.getId(), LocalDateTime.of(schedule.getDate(), schedule.getTime()), schedule);
+        byId.compute(schedule.getId(), (id, old) -> {
+            if (old != null) {
+                slots.remove(old);
+            }
+            slots.add(slot);
+            return slot;
+        });
+    }
+}
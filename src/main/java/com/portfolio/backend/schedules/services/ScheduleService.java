@@ -1,6 +1,12 @@
 package com.portfolio.backend.schedules.services;
 
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.schedules.dto.ScheduleChangeFeedDTO;
 import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import com.portfolio.backend.schedules.holds.ScheduleHoldDTO;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 public interface ScheduleService {
@@ -8,7 +14,31 @@ public interface ScheduleService {
 
     List<ScheduleDTO> getAllSchedules();
 
+    KeysetPage<ScheduleDTO> getAllSchedules(KeysetParams params);
+
     List<ScheduleDTO> getSchedulesByProgrammer(Long programmerId);
 
+    KeysetPage<ScheduleDTO> getSchedulesByProgrammer(Long programmerId, KeysetParams params);
+
+    List<ScheduleDTO> getNextAvailable(int limit, String modality);
+
     void deleteSchedule(Long id);
+
+    ScheduleHoldDTO holdSchedule(Long id, Integer minutes, String userEmail);
+
+    void releaseHold(Long id, String token, String userEmail);
+
+    ScheduleChangeFeedDTO getChanges(Long since, Long programmerId, int limit);
+
+    Long getLatestChangeCursor();
+
+    String getCalendarToken(String userEmail);
+
+    String rotateCalendarToken(String userEmail);
+
+    Long getCalendarOwner(String token);
+
+    String getCalendarEtag(Long programmerId);
+
+    void writeCalendar(Long programmerId, Writer writer) throws IOException;
 }
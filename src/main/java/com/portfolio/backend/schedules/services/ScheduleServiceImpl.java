@@ -1,17 +1,49 @@
 package com.portfolio.backend.schedules.services;
 
+import com.portfolio.backend.advisories.entity.enums.AdvisoryStatus;
+import com.portfolio.backend.advisories.repository.AdvisoryRepository;
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetPager;
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.schedules.dto.CalendarEntry;
+import com.portfolio.backend.schedules.dto.CalendarVersion;
+import com.portfolio.backend.schedules.dto.ScheduleChangeDTO;
+import com.portfolio.backend.schedules.dto.ScheduleChangeFeedDTO;
 import com.portfolio.backend.schedules.dto.ScheduleDTO;
 import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.ScheduleChange;
 import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.events.ScheduleChangeType;
+import com.portfolio.backend.schedules.events.ScheduleChangedEvent;
+import com.portfolio.backend.schedules.holds.ScheduleHoldDTO;
+import com.portfolio.backend.schedules.holds.ScheduleHoldService;
+import com.portfolio.backend.schedules.repository.ScheduleChangeRepository;
 import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.users.cache.UserLookup;
+import com.portfolio.backend.users.cache.UserLookupCache;
 import com.portfolio.backend.users.entity.User;
 import com.portfolio.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.security.SecureRandom;
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,7 +51,20 @@ import java.util.stream.Collectors;
 public class ScheduleServiceImpl implements ScheduleService {
 
     private final ScheduleRepository scheduleRepository;
+    private final ScheduleChangeRepository scheduleChangeRepository;
     private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final AdvisoryRepository advisoryRepository;
+    private final NextAvailableSlotIndex nextAvailableSlotIndex;
+    private final ScheduleHoldService scheduleHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPager keysetPager;
+
+    private static final int MAX_NEXT_AVAILABLE = 100;
+    // Reported instead of AVAILABLE while a booking hold is active
+    private static final String HELD = "HELD";
+    private static final int MAX_CHANGES_PAGE = 1000;
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
 
     @Override
     @Transactional
@@ -38,38 +83,229 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .time(dto.getTime())
                 .startTime(dto.getTime())
                 .endTime(endTime)
-                .status("AVAILABLE")
+                .status(ScheduleStatus.AVAILABLE)
                 .modality(dto.getModality() != null ? Modality.valueOf(dto.getModality()) : Modality.VIRTUAL)
                 .build();
 
         Schedule saved = scheduleRepository.save(schedule);
+        eventPublisher.publishEvent(ScheduleChangedEvent.of(ScheduleChangeType.CREATED, saved));
         return mapToDTO(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ScheduleDTO> getAllSchedules() {
-        return scheduleRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return scheduleRepository.findAllDTOs();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ScheduleDTO> getSchedulesByProgrammer(Long programmerId) {
-        return scheduleRepository.findByProgrammerId(programmerId).stream()
-                .filter(s -> "AVAILABLE".equals(s.getStatus()))
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return markHeld(scheduleRepository.findDTOsByProgrammerIdAndStatus(programmerId, ScheduleStatus.AVAILABLE));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ScheduleDTO> getAllSchedules(KeysetParams params) {
+        return keysetPager.page(ScheduleRepository.DTO_SELECT, "s", ScheduleDTO.class, null, Map.of(), params);
+    }
+
+    // Same rows as the list version (available slots only), filtered in the query
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ScheduleDTO> getSchedulesByProgrammer(Long programmerId, KeysetParams params) {
+        return keysetPager.page(ScheduleRepository.DTO_SELECT, "s", ScheduleDTO.class,
+                "s.programmer.id = :programmerId AND s.status = :status",
+                Map.of("programmerId", programmerId, "status", ScheduleStatus.AVAILABLE), params)
+                .map(this::markHeld);
+    }
+
+    private List<ScheduleDTO> markHeld(List<ScheduleDTO> schedules) {
+        Set<Long> held = scheduleHoldService.heldScheduleIds();
+        for (ScheduleDTO dto : schedules) {
+            if (held.contains(dto.getId())) {
+                dto.setStatus(HELD);
+            }
+        }
+        return schedules;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScheduleDTO> getNextAvailable(int limit, String modality) {
+        int wanted = Math.max(1, Math.min(limit, MAX_NEXT_AVAILABLE));
+        String modalityFilter = modality != null ? Modality.valueOf(modality.toUpperCase()).name() : null;
+
+        // The index may lag a concurrent booking by a few milliseconds, so every
+        // candidate is confirmed by primary key before it is returned.
+        List<ScheduleDTO> result = new ArrayList<>(wanted);
+        Set<Long> seen = new HashSet<>(scheduleHoldService.heldScheduleIds());
+        while (result.size() < wanted) {
+            List<ScheduleDTO> candidates = nextAvailableSlotIndex.peek(wanted - result.size(), modalityFilter, seen);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            List<Long> ids = candidates.stream().map(ScheduleDTO::getId).collect(Collectors.toList());
+            seen.addAll(ids);
+            Set<Long> available = new HashSet<>(scheduleRepository.findAvailableIds(ids));
+            for (ScheduleDTO candidate : candidates) {
+                if (available.contains(candidate.getId())) {
+                    result.add(candidate);
+                } else {
+                    nextAvailableSlotIndex.remove(candidate.getId());
+                }
+            }
+        }
+        return result;
     }
 
     @Override
     @Transactional
     public void deleteSchedule(Long id) {
-        if (!scheduleRepository.existsById(id)) {
-            throw new RuntimeException("Schedule not found with ID: " + id);
+        Schedule schedule = scheduleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Schedule not found with ID: " + id));
+        eventPublisher.publishEvent(ScheduleChangedEvent.of(ScheduleChangeType.DELETED, schedule));
+        scheduleRepository.delete(schedule);
+    }
+
+    @Override
+    public ScheduleHoldDTO holdSchedule(Long id, Integer minutes, String userEmail) {
+        return scheduleHoldService.hold(id, minutes, userId(userEmail));
+    }
+
+    @Override
+    public void releaseHold(Long id, String token, String userEmail) {
+        scheduleHoldService.release(id, token, userId(userEmail));
+    }
+
+    private Long userId(String userEmail) {
+        return userLookupCache.getByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"))
+                .id();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScheduleChangeFeedDTO getChanges(Long since, Long programmerId, int limit) {
+        long from = since != null ? since : 0L;
+        int size = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE));
+        PageRequest page = PageRequest.ofSize(size + 1);
+
+        List<ScheduleChange> rows = programmerId != null
+                ? scheduleChangeRepository.findSinceForProgrammer(programmerId, from, page)
+                : scheduleChangeRepository.findSince(from, page);
+
+        boolean hasMore = rows.size() > size;
+        List<ScheduleChangeDTO> changes = rows.stream()
+                .limit(size)
+                .map(this::mapChangeToDTO)
+                .collect(Collectors.toList());
+        long cursor = changes.isEmpty() ? from : changes.get(changes.size() - 1).getSequence();
+
+        return ScheduleChangeFeedDTO.builder()
+                .changes(changes)
+                .cursor(cursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getLatestChangeCursor() {
+        return scheduleChangeRepository.findLatestSequence();
+    }
+
+    @Override
+    @Transactional
+    public String getCalendarToken(String userEmail) {
+        Long userId = userId(userEmail);
+        // Conditional, so two first requests agree on one token
+        userRepository.issueCalendarToken(userId, newCalendarToken());
+        return userRepository.findCalendarToken(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Override
+    @Transactional
+    public String rotateCalendarToken(String userEmail) {
+        String token = newCalendarToken();
+        userRepository.updateCalendarToken(userId(userEmail), token);
+        return token;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getCalendarOwner(String token) {
+        return userRepository.findIdByCalendarToken(token)
+                .orElseThrow(() -> new RuntimeException("Calendar not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getCalendarEtag(Long programmerId) {
+        UserLookup programmer = userLookupCache.getById(programmerId)
+                .orElseThrow(() -> new RuntimeException("Programmer not found with ID: " + programmerId));
+        // Every change to the rendered rows is in the change log; the date
+        // counts because slots drop out of the feed as days pass, and the
+        // programmer's updatedAt because their name is the calendar's title
+        CalendarVersion version = scheduleChangeRepository.findCalendarVersion(programmerId);
+        long renamed = programmer.updatedAt() != null
+                ? programmer.updatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        return "\"cal-" + programmerId + "-" + LocalDate.now() + "-" + version.tag() + "-" + renamed + "\"";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeCalendar(Long programmerId, Writer writer) throws IOException {
+        UserLookup programmer = userLookupCache.getById(programmerId)
+                .orElseThrow(() -> new RuntimeException("Programmer not found with ID: " + programmerId));
+
+        ICalendarWriter calendar = new ICalendarWriter(writer);
+        calendar.begin("Asesorias - " + programmer.name());
+
+        // Projections: no entities are loaded, so nothing is fetched per row.
+        // Clients and their messages stay out of the feed
+        try (Stream<CalendarEntry> advisories = advisoryRepository.streamCalendarEntries(programmerId,
+                AdvisoryStatus.ACCEPTED)) {
+            Iterator<CalendarEntry> it = advisories.iterator();
+            while (it.hasNext()) {
+                CalendarEntry advisory = it.next();
+                calendar.event("advisory-" + advisory.id() + "@ciberportfolio", advisory.updatedAt(),
+                        advisory.date(), advisory.start(), advisory.end(), "Asesoria (" + advisory.modality() + ")",
+                        null);
+            }
         }
-        scheduleRepository.deleteById(id);
+
+        try (Stream<CalendarEntry> slots = scheduleRepository.streamOpenSlots(programmerId, LocalDate.now())) {
+            Iterator<CalendarEntry> it = slots.iterator();
+            while (it.hasNext()) {
+                CalendarEntry slot = it.next();
+                calendar.event("slot-" + slot.id() + "@ciberportfolio", slot.updatedAt(), slot.date(),
+                        slot.start(), slot.end(), "Disponible (" + slot.modality() + ")", slot.description());
+            }
+        }
+
+        calendar.end();
+    }
+
+    private static String newCalendarToken() {
+        byte[] bytes = new byte[32];
+        TOKEN_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private ScheduleChangeDTO mapChangeToDTO(ScheduleChange change) {
+        return ScheduleChangeDTO.builder()
+                .sequence(change.getCommitSequence())
+                .type(change.getChangeType().name())
+                .scheduleId(change.getScheduleId())
+                .programmerId(change.getProgrammerId())
+                .date(change.getDate())
+                .time(change.getTime())
+                .endTime(change.getEndTime())
+                .status(change.getStatus())
+                .modality(change.getModality())
+                .build();
     }
 
     private ScheduleDTO mapToDTO(Schedule schedule) {
@@ -80,7 +316,7 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .date(schedule.getDate())
                 .time(schedule.getTime())
                 .endTime(schedule.getEndTime())
-                .status(schedule.getStatus())
+                .status(schedule.getStatus().name())
                 .modality(schedule.getModality().name())
                 .build();
     }
@@ -0,0 +1,163 @@
+package com.portfolio.backend.schedules.services;
+
+import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import com.portfolio.backend.schedules.dto.ScheduleUtilizationDTO;
+import com.portfolio.backend.schedules.entity.ScheduleUtilization;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.events.ScheduleChangedEvent;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.schedules.repository.ScheduleUtilizationRepository;
+import com.portfolio.backend.users.events.UserChangeType;
+import com.portfolio.backend.users.events.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly utilization rollups per programmer.
+ *
+ * Counters are adjusted inside the transaction of each schedule mutation, so
+ * reads never scan schedules or advisories. They always match the live
+ * schedules table, which is what a rebuild counts: expired slots removed by
+ * the sweeper stop counting for their week like any other deleted slot.
+ */
+@Slf4j
+@Service
+public class ScheduleUtilizationService {
+
+    private final ScheduleUtilizationRepository utilizationRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final TransactionTemplate requiresNew;
+
+    public ScheduleUtilizationService(ScheduleUtilizationRepository utilizationRepository,
+            ScheduleRepository scheduleRepository, PlatformTransactionManager transactionManager) {
+        this.utilizationRepository = utilizationRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        ScheduleDTO schedule = event.schedule();
+        long available = 0;
+        long booked = 0;
+        switch (event.type()) {
+            case CREATED -> available = 1;
+            case BOOKED -> {
+                available = -1;
+                booked = 1;
+            }
+            case FREED -> {
+                available = 1;
+                booked = -1;
+            }
+            case DELETED, EXPIRED -> {
+                if (ScheduleStatus.BOOKED.name().equals(schedule.getStatus())) {
+                    booked = -1;
+                } else {
+                    available = -1;
+                }
+            }
+            default -> {
+                return;
+            }
+        }
+        LocalDate weekStart = weekStart(schedule.getDate());
+        ensureRow(schedule.getProgrammerId(), weekStart);
+        utilizationRepository.increment(schedule.getProgrammerId(), weekStart, available, booked);
+    }
+
+    // A deleted programmer's rollups go in the same transaction as the user row
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == UserChangeType.DELETED) {
+            utilizationRepository.deleteByProgrammerId(event.userId());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduleUtilizationDTO> getUtilization(Long programmerId, LocalDate from, LocalDate to) {
+        LocalDate start = weekStart(from != null ? from : LocalDate.now().minusWeeks(12));
+        LocalDate end = to != null ? to : LocalDate.now().plusWeeks(12);
+        List<ScheduleUtilization> rows = programmerId != null
+                ? utilizationRepository.findInRangeForProgrammer(programmerId, start, end)
+                : utilizationRepository.findInRange(start, end);
+        return rows.stream().map(this::mapToDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Recomputes every rollup from the schedules table. Meant for the first
+     * deployment and for repairing drift.
+     */
+    @Transactional
+    public int rebuild() {
+        Map<String, ScheduleUtilization> weeks = new HashMap<>();
+        for (Object[] row : scheduleRepository.countByProgrammerDateAndStatus()) {
+            Long programmerId = (Long) row[0];
+            LocalDate weekStart = weekStart((LocalDate) row[1]);
+            ScheduleUtilization week = weeks.computeIfAbsent(programmerId + "@" + weekStart,
+                    key -> ScheduleUtilization.builder().programmerId(programmerId).weekStart(weekStart).build());
+            long count = (Long) row[3];
+            if (row[2] == ScheduleStatus.BOOKED) {
+                week.setBookedSlots(week.getBookedSlots() + count);
+            } else {
+                week.setAvailableSlots(week.getAvailableSlots() + count);
+            }
+        }
+        utilizationRepository.deleteAllInBatch();
+        utilizationRepository.saveAll(weeks.values());
+        log.info("Schedule utilization rebuilt: {} programmer-weeks", weeks.size());
+        return weeks.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (utilizationRepository.count() == 0 && scheduleRepository.count() > 0) {
+            requiresNew.executeWithoutResult(status -> rebuild());
+        }
+    }
+
+    // The row is created in its own transaction so two first bookings in the
+    // same week cannot fail each other's transaction on the unique key
+    private void ensureRow(Long programmerId, LocalDate weekStart) {
+        if (utilizationRepository.existsByProgrammerIdAndWeekStart(programmerId, weekStart)) {
+            return;
+        }
+        try {
+            requiresNew.executeWithoutResult(status -> utilizationRepository.saveAndFlush(
+                    ScheduleUtilization.builder().programmerId(programmerId).weekStart(weekStart).build()));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently, the increment below applies to that row
+        }
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private ScheduleUtilizationDTO mapToDTO(ScheduleUtilization week) {
+        long total = week.getAvailableSlots() + week.getBookedSlots();
+        return ScheduleUtilizationDTO.builder()
+                .programmerId(week.getProgrammerId())
+                .weekStart(week.getWeekStart())
+                .availableSlots(week.getAvailableSlots())
+                .bookedSlots(week.getBookedSlots())
+                .utilization(total > 0 ? (double) week.getBookedSlots() / total : 0.0)
+                .build();
+    }
+}
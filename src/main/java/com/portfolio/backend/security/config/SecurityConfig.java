@@ -39,13 +39,23 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/profiles/all").permitAll() // Public
                                                                                                                    // access
                                                                                                                    // to
                                                                                                                    // all
                                                                                                                    // profiles
                         .requestMatchers("/api/profiles/user/**").permitAll() // Public access to view profiles
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/projects/export").hasRole("ADMIN")
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/projects/**").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/autocomplete/**").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/portfolio/**").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/uploads/**").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.HEAD, "/uploads/**").permitAll()
+                        .requestMatchers("/api/schedules/utilization/**").hasRole("ADMIN")
+                        .requestMatchers("/api/schedules/*/holds/**").authenticated()
+                        .requestMatchers("/api/schedules/calendar/token").authenticated()
                         .requestMatchers("/api/schedules/**").permitAll() // TEMPORARY DEBUG
                                                                           // access
                                                                           // to
@@ -68,7 +78,8 @@ public class SecurityConfig {
                 "https://backend-portfolio-f9095.web.app",
                 "https://backend-portfolio-f9095.firebaseapp.com"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-Match", "If-None-Match"));
+        config.setExposedHeaders(List.of("ETag", "X-Next-Cursor", "Link"));
         config.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -3,6 +3,8 @@ package com.portfolio.backend.security.services;
 import com.portfolio.backend.security.dtos.AuthResponse;
 import com.portfolio.backend.security.dtos.LoginRequest;
 import com.portfolio.backend.security.dtos.RegisterRequest;
+import com.portfolio.backend.users.cache.UserLookup;
+import com.portfolio.backend.users.cache.UserLookupCache;
 import com.portfolio.backend.users.entity.User;
 import com.portfolio.backend.users.entity.enums.Role;
 import com.portfolio.backend.users.repository.UserRepository;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
@@ -27,12 +30,12 @@ public class AuthService {
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
 
-        User user = userRepository.findByEmail(request.getEmail())
+        UserLookup user = userLookupCache.getByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+        String token = jwtUtil.generateToken(user.email(), user.role().name());
 
-        return buildAuthResponse(user, token);
+        return buildAuthResponse(user.id(), user.name(), user.email(), user.role(), token);
     }
 
     public AuthResponse register(RegisterRequest request) {
@@ -51,24 +54,24 @@ public class AuthService {
 
         String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
 
-        return buildAuthResponse(user, token);
+        return buildAuthResponse(user.getId(), user.getName(), user.getEmail(), user.getRole(), token);
     }
 
     public AuthResponse getCurrentUser(String email) {
-        User user = userRepository.findByEmail(email)
+        UserLookup user = userLookupCache.getByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+        String token = jwtUtil.generateToken(user.email(), user.role().name());
 
-        return buildAuthResponse(user, token);
+        return buildAuthResponse(user.id(), user.name(), user.email(), user.role(), token);
     }
 
-    private AuthResponse buildAuthResponse(User user, String token) {
+    private AuthResponse buildAuthResponse(Long id, String name, String email, Role role, String token) {
         return AuthResponse.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .email(user.getEmail())
-                .role(user.getRole().name().toLowerCase())
+                .id(id)
+                .name(name)
+                .email(email)
+                .role(role.name().toLowerCase())
                 .token(token)
                 .build();
     }
@@ -1,7 +1,7 @@
 package com.portfolio.backend.security.services;
 
-import com.portfolio.backend.users.entity.User;
-import com.portfolio.backend.users.repository.UserRepository;
+import com.portfolio.backend.users.cache.UserLookup;
+import com.portfolio.backend.users.cache.UserLookupCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,17 +15,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
 
+    // Runs on every authenticated request; served from memory after the first
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        UserLookup user = userLookupCache.getByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + email));
 
         return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
+                user.email(),
+                user.password(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.role().name()))
         );
     }
 }
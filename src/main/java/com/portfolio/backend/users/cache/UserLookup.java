@@ -0,0 +1,29 @@
+package com.portfolio.backend.users.cache;
+
+import com.portfolio.backend.users.dtos.UserDTO;
+import com.portfolio.backend.users.entity.enums.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a users row, read with a JPQL projection
+ *
+ * Safe to share between threads and keep in UserLookupCache: nobody can
+ * change it in place, and loading it does not pull the EAGER profile the
+ * User entity drags along.
+ */
+public record UserLookup(
+        Long id,
+        String name,
+        String email,
+        String password,
+        Role role,
+        String imageUrl,
+        String imageHash,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public UserDTO toDTO() {
+        return new UserDTO(id, name, email, imageUrl, imageHash, role.name(), createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,85 @@
+package com.portfolio.backend.users.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.backend.users.events.UserChangeType;
+import com.portfolio.backend.users.events.UserChangedEvent;
+import com.portfolio.backend.users.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of user lookups by id and by email.
+ *
+ * Rows are cached once, by id; the email side only maps an email to its id
+ * (which never changes while the user exists), so a user write drops exactly
+ * one entry. Both caches are bounded by size and age, and concurrent misses
+ * for the same key wait for a single load.
+ *
+ * Entries are dropped after commit from {@link UserChangedEvent}; a load
+ * racing with a commit cannot leave a stale role or password behind because
+ * invalidating a key waits for its in-flight load. Besides the cache.* meters
+ * tagged by cache name, users.cache.hit_ratio gives the hit ratio of each.
+ */
+@Component
+public class UserLookupCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserLookup> byId;
+    private final Cache<String, Long> idByEmail;
+
+    public UserLookupCache(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${users.cache.max-users:10000}") long maxUsers,
+            @Value("${users.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.userRepository = userRepository;
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        this.byId = Caffeine.newBuilder().maximumSize(maxUsers).expireAfterWrite(ttl).recordStats().build();
+        this.idByEmail = Caffeine.newBuilder().maximumSize(maxUsers).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "users.byEmail");
+        Gauge.builder("users.cache.hit_ratio", byId, cache -> cache.stats().hitRate())
+                .tag("cache", "users.byId")
+                .description("Share of user lookups by id served from memory")
+                .register(meterRegistry);
+        Gauge.builder("users.cache.hit_ratio", idByEmail, cache -> cache.stats().hitRate())
+                .tag("cache", "users.byEmail")
+                .description("Share of user lookups by email served from memory")
+                .register(meterRegistry);
+    }
+
+    public Optional<UserLookup> getById(Long userId) {
+        return Optional.ofNullable(byId.get(userId, id -> userRepository.findLookupById(id).orElse(null)));
+    }
+
+    public Optional<UserLookup> getByEmail(String email) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Long userId = idByEmail.get(email, key -> userRepository.findIdByEmail(key).orElse(null));
+            if (userId == null) {
+                return Optional.empty();
+            }
+            Optional<UserLookup> user = getById(userId);
+            if (user.isPresent() && user.get().email().equals(email)) {
+                return user;
+            }
+            // The mapping was loaded just before its user was deleted (and the
+            // email maybe registered again): look the email up once more
+            idByEmail.asMap().remove(email, userId);
+        }
+        return Optional.empty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        byId.invalidate(event.userId());
+        if (event.type() == UserChangeType.DELETED && event.email() != null) {
+            idByEmail.asMap().remove(event.email(), event.userId());
+        }
+    }
+}
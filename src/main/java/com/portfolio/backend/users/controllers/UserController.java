@@ -1,16 +1,24 @@
 package com.portfolio.backend.users.controllers;
 
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.users.deletion.UserDeletionJobDTO;
 import com.portfolio.backend.users.dtos.UpdateUserRequest;
 import com.portfolio.backend.users.dtos.UserDTO;
+import com.portfolio.backend.users.images.ImageUploadJobDTO;
 import com.portfolio.backend.users.services.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -31,25 +39,53 @@ public class UserController {
         return ResponseEntity.ok(userService.updateUser(authentication.getName(), request));
     }
 
+    // 202 + job; the new imageUrl is set when the upload finishes
     @PostMapping("/me/image")
-    public ResponseEntity<UserDTO> updateProfileImage(Authentication authentication,
+    public ResponseEntity<ImageUploadJobDTO> updateProfileImage(Authentication authentication,
             @RequestParam("file") MultipartFile file) {
-        return ResponseEntity.ok(userService.updateProfileImage(authentication.getName(), file));
+        ImageUploadJobDTO job = userService.updateProfileImage(authentication.getName(), file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/me/image/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/me/image/jobs/{jobId}")
+    public ResponseEntity<ImageUploadJobDTO> getProfileImageJob(Authentication authentication,
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(userService.getProfileImageJob(authentication.getName(), jobId));
     }
 
     @GetMapping
-    public ResponseEntity<java.util.List<UserDTO>> getAllUsers() {
+    public ResponseEntity<java.util.List<UserDTO>> getAllUsers(KeysetParams page) {
+        if (page.isRequested()) {
+            return userService.getAllUsers(page).toResponse();
+        }
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    // ?stream=true: JSON array written row by row for full admin dumps
+    @GetMapping(params = "stream=true")
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        userService.writeAllUsers(response.getOutputStream());
+    }
+
     @PutMapping("/{id}/role")
     public ResponseEntity<UserDTO> updateUserRole(@PathVariable Long id, @RequestParam String role) {
         return ResponseEntity.ok(userService.updateUserRole(id, role));
     }
 
+    // 202 + job; the user and everything they own are deleted in the background
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<UserDeletionJobDTO> deleteUser(@PathVariable Long id) {
+        UserDeletionJobDTO job = userService.deleteUser(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/deletions/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<UserDeletionJobDTO> getDeletionJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(userService.getDeletionJob(jobId));
     }
 }
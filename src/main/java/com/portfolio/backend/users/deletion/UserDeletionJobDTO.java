@@ -0,0 +1,28 @@
+package com.portfolio.backend.users.deletion;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeletionJobDTO {
+    private String jobId;
+    private Long userId;
+    private String status; // QUEUED, RUNNING, DONE or FAILED
+    private String phase; // BOOKINGS, ADVISORIES, SCHEDULES, PROJECTS, PROFILE or USER while RUNNING
+    private Map<String, Long> deleted; // Rows removed so far, per phase
+    private long processed;
+    private long total; // Counted when the job starts
+    private long freedSchedules; // Other programmers' slots made AVAILABLE again
+    private String error; // Set once FAILED
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
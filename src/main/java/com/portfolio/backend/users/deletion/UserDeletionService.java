@@ -0,0 +1,380 @@
+package com.portfolio.backend.users.deletion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.backend.profiles.events.ProfileChangedEvent;
+import com.portfolio.backend.profiles.repository.ProgrammerProfileRepository;
+import com.portfolio.backend.projects.dtos.ProjectRow;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import com.portfolio.backend.schedules.events.ScheduleChangeType;
+import com.portfolio.backend.schedules.events.ScheduleChangedEvent;
+import com.portfolio.backend.schedules.events.SchedulesDeletedEvent;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.users.events.UserChangedEvent;
+import com.portfolio.backend.users.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes users in the background, in bounded chunks.
+ *
+ * Children are removed with set-based deletes of at most
+ * {@code users.deletion.chunk-size} rows, each chunk in its own short
+ * transaction, in foreign-key order: the user's bookings, the advisories
+ * they received, their slots, projects and profile, and the user row last.
+ * Nothing is loaded as an entity, so memory and lock time do not grow with
+ * the user's data.
+ *
+ * Bookings release the other programmers' slots they held. Advisories of
+ * other users that point to one of the deleted slots keep their own date and
+ * time and lose the link. Each chunk publishes the events the single-row
+ * paths publish, so indexes and caches drop what it removed once it commits.
+ *
+ * Jobs run one at a time and their progress lives in memory for
+ * {@code users.deletion.job-ttl-minutes}. A job interrupted by a restart can
+ * simply be submitted again: every phase starts from what is left.
+ */
+@Slf4j
+@Service
+public class UserDeletionService {
+
+    private static final String QUEUED = "QUEUED";
+    private static final String RUNNING = "RUNNING";
+    private static final String DONE = "DONE";
+    private static final String FAILED = "FAILED";
+
+    // Rows created while the job runs (e.g. a last-second booking) make the
+    // final delete fail; the phases are then repeated this many times at most
+    private static final int MAX_PASSES = 3;
+
+    private enum Phase {
+        BOOKINGS("SELECT COUNT(*) FROM advisories WHERE user_id = :userId"),
+        ADVISORIES("SELECT COUNT(*) FROM advisories WHERE programmer_id = :userId AND user_id <> :userId"),
+        SCHEDULES("SELECT COUNT(*) FROM schedules WHERE programmer_id = :userId"),
+        PROJECTS("SELECT COUNT(*) FROM projects WHERE owner_id = :userId"),
+        PROFILE("SELECT COUNT(*) FROM programmer_profiles WHERE user_id = :userId"),
+        USER("SELECT COUNT(*) FROM users WHERE id = :userId");
+
+        private final String countSql;
+
+        Phase(String countSql) {
+            this.countSql = countSql;
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ProgrammerProfileRepository programmerProfileRepository;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, Job> jobs;
+    private final Map<Long, Job> activeByUser = new ConcurrentHashMap<>();
+    private final Timer duration;
+
+    @Value("${users.deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    // Mutable job state; only the worker thread writes it after submission
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Long userId;
+        private final Instant submittedAt = Instant.now();
+        private final Map<Phase, AtomicLong> deleted = new EnumMap<>(Phase.class);
+        private final AtomicLong freedSchedules = new AtomicLong();
+        private volatile String status = QUEUED;
+        private volatile Phase phase;
+        private volatile long total;
+        private volatile String error;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+
+        private Job(Long userId) {
+            this.userId = userId;
+            for (Phase phase : Phase.values()) {
+                deleted.put(phase, new AtomicLong());
+            }
+        }
+
+        private UserDeletionJobDTO toDTO() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            long processed = 0;
+            for (Map.Entry<Phase, AtomicLong> entry : deleted.entrySet()) {
+                counts.put(entry.getKey().name(), entry.getValue().get());
+                processed += entry.getValue().get();
+            }
+            return UserDeletionJobDTO.builder()
+                    .jobId(id)
+                    .userId(userId)
+                    .status(status)
+                    .phase(RUNNING.equals(status) && phase != null ? phase.name() : null)
+                    .deleted(counts)
+                    .processed(processed)
+                    .total(total)
+                    .freedSchedules(freedSchedules.get())
+                    .error(error)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    public UserDeletionService(NamedParameterJdbcTemplate jdbc, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher, UserRepository userRepository,
+            ProjectRepository projectRepository, ScheduleRepository scheduleRepository,
+            ProgrammerProfileRepository programmerProfileRepository, MeterRegistry meterRegistry,
+            @Value("${users.deletion.queue-capacity:20}") int queueCapacity,
+            @Value("${users.deletion.job-ttl-minutes:60}") long jobTtlMinutes) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.programmerProfileRepository = programmerProfileRepository;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "user-deletion");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(jobTtlMinutes))
+                .build();
+        this.duration = Timer.builder("users.deletion.duration")
+                .description("Time to delete a user and everything they own")
+                .register(meterRegistry);
+        Gauge.builder("users.deletion.queued", executor, e -> e.getQueue().size())
+                .description("User deletions waiting for the worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the deletion; a user already being deleted gets the running job.
+     *
+     * @throws RuntimeException si el usuario no existe
+     */
+    public UserDeletionJobDTO submit(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("Usuario no encontrado con ID: " + userId);
+        }
+        Job job = new Job(userId);
+        Job active = activeByUser.putIfAbsent(userId, job);
+        if (active != null) {
+            return active.toDTO();
+        }
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            activeByUser.remove(userId, job);
+            throw new RejectedExecutionException("Too many user deletions in progress, try again later", e);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * @throws RuntimeException si el job no existe o expiró
+     */
+    public UserDeletionJobDTO getJob(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new RuntimeException("Deletion job not found");
+        }
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.startedAt = Instant.now();
+        job.status = RUNNING;
+        try {
+            duration.record(() -> delete(job));
+            job.finishedAt = Instant.now();
+            job.status = DONE;
+            log.info("Deleted user {}: {}", job.userId, job.toDTO().getDeleted());
+        } catch (RuntimeException e) {
+            log.warn("Deletion of user {} failed in phase {}", job.userId, job.phase, e);
+            job.error = e.getMessage();
+            job.finishedAt = Instant.now();
+            job.status = FAILED;
+        } finally {
+            activeByUser.remove(job.userId, job);
+        }
+    }
+
+    private void delete(Job job) {
+        Map<String, Object> params = Map.of("userId", job.userId);
+        long total = 0;
+        for (Phase phase : Phase.values()) {
+            total += jdbc.queryForObject(phase.countSql, params, Long.class);
+        }
+        job.total = total;
+
+        for (int pass = 1;; pass++) {
+            deleteInChunks(job, Phase.BOOKINGS, () -> deleteBookings(job));
+            deleteInChunks(job, Phase.ADVISORIES, () -> deleteAdvisories(job.userId));
+            deleteInChunks(job, Phase.SCHEDULES, () -> deleteSchedules(job.userId));
+            deleteInChunks(job, Phase.PROJECTS, () -> deleteProjects(job.userId));
+            deleteInChunks(job, Phase.PROFILE, () -> deleteProfile(job.userId));
+            job.phase = Phase.USER;
+            try {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    // The email lets the lookup cache drop its entry by key
+                    String email = jdbc.queryForList("SELECT email FROM users WHERE id = :userId", params,
+                            String.class).stream().findFirst().orElse(null);
+                    eventPublisher.publishEvent(UserChangedEvent.deleted(job.userId, email));
+                    return jdbc.update("DELETE FROM users WHERE id = :userId", params);
+                });
+                if (deleted == null || deleted == 0) {
+                    throw new RuntimeException("Usuario no encontrado con ID: " + job.userId);
+                }
+                job.deleted.get(Phase.USER).addAndGet(deleted);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (pass == MAX_PASSES) {
+                    throw new RuntimeException("The user kept getting new data while being deleted", e);
+                }
+                log.info("User {} got new rows during deletion, running pass {}", job.userId, pass + 1);
+            }
+        }
+    }
+
+    private interface Chunk {
+        int delete();
+    }
+
+    private void deleteInChunks(Job job, Phase phase, Chunk chunk) {
+        job.phase = phase;
+        int deleted;
+        do {
+            Integer rows = transactionTemplate.execute(status -> chunk.delete());
+            deleted = rows != null ? rows : 0;
+            job.deleted.get(phase).addAndGet(deleted);
+        } while (deleted == chunkSize);
+    }
+
+    // Advisories the user requested; the slots they held go back to AVAILABLE
+    // unless another live advisory still holds them
+    private int deleteBookings(Job job) {
+        List<Long> ids = jdbc.queryForList(
+                "SELECT id FROM advisories WHERE user_id = :userId ORDER BY id LIMIT :limit",
+                Map.of("userId", job.userId, "limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> byIds = Map.of("ids", ids);
+        List<Long> heldSlots = jdbc.queryForList("SELECT DISTINCT schedule_id FROM advisories "
+                + "WHERE id IN (:ids) AND schedule_id IS NOT NULL AND status <> 'REJECTED'", byIds, Long.class);
+        int deleted = jdbc.update("DELETE FROM advisories WHERE id IN (:ids)", byIds);
+        if (!heldSlots.isEmpty()) {
+            Map<String, Object> bySlots = Map.of("slots", heldSlots);
+            List<Long> freed = jdbc.queryForList("SELECT s.id FROM schedules s WHERE s.id IN (:slots) "
+                    + "AND s.status = 'BOOKED' AND NOT EXISTS (SELECT 1 FROM advisories a "
+                    + "WHERE a.schedule_id = s.id AND a.status <> 'REJECTED')", bySlots, Long.class);
+            if (!freed.isEmpty()) {
+                jdbc.update("UPDATE schedules SET status = 'AVAILABLE', updated_at = :now WHERE id IN (:freed)",
+                        Map.of("freed", freed, "now", LocalDateTime.now()));
+                for (ScheduleDTO slot : scheduleRepository.findDTOsByIdIn(freed)) {
+                    eventPublisher.publishEvent(new ScheduleChangedEvent(ScheduleChangeType.FREED, slot));
+                }
+                job.freedSchedules.addAndGet(freed.size());
+            }
+        }
+        return deleted;
+    }
+
+    private int deleteAdvisories(Long userId) {
+        List<Long> ids = jdbc.queryForList(
+                "SELECT id FROM advisories WHERE programmer_id = :userId ORDER BY id LIMIT :limit",
+                Map.of("userId", userId, "limit", chunkSize), Long.class);
+        return ids.isEmpty() ? 0 : jdbc.update("DELETE FROM advisories WHERE id IN (:ids)", Map.of("ids", ids));
+    }
+
+    private int deleteSchedules(Long userId) {
+        List<Long> ids = jdbc.queryForList(
+                "SELECT id FROM schedules WHERE programmer_id = :userId ORDER BY id LIMIT :limit",
+                Map.of("userId", userId, "limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> byIds = Map.of("ids", ids);
+        jdbc.update("UPDATE advisories SET schedule_id = NULL WHERE schedule_id IN (:ids)", byIds);
+        // Change log and next-available index (see SchedulesDeletedEvent)
+        eventPublisher.publishEvent(new SchedulesDeletedEvent(userId, ids));
+        return jdbc.update("DELETE FROM schedules WHERE id IN (:ids)", byIds);
+    }
+
+    private int deleteProjects(Long userId) {
+        List<Long> ids = jdbc.queryForList(
+                "SELECT id FROM projects WHERE owner_id = :userId ORDER BY id LIMIT :limit",
+                Map.of("userId", userId, "limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Snapshots for the search indexes, read as projections
+        Map<Long, List<String>> techs = new HashMap<>();
+        for (Object[] pair : projectRepository.findTechPairsByProjectIds(ids)) {
+            techs.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        for (ProjectRow row : projectRepository.findRowsByIdIn(ids)) {
+            eventPublisher.publishEvent(ProjectChangedEvent.deleted(
+                    row.toDTO(List.copyOf(techs.getOrDefault(row.id(), List.of())))));
+        }
+        Map<String, Object> byIds = Map.of("ids", ids);
+        jdbc.update("DELETE FROM project_techs WHERE project_id IN (:ids)", byIds);
+        return jdbc.update("DELETE FROM projects WHERE id IN (:ids)", byIds);
+    }
+
+    private int deleteProfile(Long userId) {
+        List<Long> ids = jdbc.queryForList("SELECT id FROM programmer_profiles WHERE user_id = :userId",
+                Map.of("userId", userId), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Long profileId = ids.get(0);
+        List<String> skills = programmerProfileRepository.findSkillPairsByProfileIds(ids).stream()
+                .map(pair -> (String) pair[1])
+                .toList();
+        eventPublisher.publishEvent(new ProfileChangedEvent(profileId, skills, List.of()));
+        Map<String, Object> byId = Map.of("profileId", profileId);
+        jdbc.update("DELETE FROM programmer_skills WHERE profile_id = :profileId", byId);
+        return jdbc.update("DELETE FROM programmer_profiles WHERE id = :profileId", byId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.portfolio.backend.users.dtos;
 
+import com.portfolio.backend.users.images.ImageVariantsDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,7 +17,14 @@ public class UserDTO {
     private String name;
     private String email;
     private String imageUrl;
+    private ImageVariantsDTO imageVariants; // null until an uploaded image has been resized
     private String role;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // Used by the JPQL projections in UserRepository, which select the image hash
+    public UserDTO(Long id, String name, String email, String imageUrl, String imageHash, String role,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, email, imageUrl, ImageVariantsDTO.of(imageHash), role, createdAt, updatedAt);
+    }
 }
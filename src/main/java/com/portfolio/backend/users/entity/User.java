@@ -7,7 +7,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +26,10 @@ public class User {
     @Column(name = "image_url")
     private String imageUrl;
 
+    // SHA-256 of the uploaded image; names its resized variants (see ImageVariantsDTO)
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -34,31 +40,19 @@ public class User {
     @Column(nullable = false)
     private Role role;
 
+    // Secret part of the .ics feed URL; issued the first time it is asked for
+    @Column(name = "calendar_token", unique = true, length = 43)
+    private String calendarToken;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    // --- RELACIONES OneToMany para borrar en cascada ---
-
-    @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, orphanRemoval = true)
-    @ToString.Exclude
-    private java.util.List<com.portfolio.backend.projects.entity.Project> projects;
-
-    @OneToMany(mappedBy = "programmer", cascade = CascadeType.ALL, orphanRemoval = true)
-    @ToString.Exclude
-    private java.util.List<com.portfolio.backend.advisories.entity.Advisory> advisoriesAsProgrammer;
-
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    @ToString.Exclude
-    private java.util.List<com.portfolio.backend.advisories.entity.Advisory> advisoriesAsUser;
-
-    @OneToMany(mappedBy = "programmer", cascade = CascadeType.ALL, orphanRemoval = true)
-    @ToString.Exclude
-    private java.util.List<com.portfolio.backend.schedules.entity.Schedule> schedules;
-
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Sin cascadas: proyectos, asesorías, horarios y perfil se borran por
+    // lotes en UserDeletionService
+    @OneToOne(mappedBy = "user")
     @ToString.Exclude
     private com.portfolio.backend.profiles.entity.ProgrammerProfile programmerProfile;
 
@@ -0,0 +1,6 @@
+package com.portfolio.backend.users.events;
+
+public enum UserChangeType {
+    UPDATED,
+    DELETED
+}
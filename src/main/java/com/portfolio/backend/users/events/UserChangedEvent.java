@@ -0,0 +1,18 @@
+package com.portfolio.backend.users.events;
+
+/**
+ * Published inside the transaction of every user write (name, password,
+ * image, role or deletion), so caches holding user data can drop it after
+ * commit. {@code email} is set only on deletion (it never changes
+ * otherwise), so lookups by email can be dropped by key.
+ */
+public record UserChangedEvent(UserChangeType type, Long userId, String email) {
+
+    public static UserChangedEvent updated(Long userId) {
+        return new UserChangedEvent(UserChangeType.UPDATED, userId, null);
+    }
+
+    public static UserChangedEvent deleted(Long userId, String email) {
+        return new UserChangedEvent(UserChangeType.DELETED, userId, email);
+    }
+}
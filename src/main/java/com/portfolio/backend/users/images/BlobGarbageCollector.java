@@ -0,0 +1,190 @@
+package com.portfolio.backend.users.images;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Background mark-and-sweep of the {@link BlobStore} and of the
+ * ImageVariantGenerator variants.
+ *
+ * Mark: reference counts of each blob URL in users.image_url and
+ * programmer_profiles.image_url, plus the image hashes still set on users.
+ * Sweep: files nobody references are deleted, unless they were written or
+ * reused within {@code uploads.gc.grace-minutes}; that window covers uploads
+ * whose blob is stored but whose user row is not updated yet. Variants live
+ * as long as their user's image hash or their original blob.
+ */
+@Slf4j
+@Component
+public class BlobGarbageCollector {
+
+    private static final String REFERENCE_COUNTS = "SELECT image_url, COUNT(*) FROM ("
+            + "SELECT image_url FROM users UNION ALL SELECT image_url FROM programmer_profiles) refs "
+            + "WHERE image_url LIKE '" + BlobStore.URL_PREFIX + "%' GROUP BY image_url";
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]+)?");
+    private static final String VARIANT_HASHES = "SELECT DISTINCT image_hash FROM users WHERE image_hash IS NOT NULL";
+
+    private final BlobStore blobStore;
+    private final ImageVariantGenerator variantGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter collected;
+    private final Timer duration;
+
+    @Value("${uploads.gc.grace-minutes:60}")
+    private long graceMinutes;
+
+    public BlobGarbageCollector(BlobStore blobStore, ImageVariantGenerator variantGenerator,
+            JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.blobStore = blobStore;
+        this.variantGenerator = variantGenerator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.collected = Counter.builder("users.image_blobs.collected")
+                .description("Unreferenced image blobs and variants deleted")
+                .register(meterRegistry);
+        this.duration = Timer.builder("users.image_blobs.gc.duration")
+                .description("Time spent per blob collection")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.gc.interval-ms:21600000}", initialDelayString = "${uploads.gc.initial-delay-ms:300000}")
+    public void collect() {
+        int total = duration.record(() -> collectGarbage(Instant.now().minus(Duration.ofMinutes(graceMinutes))));
+        if (total > 0) {
+            log.info("Blob collector removed {} unreferenced files", total);
+        }
+    }
+
+    /**
+     * Number of users/profiles pointing to each blob URL
+     */
+    Map<String, Long> referenceCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query(REFERENCE_COUNTS, rs -> {
+            counts.put(rs.getString(1), rs.getLong(2));
+        });
+        return counts;
+    }
+
+    /**
+     * @param cutoff Files modified after this instant are kept even if unreferenced
+     * @return Files deleted
+     */
+    int collectGarbage(Instant cutoff) {
+        // The cutoff predates the marks: anything stored or reused after the
+        // marks were read has a newer mtime and survives
+        Map<String, Long> blobCounts = referenceCounts();
+        Set<String> variantHashes = new HashSet<>(jdbcTemplate.queryForList(VARIANT_HASHES, String.class));
+
+        int deleted = sweep(blobStore.root(), cutoff, file -> {
+            String url = BlobStore.URL_PREFIX + blobStore.root().relativize(file).toString().replace('\\', '/');
+            return blobCounts.containsKey(url);
+        }, BlobGarbageCollector::blobHash);
+        variantHashes.addAll(blobHashes());
+        deleted += sweep(variantGenerator.directory(), cutoff, file -> {
+            String hash = variantHash(file.getFileName().toString());
+            return hash != null && variantHashes.contains(hash);
+        }, BlobGarbageCollector::variantHash);
+        collected.increment(deleted);
+        return deleted;
+    }
+
+    /**
+     * @param hashOf Hash a file name belongs to, or null for other files
+     *               (e.g. leftovers in incoming/)
+     */
+    private int sweep(Path directory, Instant cutoff, Predicate<Path> referenced,
+            Function<String, String> hashOf) {
+        List<Path> garbage;
+        try (Stream<Path> files = Files.walk(directory)) {
+            garbage = files.filter(file -> isCollectable(file, cutoff) && !referenced.test(file)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int deleted = 0;
+        for (Path file : garbage) {
+            String hash = hashOf.apply(file.getFileName().toString());
+            boolean removed;
+            if (hash == null) {
+                removed = delete(file, cutoff);
+            } else {
+                // Under the lock an upload reusing the file holds while it
+                // refreshes the mtime
+                synchronized (blobStore.lock(hash)) {
+                    removed = delete(file, cutoff);
+                }
+            }
+            if (removed) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    // Re-checked right before deleting: the file may have been reused meanwhile
+    private static boolean delete(Path file, Instant cutoff) {
+        try {
+            return isCollectable(file, cutoff) && Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete unreferenced file {}", file, e);
+            return false;
+        }
+    }
+
+    // Hashes of the blobs that survived the sweep
+    private Set<String> blobHashes() {
+        try (Stream<Path> files = Files.walk(blobStore.root())) {
+            Set<String> hashes = new HashSet<>();
+            files.map(file -> blobHash(file.getFileName().toString()))
+                    .filter(Objects::nonNull)
+                    .forEach(hashes::add);
+            return hashes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String blobHash(String fileName) {
+        Matcher name = BLOB_NAME.matcher(fileName);
+        return name.matches() ? name.group(1) : null;
+    }
+
+    // <source hash>-<variant>.jpg
+    private static String variantHash(String fileName) {
+        int dash = fileName.indexOf('-');
+        return dash > 0 ? fileName.substring(0, dash) : null;
+    }
+
+    private static boolean isCollectable(Path file, Instant cutoff) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.isRegularFile() && attributes.lastModifiedTime().toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
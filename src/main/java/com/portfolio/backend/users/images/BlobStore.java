@@ -0,0 +1,163 @@
+package com.portfolio.backend.users.images;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Content-addressed store for uploaded images under
+ * {@code <uploads.local.dir>/blobs}.
+ *
+ * Each blob is named after the SHA-256 of its bytes and sharded by the first
+ * two bytes of the hash ({@code blobs/ab/cd/abcd....jpg}), so no directory
+ * grows past a few hundred entries. Identical content is kept once no matter
+ * how many users upload it.
+ *
+ * The spooled upload is read once to hash it and then renamed into place,
+ * so its bytes are never copied again when the spool directory is on the
+ * same file system (a copy happens otherwise).
+ *
+ * Blobs are never deleted here: BlobGarbageCollector removes the ones no
+ * User or ProgrammerProfile points to anymore. Storing a blob and collecting
+ * it (or its variants) take the same per-hash {@link #lock(String)}, so a
+ * reused blob cannot be deleted between the collector's last check and the
+ * upload refreshing its mtime.
+ */
+@Component
+public class BlobStore {
+
+    public static final String URL_PREFIX = "/uploads/blobs/";
+
+    private static final int LOCK_STRIPES = 64;
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp");
+
+    private final Path root;
+    private final Path incoming;
+    private final Counter stored;
+    private final Counter deduplicated;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * @param hash SHA-256 of the content (hex)
+     * @param path Location in the store
+     * @param url  Public URL, served by UploadsController
+     */
+    public record Blob(String hash, Path path, String url) {
+    }
+
+    public BlobStore(@Value("${uploads.local.dir:uploads}") String uploadsDir, MeterRegistry meterRegistry)
+            throws IOException {
+        this.root = Files.createDirectories(Paths.get(uploadsDir, "blobs").toAbsolutePath());
+        // Inside the store so the final rename never crosses file systems
+        this.incoming = Files.createDirectories(root.resolve("incoming"));
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        this.stored = Counter.builder("users.image_blobs.stored")
+                .tag("result", "new")
+                .description("Uploaded images written to the blob store")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("users.image_blobs.stored")
+                .tag("result", "duplicate")
+                .description("Uploaded images whose content was already in the blob store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Moves {@code source} into the store. When the same content is already
+     * there, {@code source} is left untouched for the caller to delete.
+     *
+     * @param contentType Decides the file extension (served Content-Type)
+     */
+    public Blob put(Path source, String contentType) throws IOException {
+        String hash = hash(source);
+        String relativePath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash
+                + EXTENSIONS.getOrDefault(contentType, "");
+        Path target = root.resolve(relativePath);
+        synchronized (lock(hash)) {
+            if (touch(target)) {
+                deduplicated.increment();
+            } else {
+                Files.createDirectories(target.getParent());
+                // Into incoming/ first (a copy if the spool is on another file
+                // system), then renamed: a half-written blob is never visible.
+                // rename(2) replaces atomically, so a concurrent identical upload
+                // at worst swaps in the same bytes.
+                Path temp = incoming.resolve(UUID.randomUUID() + ".tmp");
+                try {
+                    Files.move(source, temp);
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                stored.increment();
+            }
+        }
+        return new Blob(hash, target, URL_PREFIX + relativePath);
+    }
+
+    /**
+     * Monitor guarding the blob with this hash and its variants; the
+     * collector deletes them holding it, and put stores or reuses them.
+     */
+    Object lock(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), locks.length)];
+    }
+
+    /**
+     * Gives an existing file a fresh mtime, so the collector leaves recently
+     * used files alone.
+     *
+     * @return false if the file is not there (never stored, or collected)
+     */
+    static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    Path root() {
+        return root;
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
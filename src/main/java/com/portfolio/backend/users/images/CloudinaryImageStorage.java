@@ -0,0 +1,26 @@
+package com.portfolio.backend.users.images;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "uploads.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStorage implements ImageStorage {
+
+    private final Cloudinary cloudinary;
+
+    @Override
+    public String store(BlobStore.Blob blob, String contentType) throws IOException {
+        // A File (not byte[]) lets the SDK stream the multipart body from disk.
+        // The local blob is left unreferenced and BlobGarbageCollector removes it.
+        Map<?, ?> uploadResult = cloudinary.uploader().upload(blob.path().toFile(), ObjectUtils.emptyMap());
+        return (String) uploadResult.get("secure_url");
+    }
+}
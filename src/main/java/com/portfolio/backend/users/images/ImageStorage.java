@@ -0,0 +1,31 @@
+package com.portfolio.backend.users.images;
+
+import java.io.IOException;
+
+/**
+ * Where uploaded profile images end up. Uploads always go through the
+ * {@link BlobStore} first (it also feeds the variants), so implementations
+ * get the stored blob and should stream it instead of loading it into memory.
+ *
+ * Selected with {@code uploads.storage}: {@code cloudinary} (default) or
+ * {@code local}.
+ */
+public interface ImageStorage {
+
+    /**
+     * @param blob        Upload already in the BlobStore
+     * @param contentType Content type sent by the client
+     * @return Public URL of the stored image
+     */
+    String store(BlobStore.Blob blob, String contentType) throws IOException;
+
+    /**
+     * Whether the {@link ImageVariant} files written under
+     * {@code uploads.local.dir} are served next to the stored images (as
+     * {@code /uploads/variants/...}). Otherwise uploads get no variants and
+     * clients only see {@code imageUrl}.
+     */
+    default boolean servesVariants() {
+        return false;
+    }
+}
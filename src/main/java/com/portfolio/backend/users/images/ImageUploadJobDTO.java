@@ -0,0 +1,22 @@
+package com.portfolio.backend.users.images;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadJobDTO {
+    private String jobId;
+    private String status; // QUEUED, UPLOADING, DONE or FAILED
+    private String imageUrl; // Set once DONE
+    private ImageVariantsDTO imageVariants; // Set once DONE, if the image could be resized
+    private String error; // Set once FAILED (e.g. replaced by a newer upload)
+    private Instant submittedAt;
+    private Instant finishedAt;
+}
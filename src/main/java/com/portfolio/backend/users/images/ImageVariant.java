@@ -0,0 +1,27 @@
+package com.portfolio.backend.users.images;
+
+/**
+ * Fixed sizes generated for every uploaded profile image. Each variant fits
+ * inside a {@code maxSize} x {@code maxSize} box, keeping the aspect ratio;
+ * smaller images are not upscaled.
+ */
+public enum ImageVariant {
+    THUMB(96), // 48px avatars at 2x
+    CARD(400),
+    FULL(1600);
+
+    private final int maxSize;
+
+    ImageVariant(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    // <source sha-256>-<variant>.jpg, so the same upload always maps to the same files
+    public String fileName(String sourceHash) {
+        return sourceHash + "-" + name().toLowerCase() + ".jpg";
+    }
+}
@@ -0,0 +1,200 @@
+package com.portfolio.backend.users.images;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * Writes the {@link ImageVariant} copies of an uploaded image to
+ * {@code <uploads.local.dir>/variants}, named after the SHA-256 of the
+ * original file.
+ *
+ * Because names depend only on the content, the directory doubles as a
+ * cache: uploading an image that was already processed finds its variants on
+ * disk and skips decoding. Runs on the upload workers (ProfileImageUploader),
+ * so at most {@code uploads.workers} images are resized at once, holding the
+ * BlobStore lock of the source hash so the collector cannot remove variants
+ * that are being reused.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    private static final float JPEG_QUALITY = 0.85f;
+    // Decompression-bomb guard: ~40MP decodes to ~160MB of pixels
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final Path directory;
+    private final Counter generated;
+    private final Counter reused;
+
+    public ImageVariantGenerator(@Value("${uploads.local.dir:uploads}") String uploadsDir,
+            MeterRegistry meterRegistry) throws IOException {
+        this.directory = Files.createDirectories(Paths.get(uploadsDir, "variants").toAbsolutePath());
+        this.generated = Counter.builder("users.image_variants")
+                .tag("result", "generated")
+                .description("Profile images resized into variants")
+                .register(meterRegistry);
+        this.reused = Counter.builder("users.image_variants")
+                .tag("result", "cached")
+                .description("Profile images whose variants were already on disk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes whichever variants of {@code file} are missing.
+     *
+     * @param sourceHash SHA-256 of the file (its BlobStore hash)
+     * @return false if ImageIO cannot decode the image (e.g. WebP or SVG) or
+     *         it is too large; the upload then goes on without variants
+     */
+    public boolean generate(Path file, String sourceHash) throws IOException {
+        if (touchAll(sourceHash)) {
+            reused.increment();
+            return true;
+        }
+        BufferedImage current;
+        try {
+            current = read(file);
+        } catch (IIOException e) {
+            log.info("Could not decode image {}: {}", file, e.getMessage());
+            return false;
+        }
+        if (current == null) {
+            return false;
+        }
+        // Largest first: each variant is scaled down from the previous one
+        ImageVariant[] variants = ImageVariant.values();
+        for (int i = variants.length - 1; i >= 0; i--) {
+            current = fit(current, variants[i].maxSize());
+            Path target = directory.resolve(variants[i].fileName(sourceHash));
+            if (!Files.exists(target)) {
+                write(current, target);
+            }
+        }
+        generated.increment();
+        return true;
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    // Reused variants get a fresh mtime, like reused blobs, so the collector
+    // keeps them until the upload's user row points at them
+    private boolean touchAll(String sourceHash) throws IOException {
+        boolean all = true;
+        for (ImageVariant variant : ImageVariant.values()) {
+            all &= BlobStore.touch(directory.resolve(variant.fileName(sourceHash)));
+        }
+        return all;
+    }
+
+    // Sources larger than 2x the FULL size are subsampled while decoding (never
+    // below FULL), which saves most of the decode memory and resize work
+    private static BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / ImageVariant.FULL.maxSize());
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves until within 2x of the target, then one bilinear pass; also
+    // flattens transparency onto white since variants are JPEG
+    private static BufferedImage fit(BufferedImage image, int maxSize) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight
+                || current.getType() != BufferedImage.TYPE_INT_RGB) {
+            current = draw(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // Written next to the target and renamed, so a half-written file is never served
+    private void write(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(directory, "variant-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
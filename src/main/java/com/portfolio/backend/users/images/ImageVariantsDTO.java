@@ -0,0 +1,24 @@
+package com.portfolio.backend.users.images;
+
+/**
+ * URLs of the resized copies of a profile image (see {@link ImageVariant}).
+ */
+public record ImageVariantsDTO(String thumb, String card, String full) {
+
+    private static final String BASE_URL = "/uploads/variants/";
+
+    /**
+     * @param sourceHash Hash stored in users.image_hash; null when the image
+     *                   has no variants (not uploaded yet, not decodable, or
+     *                   kept by a storage that does not serve them)
+     */
+    public static ImageVariantsDTO of(String sourceHash) {
+        if (sourceHash == null) {
+            return null;
+        }
+        return new ImageVariantsDTO(
+                BASE_URL + ImageVariant.THUMB.fileName(sourceHash),
+                BASE_URL + ImageVariant.CARD.fileName(sourceHash),
+                BASE_URL + ImageVariant.FULL.fileName(sourceHash));
+    }
+}
@@ -0,0 +1,27 @@
+package com.portfolio.backend.users.images;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves images straight from the {@link BlobStore} (UploadsController,
+ * /uploads/blobs/**). Meant for development and tests.
+ *
+ * Blobs are named after their SHA-256, so a URL never changes content
+ * (served as immutable) and uploading the same image twice stores it once.
+ */
+@Component
+@ConditionalOnProperty(name = "uploads.storage", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    @Override
+    public String store(BlobStore.Blob blob, String contentType) {
+        return blob.url();
+    }
+
+    // Same host as the blobs: UploadsController serves /uploads/variants/** too
+    @Override
+    public boolean servesVariants() {
+        return true;
+    }
+}
@@ -0,0 +1,265 @@
+package com.portfolio.backend.users.images;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.backend.users.events.UserChangedEvent;
+import com.portfolio.backend.users.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Profile image uploads, off the request thread.
+ *
+ * The request only spools the multipart file to {@code uploads.spool-dir}
+ * (streamed, never held as a byte[]) and queues a job. A fixed pool of
+ * {@code uploads.workers} threads moves it into the {@link BlobStore},
+ * resizes it into its {@link ImageVariant}s (only if the storage serves
+ * them), hands the blob to the {@link ImageStorage}, and then sets
+ * User.imageUrl / imageHash in a short transaction of its own. When
+ * {@code uploads.queue-capacity} jobs are already waiting, new uploads are
+ * rejected (503) instead of piling up spooled files.
+ *
+ * Jobs of the same user may finish out of order on different workers, so
+ * each one carries its submission number and only sets the image if no
+ * later upload of that user has been applied; the older one ends FAILED.
+ *
+ * Job state lives only in memory for {@code uploads.job-ttl-minutes}; after
+ * a restart queued jobs are lost and the client has to upload again.
+ */
+@Slf4j
+@Service
+public class ProfileImageUploader {
+
+    private static final String QUEUED = "QUEUED";
+    private static final String UPLOADING = "UPLOADING";
+    private static final String DONE = "DONE";
+    private static final String FAILED = "FAILED";
+
+    private final ImageStorage storage;
+    private final BlobStore blobStore;
+    private final ImageVariantGenerator variantGenerator;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path spoolDir;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, Job> jobs;
+    private final AtomicLong submissions = new AtomicLong();
+    // userId -> sequence of the newest job applied to users.image_url
+    private final Cache<Long, Long> appliedSequences;
+
+    // Mutable job state; only the worker thread writes it after submission
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Long userId;
+        private final long sequence;
+        private final Instant submittedAt = Instant.now();
+        private volatile String status = QUEUED;
+        private volatile String imageUrl;
+        private volatile String imageHash;
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        private Job(Long userId, long sequence) {
+            this.userId = userId;
+            this.sequence = sequence;
+        }
+
+        private ImageUploadJobDTO toDTO() {
+            return ImageUploadJobDTO.builder()
+                    .jobId(id)
+                    .status(status)
+                    .imageUrl(imageUrl)
+                    .imageVariants(ImageVariantsDTO.of(imageHash))
+                    .error(error)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    public ProfileImageUploader(ImageStorage storage, BlobStore blobStore, ImageVariantGenerator variantGenerator,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${uploads.spool-dir:${java.io.tmpdir}/portfolio-uploads}") String spoolDir,
+            @Value("${uploads.workers:4}") int workers,
+            @Value("${uploads.queue-capacity:100}") int queueCapacity,
+            @Value("${uploads.job-ttl-minutes:30}") long jobTtlMinutes) throws IOException {
+        this.storage = storage;
+        this.blobStore = blobStore;
+        this.variantGenerator = variantGenerator;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.spoolDir = Files.createDirectories(Paths.get(spoolDir));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "profile-image-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(jobTtlMinutes))
+                .build();
+        this.appliedSequences = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(jobTtlMinutes))
+                .build();
+        Gauge.builder("users.image_uploads.queued", executor, e -> e.getQueue().size())
+                .description("Profile image uploads waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("users.image_uploads.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Profile image uploads in progress")
+                .register(meterRegistry);
+    }
+
+    public ImageUploadJobDTO submit(Long userId, MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new RuntimeException("La imagen está vacía");
+        }
+        String contentType = file.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new RuntimeException("El archivo debe ser una imagen");
+        }
+
+        Path spooled = spool(file);
+        Job job = new Job(userId, submissions.incrementAndGet());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, spooled, contentType));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            deleteQuietly(spooled);
+            throw new RejectedExecutionException("Too many image uploads in progress, try again later", e);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * @throws RuntimeException si el job no existe, expiró o es de otro usuario
+     */
+    public ImageUploadJobDTO getJob(Long userId, String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new RuntimeException("Upload job not found");
+        }
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Tomcat already keeps the part on disk; transferTo moves or copies it in chunks
+    private Path spool(MultipartFile file) {
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile(spoolDir, "image-", ".upload");
+            file.transferTo(spooled);
+            return spooled;
+        } catch (IOException e) {
+            deleteQuietly(spooled);
+            throw new RuntimeException("Error al recibir la imagen: " + e.getMessage(), e);
+        }
+    }
+
+    private void run(Job job, Path spooled, String contentType) {
+        job.status = UPLOADING;
+        try {
+            BlobStore.Blob blob = blobStore.put(spooled, contentType);
+            // Images ImageIO cannot read are still stored, just without variants;
+            // so are all images when the storage cannot serve the variant files
+            String imageHash = storage.servesVariants() && generateVariants(blob) ? blob.hash() : null;
+            String imageUrl = storage.store(blob, contentType);
+            int updated = apply(job, imageUrl, imageHash);
+            if (updated < 0) {
+                fail(job, "Replaced by a newer upload");
+                return;
+            }
+            if (updated == 0) {
+                fail(job, "User not found");
+                return;
+            }
+            job.imageUrl = imageUrl;
+            job.imageHash = imageHash;
+            job.finishedAt = Instant.now();
+            job.status = DONE;
+        } catch (Exception e) {
+            log.warn("Profile image upload {} for user {} failed", job.id, job.userId, e);
+            fail(job, "Error al subir imagen: " + e.getMessage());
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    private boolean generateVariants(BlobStore.Blob blob) throws IOException {
+        synchronized (blobStore.lock(blob.hash())) {
+            return variantGenerator.generate(blob.path(), blob.hash());
+        }
+    }
+
+    /**
+     * Sets the user's image unless a later upload of the same user got there
+     * first. Runs under the user's entry in appliedSequences, so the check and
+     * the UPDATE cannot interleave with another job of that user.
+     *
+     * @return Rows updated, or -1 if the job was superseded
+     */
+    private int apply(Job job, String imageUrl, String imageHash) {
+        int[] updated = { -1 };
+        appliedSequences.asMap().compute(job.userId, (userId, applied) -> {
+            if (applied != null && applied > job.sequence) {
+                return applied;
+            }
+            updated[0] = transactionTemplate.execute(status -> {
+                int rows = userRepository.updateImage(userId, imageUrl, imageHash);
+                if (rows > 0) {
+                    eventPublisher.publishEvent(UserChangedEvent.updated(userId));
+                }
+                return rows;
+            });
+            return updated[0] > 0 ? job.sequence : applied;
+        });
+        return updated[0];
+    }
+
+    private static void fail(Job job, String error) {
+        job.error = error;
+        job.finishedAt = Instant.now();
+        job.status = FAILED;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", path, e);
+        }
+    }
+}
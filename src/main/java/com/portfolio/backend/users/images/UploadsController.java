@@ -0,0 +1,185 @@
+package com.portfolio.backend.users.images;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves {@code uploads.local.dir} at /uploads/** (LocalImageStorage
+ * originals and ImageVariantGenerator variants).
+ *
+ * Content-addressed files ({@code <sha256>[-variant].<ext>}) never change,
+ * so they are sent as immutable for a year with the hash as strong ETag.
+ * Older files get a size/mtime ETag and must be revalidated.
+ *
+ * Bodies go out through Tomcat's sendfile when the connector offers it
+ * (the kernel copies the file to the socket) and through
+ * FileChannel.transferTo otherwise. A single byte range is honoured.
+ */
+@RestController
+public class UploadsController {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64})(-[a-z]+)?\\.[a-z0-9]+");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic()
+            .immutable().getHeaderValue();
+    private static final String REVALIDATE = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    // Request attributes of Tomcat's NIO connector
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Same threshold as Tomcat's DefaultServlet: below it a plain copy is cheaper
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    private final Path root;
+
+    public UploadsController(@Value("${uploads.local.dir:uploads}") String uploadsDir) {
+        this.root = Paths.get(uploadsDir).toAbsolutePath().normalize();
+    }
+
+    private record ByteRange(long start, long end) {
+
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    @GetMapping("/uploads/{*path}")
+    public void serve(@PathVariable String path, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = root.resolve(path.isEmpty() ? "" : path.substring(1)).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            throw new RuntimeException("File not found");
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        String etag;
+        Matcher name = CONTENT_ADDRESSED.matcher(file.getFileName().toString());
+        if (name.matches()) {
+            etag = "\"" + name.group(1) + (name.group(2) != null ? name.group(2) : "") + "\"";
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        } else {
+            etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        ByteRange range = requestedRange(request, etag, length);
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+        if (range == null) {
+            range = new ByteRange(0, length - 1);
+        } else {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + length);
+        }
+        response.setContentLengthLong(range.length());
+        if (range.length() > 0 && !"HEAD".equals(request.getMethod())) {
+            send(file, range, request, response);
+        }
+    }
+
+    // null means "send the whole file": no Range, a stale If-Range, several
+    // ranges or a header we don't understand
+    private static ByteRange requestedRange(HttpServletRequest request, String etag, long length) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        try {
+            if (matcher.group(1).isEmpty()) {
+                long suffix = Long.parseLong(matcher.group(2));
+                return suffix == 0 || length == 0
+                        ? ByteRange.UNSATISFIABLE
+                        : new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+            long start = Long.parseLong(matcher.group(1));
+            if (start >= length) {
+                return ByteRange.UNSATISFIABLE;
+            }
+            long end = matcher.group(2).isEmpty() ? length - 1 : Long.parseLong(matcher.group(2));
+            return end < start ? null : new ByteRange(start, Math.min(end, length - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void send(Path file, ByteRange range, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (range.length() >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file after the handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+        if (range.length() < SENDFILE_MIN_BYTES) {
+            try (InputStream in = Files.newInputStream(file)) {
+                in.skipNBytes(range.start());
+                byte[] bytes = in.readNBytes((int) range.length());
+                response.getOutputStream().write(bytes);
+            }
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    throw new IOException("File shrank while being served: " + file);
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.portfolio.backend.users.repository;
 
+import com.portfolio.backend.users.cache.UserLookup;
+import com.portfolio.backend.users.dtos.UserDTO;
 import com.portfolio.backend.users.entity.User;
 import com.portfolio.backend.users.entity.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -14,4 +23,45 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     List<User> findByRole(Role role);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.calendarToken = :token")
+    Optional<Long> findIdByCalendarToken(@Param("token") String token);
+
+    @Query("SELECT u.calendarToken FROM User u WHERE u.id = :id")
+    Optional<String> findCalendarToken(@Param("id") Long id);
+
+    // Not entity saves, so issuing a feed URL does not touch updatedAt
+    @Modifying
+    @Query("UPDATE User u SET u.calendarToken = :token WHERE u.id = :id AND u.calendarToken IS NULL")
+    int issueCalendarToken(@Param("id") Long id, @Param("token") String token);
+
+    @Modifying
+    @Query("UPDATE User u SET u.calendarToken = :token WHERE u.id = :id")
+    int updateCalendarToken(@Param("id") Long id, @Param("token") String token);
+
+    // Read through UserLookupCache
+    @Query("SELECT new com.portfolio.backend.users.cache.UserLookup(u.id, u.name, u.email, u.password, u.role, "
+            + "u.imageUrl, u.imageHash, u.createdAt, u.updatedAt) FROM User u WHERE u.id = :id")
+    Optional<UserLookup> findLookupById(@Param("id") Long id);
+
+    // Bulk update: the upload worker never loads the User (nor its eager profile)
+    @Modifying
+    @Query("UPDATE User u SET u.imageUrl = :imageUrl, u.imageHash = :imageHash, u.updatedAt = LOCAL DATETIME "
+            + "WHERE u.id = :id")
+    int updateImage(@Param("id") Long id, @Param("imageUrl") String imageUrl, @Param("imageHash") String imageHash);
+
+    // A projection skips the eager programmerProfile lookup that every loaded User entity triggers
+    String DTO_SELECT = "SELECT new com.portfolio.backend.users.dtos.UserDTO(u.id, u.name, u.email, u.imageUrl, "
+            + "u.imageHash, str(u.role), u.createdAt, u.updatedAt) FROM User u";
+
+    @Query(DTO_SELECT + " ORDER BY u.id")
+    List<UserDTO> findAllAsDTO();
+
+    // Whole table as DTOs, in id order, for the streaming dump of /api/users
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + " ORDER BY u.id")
+    Stream<UserDTO> streamAllAsDTO();
 }
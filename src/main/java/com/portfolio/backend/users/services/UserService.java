@@ -1,7 +1,11 @@
 package com.portfolio.backend.users.services;
 
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetParams;
 import com.portfolio.backend.users.dtos.UpdateUserRequest;
+import com.portfolio.backend.users.deletion.UserDeletionJobDTO;
 import com.portfolio.backend.users.dtos.UserDTO;
+import com.portfolio.backend.users.images.ImageUploadJobDTO;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface UserService {
@@ -10,11 +14,21 @@ public interface UserService {
 
     UserDTO updateUser(String email, UpdateUserRequest request);
 
-    UserDTO updateProfileImage(String email, MultipartFile file);
+    // Queues the upload and returns right away; poll getProfileImageJob for the result
+    ImageUploadJobDTO updateProfileImage(String email, MultipartFile file);
+
+    ImageUploadJobDTO getProfileImageJob(String email, String jobId);
 
     java.util.List<UserDTO> getAllUsers();
 
+    KeysetPage<UserDTO> getAllUsers(KeysetParams params);
+
+    void writeAllUsers(java.io.OutputStream out);
+
     UserDTO updateUserRole(Long userId, String roleName);
 
-    void deleteUser(Long userId);
+    // Queues the deletion and returns right away; poll getDeletionJob for progress
+    UserDeletionJobDTO deleteUser(Long userId);
+
+    UserDeletionJobDTO getDeletionJob(String jobId);
 }
@@ -1,38 +1,54 @@
 package com.portfolio.backend.users.services;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.portfolio.backend.common.JsonArrayWriter;
+import com.portfolio.backend.common.KeysetPage;
+import com.portfolio.backend.common.KeysetPager;
+import com.portfolio.backend.common.KeysetParams;
+import com.portfolio.backend.users.cache.UserLookup;
+import com.portfolio.backend.users.cache.UserLookupCache;
+import com.portfolio.backend.users.deletion.UserDeletionJobDTO;
+import com.portfolio.backend.users.deletion.UserDeletionService;
 import com.portfolio.backend.users.dtos.UpdateUserRequest;
 import com.portfolio.backend.users.dtos.UserDTO;
 import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.events.UserChangedEvent;
+import com.portfolio.backend.users.images.ImageUploadJobDTO;
+import com.portfolio.backend.users.images.ImageVariantsDTO;
+import com.portfolio.backend.users.images.ProfileImageUploader;
 import com.portfolio.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.io.OutputStream;
 import com.portfolio.backend.users.entity.enums.Role;
 
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
     private final PasswordEncoder passwordEncoder;
-    private final Cloudinary cloudinary;
+    private final ProfileImageUploader profileImageUploader;
+    private final UserDeletionService userDeletionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPager keysetPager;
+    private final JsonArrayWriter jsonArrayWriter;
 
     @Override
     public UserDTO getMyUser(String email) {
-        User user = userRepository.findByEmail(email)
+        return userLookupCache.getByEmail(email)
+                .map(UserLookup::toDTO)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + email));
-        return mapToDTO(user);
     }
 
     @Override
@@ -57,36 +73,44 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(updatedUser.getId()));
         return mapToDTO(updatedUser);
     }
 
     @Override
-    public UserDTO updateProfileImage(String email, MultipartFile file) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + email));
-
-        try {
-            // Upload to Cloudinary
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.emptyMap());
+    public ImageUploadJobDTO updateProfileImage(String email, MultipartFile file) {
+        return profileImageUploader.submit(findUserId(email), file);
+    }
 
-            // Get secure URL
-            String imageUrl = (String) uploadResult.get("secure_url");
+    @Override
+    public ImageUploadJobDTO getProfileImageJob(String email, String jobId) {
+        return profileImageUploader.getJob(findUserId(email), jobId);
+    }
 
-            user.setImageUrl(imageUrl);
-            User savedUser = userRepository.save(user);
+    private Long findUserId(String email) {
+        return userLookupCache.getByEmail(email)
+                .map(UserLookup::id)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + email));
+    }
 
-            return mapToDTO(savedUser);
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDTO> getAllUsers() {
+        return userRepository.findAllAsDTO();
+    }
 
-        } catch (IOException ex) {
-            throw new RuntimeException("Error al subir imagen a Cloudinary: " + ex.getMessage(), ex);
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<UserDTO> getAllUsers(KeysetParams params) {
+        return keysetPager.page(UserRepository.DTO_SELECT, "u", UserDTO.class, null, Map.of(), params);
     }
 
     @Override
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void writeAllUsers(OutputStream out) {
+        try (Stream<UserDTO> rows = userRepository.streamAllAsDTO()) {
+            jsonArrayWriter.write(rows, out);
+        }
     }
 
     @Override
@@ -98,6 +122,7 @@ public class UserServiceImpl implements UserService {
             Role role = Role.valueOf(roleName.toUpperCase());
             user.setRole(role);
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(UserChangedEvent.updated(savedUser.getId()));
             return mapToDTO(savedUser);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Rol inválido: " + roleName);
@@ -105,11 +130,13 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional
-    public void deleteUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + userId));
-        userRepository.delete(user);
+    public UserDeletionJobDTO deleteUser(Long userId) {
+        return userDeletionService.submit(userId);
+    }
+
+    @Override
+    public UserDeletionJobDTO getDeletionJob(String jobId) {
+        return userDeletionService.getJob(jobId);
     }
 
     private UserDTO mapToDTO(User user) {
@@ -118,6 +145,7 @@ public class UserServiceImpl implements UserService {
                 .name(user.getName())
                 .email(user.getEmail())
                 .imageUrl(user.getImageUrl())
+                .imageVariants(ImageVariantsDTO.of(user.getImageHash()))
                 .role(user.getRole().name())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
@@ -0,0 +1,189 @@
+package com.portfolio.backend.advisories.services;
+
+import com.portfolio.backend.advisories.dto.AdvisoryDTO;
+import com.portfolio.backend.advisories.entity.Advisory;
+import com.portfolio.backend.advisories.entity.enums.AdvisoryStatus;
+import com.portfolio.backend.advisories.repository.AdvisoryRepository;
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.events.ScheduleChangeType;
+import com.portfolio.backend.schedules.repository.ScheduleChangeRepository;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Emails end in example.com so no mail is sent
+@SpringBootTest
+class AdvisoryBookingRaceTest {
+
+    private static final int CALLERS = 4;
+
+    @Autowired
+    private AdvisoryService advisoryService;
+
+    @Autowired
+    private AdvisoryRepository advisoryRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ScheduleChangeRepository scheduleChangeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentBookingsOfOneSlotHaveOneWinner() throws Exception {
+        User programmer = user("race-programmer@example.com", Role.PROGRAMMER);
+        Schedule slot = slot(programmer, LocalDate.now().plusDays(3), LocalTime.of(10, 0));
+        List<Callable<AdvisoryDTO>> bookings = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            User client = user("race-client-" + i + "@example.com", Role.USER);
+            bookings.add(() -> advisoryService.createAdvisory(AdvisoryDTO.builder()
+                    .programmerId(programmer.getId())
+                    .userId(client.getId())
+                    .scheduleId(slot.getId())
+                    .date(slot.getDate())
+                    .time(slot.getTime())
+                    .modality("VIRTUAL")
+                    .build()));
+        }
+
+        List<Throwable> failures = race(bookings);
+
+        assertEquals(CALLERS - 1, failures.size());
+        failures.forEach(error -> assertTrue(error.getMessage().contains("already booked"), error.getMessage()));
+        assertEquals(ScheduleStatus.BOOKED, scheduleRepository.findById(slot.getId()).orElseThrow().getStatus());
+        assertEquals(1, advisoryRepository.findAll().stream()
+                .filter(a -> a.getSchedule() != null && a.getSchedule().getId().equals(slot.getId()))
+                .count());
+    }
+
+    @Test
+    void concurrentOverlappingAcceptsHaveOneWinner() throws Exception {
+        User programmer = user("overlap-programmer@example.com", Role.PROGRAMMER);
+        User client = user("overlap-client@example.com", Role.USER);
+        LocalDate day = LocalDate.now().plusDays(4);
+        List<Callable<AdvisoryDTO>> accepts = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            // 10:00-11:00, 10:15-11:15, ... all overlap each other
+            Schedule slot = slot(programmer, day, LocalTime.of(10, 15 * i));
+            slot.setStatus(ScheduleStatus.BOOKED);
+            scheduleRepository.save(slot);
+            Long advisoryId = advisoryRepository.save(Advisory.builder()
+                    .programmer(programmer)
+                    .user(client)
+                    .schedule(slot)
+                    .status(AdvisoryStatus.PENDING)
+                    .date(day)
+                    .time(slot.getTime())
+                    .modality("VIRTUAL")
+                    .build()).getId();
+            accepts.add(() -> advisoryService.updateAdvisoryStatus(advisoryId, "ACCEPTED", null));
+        }
+
+        List<Throwable> failures = race(accepts);
+
+        assertEquals(CALLERS - 1, failures.size());
+        failures.forEach(error -> assertTrue(error.getMessage().contains("conflict"), error.getMessage()));
+        assertEquals(1, advisoryRepository.findAll().stream()
+                .filter(a -> a.getProgrammer().getId().equals(programmer.getId())
+                        && a.getStatus() == AdvisoryStatus.ACCEPTED)
+                .count());
+    }
+
+    // Rejecting again after someone else booked the freed slot must leave it booked
+    @Test
+    void rejectionFreesOnlyASlotTheAdvisoryStillHolds() {
+        User programmer = user("reject-programmer@example.com", Role.PROGRAMMER);
+        Schedule slot = slot(programmer, LocalDate.now().plusDays(5), LocalTime.of(10, 0));
+        AdvisoryDTO first = book(programmer, user("reject-first@example.com", Role.USER), slot);
+
+        advisoryService.updateAdvisoryStatus(first.getId(), "REJECTED", null);
+        assertEquals(ScheduleStatus.AVAILABLE, scheduleRepository.findById(slot.getId()).orElseThrow().getStatus());
+
+        book(programmer, user("reject-second@example.com", Role.USER), slot);
+        advisoryService.updateAdvisoryStatus(first.getId(), "REJECTED", null);
+
+        assertEquals(ScheduleStatus.BOOKED, scheduleRepository.findById(slot.getId()).orElseThrow().getStatus());
+        assertEquals(1, scheduleChangeRepository.findAll().stream()
+                .filter(c -> c.getScheduleId().equals(slot.getId()) && c.getChangeType() == ScheduleChangeType.FREED)
+                .count());
+    }
+
+    private AdvisoryDTO book(User programmer, User client, Schedule slot) {
+        return advisoryService.createAdvisory(AdvisoryDTO.builder()
+                .programmerId(programmer.getId())
+                .userId(client.getId())
+                .scheduleId(slot.getId())
+                .date(slot.getDate())
+                .time(slot.getTime())
+                .modality("VIRTUAL")
+                .build());
+    }
+
+    // Starts every call at once and returns the errors of the ones that failed
+    private static List<Throwable> race(List<Callable<AdvisoryDTO>> calls) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(calls.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AdvisoryDTO>> results = new ArrayList<>();
+        try {
+            for (Callable<AdvisoryDTO> call : calls) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<AdvisoryDTO> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private User user(String email, Role role) {
+        return userRepository.save(User.builder()
+                .name("Test")
+                .email(email)
+                .password("secret")
+                .role(role)
+                .build());
+    }
+
+    private Schedule slot(User programmer, LocalDate date, LocalTime time) {
+        return scheduleRepository.save(Schedule.builder()
+                .programmer(programmer)
+                .date(date)
+                .time(time)
+                .modality(Modality.VIRTUAL)
+                .build());
+    }
+}
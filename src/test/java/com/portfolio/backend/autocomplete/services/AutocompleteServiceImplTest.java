@@ -0,0 +1,69 @@
+package com.portfolio.backend.autocomplete.services;
+
+import com.portfolio.backend.autocomplete.dtos.TermSuggestionDTO;
+import com.portfolio.backend.profiles.dtos.UpdateProfileRequest;
+import com.portfolio.backend.profiles.services.ProgrammerProfileService;
+import com.portfolio.backend.users.deletion.UserDeletionJobDTO;
+import com.portfolio.backend.users.deletion.UserDeletionService;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class AutocompleteServiceImplTest {
+
+    private static final String SKILL = "Zyxlang";
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private ProgrammerProfileService profileService;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Both ways a profile disappears must take its skills out of the suggestions
+    @Test
+    void deletedProfilesLeaveTheSuggestions() throws Exception {
+        User kept = programmer("skills-kept@test.dev");
+        User removed = programmer("skills-removed@test.dev");
+        User deleted = programmer("skills-deleted@test.dev");
+        assertEquals(List.of(new TermSuggestionDTO(SKILL, 3)), autocompleteService.suggestSkills("zyx", 10));
+
+        profileService.deleteProfile(removed.getEmail());
+        assertEquals(List.of(new TermSuggestionDTO(SKILL, 2)), autocompleteService.suggestSkills("zyx", 10));
+
+        UserDeletionJobDTO job = userDeletionService.submit(deleted.getId());
+        for (int i = 0; i < 200 && !"DONE".equals(userDeletionService.getJob(job.getJobId()).getStatus()); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(List.of(new TermSuggestionDTO(SKILL, 1)), autocompleteService.suggestSkills("zyx", 10));
+
+        profileService.deleteProfile(kept.getEmail());
+        assertEquals(List.of(), autocompleteService.suggestSkills("zyx", 10));
+    }
+
+    private User programmer(String email) {
+        User user = userRepository.save(User.builder()
+                .name("Test")
+                .email(email)
+                .password("secret")
+                .role(Role.PROGRAMMER)
+                .build());
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setSkills(List.of(SKILL, "Java"));
+        profileService.createOrUpdateProfile(email, request, null);
+        return user;
+    }
+}
@@ -0,0 +1,143 @@
+package com.portfolio.backend.common;
+
+import com.portfolio.backend.profiles.dtos.UpdateProfileRequest;
+import com.portfolio.backend.profiles.services.ProgrammerProfileService;
+import com.portfolio.backend.projects.dtos.CreateProjectRequest;
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.dtos.UpdateProjectRequest;
+import com.portfolio.backend.projects.entity.enums.ProjectType;
+import com.portfolio.backend.projects.services.ProjectService;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = RecordingInspector.PROPERTY)
+class ElementCollectionUpdateTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProgrammerProfileService profileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearStatements() {
+        RecordingInspector.clear();
+    }
+
+    // Rows are keyed by tech: each update writes only the techs that came,
+    // went or moved, wherever they are in the list
+    @Test
+    void changingTechsWritesOnlyTheChangedOnes() {
+        String email = createUser("techs@test.dev", Role.USER);
+        ProjectDTO project = projectService.createProject(email, new CreateProjectRequest(
+                "Proyecto", null, ProjectType.PROFESIONAL, List.of("Java", "Spring Boot", "React", "Docker"),
+                null, null, null));
+
+        // deleted, inserted, moved
+        assertRowsWritten(project, email, List.of("Java", "Spring Boot", "Vue", "Docker"), 1, 1, 0);
+        assertRowsWritten(project, email, List.of("Java", "Spring Boot", "Vue", "Docker", "Redis"), 0, 1, 0);
+        assertRowsWritten(project, email, List.of("Go", "Java", "Spring Boot", "Vue", "Docker", "Redis"), 0, 1, 0);
+        assertRowsWritten(project, email, List.of("Java", "Spring Boot", "Vue", "Docker", "Redis"), 1, 0, 0);
+        assertRowsWritten(project, email, List.of("Redis", "Java", "Spring Boot", "Vue", "Docker"), 0, 0, 1);
+        assertRowsWritten(project, email, List.of("Redis", "Java", "Spring Boot", "Vue", "Docker"), 0, 0, 0);
+    }
+
+    @Test
+    void changingOneSkillWritesOneRow() {
+        String email = createUser("skills@test.dev", Role.PROGRAMMER);
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setSkills(List.of("Java", "Kotlin", "SQL"));
+        profileService.createOrUpdateProfile(email, request, null);
+
+        RecordingInspector.clear();
+        request.setSkills(List.of("Java", "Kotlin"));
+        List<String> skills = profileService.createOrUpdateProfile(email, request, null).getSkills();
+
+        List<String> writes = writesTo("programmer_skills");
+        assertEquals(1, writes.size(), writes.toString());
+        assertTrue(writes.get(0).startsWith("delete"), writes.toString());
+        assertEquals(List.of("Java", "Kotlin"), skills);
+
+        RecordingInspector.clear();
+        request.setSkills(List.of("Go", "Java", "Kotlin"));
+        skills = profileService.createOrUpdateProfile(email, request, null).getSkills();
+
+        writes = writesTo("programmer_skills");
+        assertEquals(1, writes.size(), writes.toString());
+        assertTrue(writes.get(0).startsWith("insert"), writes.toString());
+        assertEquals(List.of("Go", "Java", "Kotlin"), skills);
+    }
+
+    // Rows are compared in the table itself: JDBC batching runs many rows
+    // through one statement, so statements alone cannot tell how many changed
+    private void assertRowsWritten(ProjectDTO project, String email, List<String> techs, int deleted, int inserted,
+            int moved) {
+        Map<String, Integer> before = techRows(project.getId());
+        RecordingInspector.clear();
+        ProjectDTO updated = projectService.updateProject(project.getId(), email, new UpdateProjectRequest(
+                null, null, null, techs, null, null, null), null);
+        Map<String, Integer> after = techRows(project.getId());
+
+        List<String> writes = writesTo("project_techs");
+        assertTrue(writes.stream().noneMatch(sql -> sql.startsWith("delete") && !sql.contains("tech=")),
+                writes.toString());
+        assertEquals(deleted, before.keySet().stream().filter(tech -> !after.containsKey(tech)).count());
+        assertEquals(inserted, after.keySet().stream().filter(tech -> !before.containsKey(tech)).count());
+        assertEquals(moved, after.keySet().stream()
+                .filter(tech -> before.containsKey(tech) && !before.get(tech).equals(after.get(tech)))
+                .count());
+        assertEquals(techs, updated.getTechs());
+        assertEquals(techs, projectService.getProjectsByUserId(project.getOwnerId()).stream()
+                .filter(p -> p.getId().equals(project.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getTechs());
+    }
+
+    private Map<String, Integer> techRows(Long projectId) {
+        Map<String, Integer> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT tech, tech_order FROM project_techs WHERE project_id = ?",
+                rs -> {
+                    rows.put(rs.getString(1), rs.getInt(2));
+                }, projectId);
+        return rows;
+    }
+
+    private String createUser(String email, Role role) {
+        userRepository.save(User.builder()
+                .name("Test")
+                .email(email)
+                .password("secret")
+                .role(role)
+                .build());
+        return email;
+    }
+
+    private static List<String> writesTo(String table) {
+        return RecordingInspector.statements().stream()
+                .map(sql -> sql.trim().toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains(table))
+                .filter(sql -> sql.startsWith("insert") || sql.startsWith("update") || sql.startsWith("delete"))
+                .toList();
+    }
+}
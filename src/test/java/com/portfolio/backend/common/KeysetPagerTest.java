@@ -0,0 +1,127 @@
+package com.portfolio.backend.common;
+
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class KeysetPagerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Five slots with the same created_at, two per page: the id tie-breaker
+    // must hand out every slot exactly once, in order, in both directions
+    @Test
+    void cursorsWalkTiedTimestampsInOrder() throws Exception {
+        User programmer = programmer("keyset-tie@test.dev");
+        List<Long> ids = new ArrayList<>();
+        for (int hour = 8; hour < 13; hour++) {
+            ids.add(slot(programmer, hour).getId());
+        }
+        jdbcTemplate.update("UPDATE schedules SET created_at = ? WHERE programmer_id = ?",
+                LocalDateTime.of(2026, 1, 1, 12, 0), programmer.getId());
+
+        assertEquals(ids, walk(programmer, "asc", List.of(2, 2, 1)));
+        assertEquals(ids.stream().sorted(Comparator.reverseOrder()).toList(),
+                walk(programmer, "desc", List.of(2, 2, 1)));
+    }
+
+    // A last page that is exactly full must not advertise a next one
+    @Test
+    void fullLastPageHasNoNextCursor() throws Exception {
+        User programmer = programmer("keyset-last@test.dev");
+        List<Long> ids = List.of(slot(programmer, 8).getId(), slot(programmer, 9).getId(),
+                slot(programmer, 10).getId(), slot(programmer, 11).getId());
+
+        assertEquals(ids, walk(programmer, "asc", List.of(2, 2)));
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() throws Exception {
+        User programmer = programmer("keyset-tampered@test.dev");
+        for (String cursor : List.of("not a cursor", encode("createdAt|asc|yesterday|1"),
+                encode("createdAt|asc|2026-01-01T12:00"), encode("name|asc||1"))) {
+            mockMvc.perform(get("/api/schedules/programmer/{id}", programmer.getId()).param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private List<Long> walk(User programmer, String dir, List<Integer> pageSizes) throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < pageSizes.size(); page++) {
+            var request = get("/api/schedules/programmer/{id}", programmer.getId()).param("limit", "2");
+            request = cursor != null ? request.param("cursor", cursor)
+                    : request.param("sort", "createdAt").param("dir", dir);
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            JsonNode items = objectMapper.readTree(result.getResponse().getContentAsString());
+            assertEquals(pageSizes.get(page), items.size());
+            items.forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = result.getResponse().getHeader(KeysetPage.NEXT_CURSOR_HEADER);
+        }
+        assertNull(cursor);
+        return seen;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User programmer(String email) {
+        return userRepository.save(User.builder()
+                .name("Test")
+                .email(email)
+                .password("secret")
+                .role(Role.PROGRAMMER)
+                .build());
+    }
+
+    private Schedule slot(User programmer, int hour) {
+        return scheduleRepository.save(Schedule.builder()
+                .programmer(programmer)
+                .date(LocalDate.now().plusWeeks(1))
+                .time(LocalTime.of(hour, 0))
+                .modality(Modality.VIRTUAL)
+                .build());
+    }
+}
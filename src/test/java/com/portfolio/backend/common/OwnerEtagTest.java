@@ -0,0 +1,116 @@
+package com.portfolio.backend.common;
+
+import com.portfolio.backend.profiles.dtos.UpdateProfileRequest;
+import com.portfolio.backend.profiles.services.ProgrammerProfileService;
+import com.portfolio.backend.projects.entity.Project;
+import com.portfolio.backend.projects.entity.enums.ProjectType;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import com.portfolio.backend.users.dtos.UpdateUserRequest;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.events.UserChangedEvent;
+import com.portfolio.backend.users.repository.UserRepository;
+import com.portfolio.backend.users.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Profiles and projects render their owner's name, email and image, so an
+// owner write must change their ETags even though their own version does not
+@SpringBootTest
+@AutoConfigureMockMvc
+class OwnerEtagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProgrammerProfileService profileService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void ownerWritesChangeProfileAndProjectTags() throws Exception {
+        User owner = userRepository.save(User.builder()
+                .name("Before")
+                .email("etag-owner@test.dev")
+                .password("secret")
+                .role(Role.PROGRAMMER)
+                .build());
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setSkills(List.of("Java"));
+        profileService.createOrUpdateProfile(owner.getEmail(), request, null);
+        Project project = projectRepository.save(Project.builder()
+                .name("Etag")
+                .type(ProjectType.PROFESIONAL)
+                .techs(List.of("Java"))
+                .owner(owner)
+                .build());
+        String profileUrl = "/api/profiles/user/" + owner.getId();
+        String projectUrl = "/api/projects/" + project.getId();
+
+        String profileTag = etag(profileUrl, null);
+        String projectTag = etag(projectUrl, null);
+        // Second read comes from the project cache
+        mockMvc.perform(get(projectUrl).header("If-None-Match", projectTag)).andExpect(status().isNotModified());
+
+        Thread.sleep(5);
+        userService.updateUser(owner.getEmail(), UpdateUserRequest.builder().name("After").build());
+        mockMvc.perform(get(profileUrl).header("If-None-Match", profileTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userName").value("After"));
+        mockMvc.perform(get(projectUrl).header("If-None-Match", projectTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ownerName").value("After"));
+        String renamedTag = etag(profileUrl, profileTag);
+
+        // Same bulk UPDATE the image uploader runs
+        Thread.sleep(5);
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.updateImage(owner.getId(), "/uploads/" + "cd".repeat(32) + ".jpg", "cd".repeat(32));
+            eventPublisher.publishEvent(UserChangedEvent.updated(owner.getId()));
+        });
+        String imageTag = etag(profileUrl, renamedTag);
+
+        // Edits are still checked against the profile's own version
+        assertEquals(VersionTags.expectedVersion(profileTag, "profile"),
+                VersionTags.expectedVersion(imageTag, "profile"));
+    }
+
+    // GETs the resource and returns its tag, which must differ from the previous one
+    private String etag(String url, String previous) throws Exception {
+        var request = get(url);
+        if (previous != null) {
+            request.header("If-None-Match", previous);
+        }
+        String tag = mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(previous, tag);
+        return tag;
+    }
+}
@@ -0,0 +1,165 @@
+package com.portfolio.backend.common;
+
+import com.portfolio.backend.advisories.entity.Advisory;
+import com.portfolio.backend.advisories.entity.enums.AdvisoryStatus;
+import com.portfolio.backend.advisories.repository.AdvisoryRepository;
+import com.portfolio.backend.advisories.services.AdvisoryService;
+import com.portfolio.backend.profiles.dtos.UpdateProfileRequest;
+import com.portfolio.backend.profiles.services.ProgrammerProfileService;
+import com.portfolio.backend.projects.dtos.CreateProjectRequest;
+import com.portfolio.backend.projects.entity.enums.ProjectType;
+import com.portfolio.backend.projects.services.ProjectService;
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.schedules.services.ScheduleService;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import com.portfolio.backend.users.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * List endpoints must issue the same number of SELECTs whether they return a
+ * handful of rows or many, i.e. no query per row (N+1).
+ */
+@SpringBootTest(properties = RecordingInspector.PROPERTY)
+class ReadQueryCountTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProgrammerProfileService profileService;
+
+    @Autowired
+    private AdvisoryService advisoryService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private AdvisoryRepository advisoryRepository;
+
+    @Test
+    void listQueryCountDoesNotGrowWithResultSize() {
+        User small = seedProgrammer("small", 1);
+        Map<String, Integer> before = countSelects(small);
+
+        User large = seedProgrammer("large", 4);
+        for (int i = 0; i < 5; i++) {
+            seedProgrammer("extra" + i, 2);
+        }
+        Map<String, Integer> after = countSelects(large);
+
+        assertEquals(before, after);
+        before.forEach((name, selects) -> assertTrue(selects <= 3, name + " ran " + selects + " selects"));
+    }
+
+    private Map<String, Integer> countSelects(User programmer) {
+        Long id = programmer.getId();
+        KeysetParams page = new KeysetParams();
+        page.setLimit(100);
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("projects", selects(() -> projectService.getAllProjects()));
+        counts.put("projects by user", selects(() -> projectService.getProjectsByUserId(id)));
+        counts.put("projects page", selects(() -> projectService.getAllProjects(page)));
+        counts.put("profiles", selects(() -> profileService.getAllProfiles()));
+        counts.put("profiles page", selects(() -> profileService.getAllProfiles(page)));
+        counts.put("advisories", selects(() -> advisoryService.getAllAdvisories()));
+        counts.put("advisories by programmer", selects(() -> advisoryService.getAdvisoriesByProgrammer(id)));
+        counts.put("advisories page", selects(() -> advisoryService.getAllAdvisories(page)));
+        counts.put("users", selects(() -> userService.getAllUsers()));
+        counts.put("users page", selects(() -> userService.getAllUsers(page)));
+        counts.put("schedules", selects(() -> scheduleService.getAllSchedules()));
+        counts.put("schedules by programmer", selects(() -> scheduleService.getSchedulesByProgrammer(id)));
+        counts.put("schedules page", selects(() -> scheduleService.getAllSchedules(page)));
+        counts.put("calendar", selects(() -> {
+            try {
+                scheduleService.writeCalendar(id, new StringWriter());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }));
+        return counts;
+    }
+
+    private int selects(Supplier<?> call) {
+        RecordingInspector.clear();
+        call.get();
+        return (int) RecordingInspector.statementsOnCurrentThread().stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .count();
+    }
+
+    // A programmer with a profile, `rows` projects / free slots, and as many
+    // accepted advisories from a client of their own
+    private User seedProgrammer(String name, int rows) {
+        User programmer = saveUser(name + "@count.dev", Role.PROGRAMMER);
+        User client = saveUser(name + "-client@count.dev", Role.USER);
+
+        UpdateProfileRequest profile = new UpdateProfileRequest();
+        profile.setSkills(List.of("Java", "SQL"));
+        profileService.createOrUpdateProfile(programmer.getEmail(), profile, null);
+
+        for (int i = 0; i < rows; i++) {
+            projectService.createProject(programmer.getEmail(), new CreateProjectRequest(
+                    name + " " + i, null, ProjectType.PROFESIONAL, List.of("Java", "React"), null, null, null));
+            Schedule slot = scheduleRepository.save(Schedule.builder()
+                    .programmer(programmer)
+                    .date(LocalDate.now().plusDays(i + 1))
+                    .time(LocalTime.of(9, 0))
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(10, 0))
+                    .dayOfWeek("MONDAY")
+                    .modality(Modality.VIRTUAL)
+                    .build());
+            advisoryRepository.save(Advisory.builder()
+                    .programmer(programmer)
+                    .user(client)
+                    .schedule(slot)
+                    .status(AdvisoryStatus.ACCEPTED)
+                    .date(slot.getDate())
+                    .time(slot.getTime())
+                    .modality("VIRTUAL")
+                    .build());
+        }
+        return programmer;
+    }
+
+    private User saveUser(String email, Role role) {
+        return userRepository.save(User.builder()
+                .name("Count")
+                .email(email)
+                .password("secret")
+                .role(role)
+                .build());
+    }
+}
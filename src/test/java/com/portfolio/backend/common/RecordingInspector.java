@@ -0,0 +1,41 @@
+package com.portfolio.backend.common;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares, with the thread that ran it,
+ * so tests can assert on the statements a service call issued.
+ */
+public class RecordingInspector implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.portfolio.backend.common.RecordingInspector";
+
+    private record Recorded(Thread thread, String sql) {
+    }
+
+    private static final List<Recorded> RECORDED = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        RECORDED.add(new Recorded(Thread.currentThread(), sql));
+        return sql;
+    }
+
+    static void clear() {
+        RECORDED.clear();
+    }
+
+    static List<String> statements() {
+        return RECORDED.stream().map(Recorded::sql).toList();
+    }
+
+    // Only the calling thread's statements; background jobs cannot skew the count
+    static List<String> statementsOnCurrentThread() {
+        Thread current = Thread.currentThread();
+        return RECORDED.stream().filter(r -> r.thread() == current).map(Recorded::sql).toList();
+    }
+}
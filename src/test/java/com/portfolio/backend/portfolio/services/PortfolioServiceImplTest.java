@@ -0,0 +1,121 @@
+package com.portfolio.backend.portfolio.services;
+
+import com.portfolio.backend.advisories.services.AdvisoryService;
+import com.portfolio.backend.portfolio.dtos.PortfolioDTO;
+import com.portfolio.backend.profiles.dtos.ProgrammerProfileDTO;
+import com.portfolio.backend.profiles.dtos.UpdateProfileRequest;
+import com.portfolio.backend.profiles.services.ProgrammerProfileService;
+import com.portfolio.backend.projects.services.ProjectService;
+import com.portfolio.backend.schedules.services.ScheduleService;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PortfolioServiceImplTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProgrammerProfileService profileService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // One section hangs past the deadline and another fails: both are
+    // reported, the rest still arrives, and the hung one is interrupted
+    @Test
+    void slowAndFailingSectionsAreReportedAsUnavailable() throws Exception {
+        User user = User.builder().id(7L).name("Ana").email("ana@test.dev").role(Role.PROGRAMMER).build();
+        UserRepository users = mock(UserRepository.class);
+        ProgrammerProfileService profiles = mock(ProgrammerProfileService.class);
+        ProjectService projects = mock(ProjectService.class);
+        ScheduleService schedules = mock(ScheduleService.class);
+        AdvisoryService advisories = mock(AdvisoryService.class);
+        when(users.findById(7L)).thenReturn(Optional.of(user));
+        when(profiles.findProfileByUser(any())).thenReturn(Optional.of(new ProgrammerProfileDTO()));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(projects.getProjectsByOwner(any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        });
+        when(schedules.getSchedulesByProgrammer(7L)).thenThrow(new RuntimeException("database down"));
+        when(advisories.findProgrammerStats(7L)).thenReturn(Optional.of(Map.of("total", 3L)));
+        PortfolioServiceImpl service = new PortfolioServiceImpl(users, profiles, projects, schedules, advisories);
+        ReflectionTestUtils.setField(service, "sectionTimeoutMs", 200L);
+
+        long start = System.nanoTime();
+        PortfolioDTO portfolio = service.getPortfolio(7L, true);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 2_000, "took " + elapsedMs + " ms");
+        assertEquals(List.of("projects", "schedules"), portfolio.getUnavailable());
+        assertNotNull(portfolio.getProfile());
+        assertNull(portfolio.getProjects());
+        assertNull(portfolio.getSchedules());
+        assertEquals(Map.of("total", 3L), portfolio.getAdvisoryStats());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+
+    @Test
+    void statsAreLeftOutForAnonymousCallers() throws Exception {
+        User programmer = userRepository.save(User.builder()
+                .name("Test")
+                .email("portfolio-stats@test.dev")
+                .password("secret")
+                .role(Role.PROGRAMMER)
+                .build());
+        profileService.createOrUpdateProfile(programmer.getEmail(), new UpdateProfileRequest(), null);
+
+        mockMvc.perform(get("/api/portfolio/{id}", programmer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profile").exists())
+                .andExpect(jsonPath("$.advisoryStats").doesNotExist())
+                .andExpect(jsonPath("$.unavailable").isEmpty());
+        mockMvc.perform(get("/api/portfolio/{id}", programmer.getId()).with(user("visitor@test.dev")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.advisoryStats.total").value(0));
+
+        AdvisoryService advisories = mock(AdvisoryService.class);
+        UserRepository users = mock(UserRepository.class);
+        when(users.findById(programmer.getId())).thenReturn(Optional.of(programmer));
+        PortfolioServiceImpl service = new PortfolioServiceImpl(users, mock(ProgrammerProfileService.class),
+                mock(ProjectService.class), mock(ScheduleService.class), advisories);
+        ReflectionTestUtils.setField(service, "sectionTimeoutMs", 1_000L);
+        assertNull(service.getPortfolio(programmer.getId(), false).getAdvisoryStats());
+        verifyNoInteractions(advisories);
+        service.shutdown();
+    }
+}
@@ -0,0 +1,50 @@
+package com.portfolio.backend.projects.search;
+
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.dtos.ProjectFacetsDTO;
+import com.portfolio.backend.projects.entity.enums.ProjectType;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ProjectFacetIndexTest {
+
+    private final ProjectFacetIndex index = new ProjectFacetIndex(mock(ProjectRepository.class));
+
+    @Test
+    void countsFollowUpdatesAndDeletes() {
+        ProjectDTO first = project(1L, ProjectType.PROFESIONAL, "Java", "React");
+        index.onProjectChanged(ProjectChangedEvent.created(first));
+        index.onProjectChanged(ProjectChangedEvent.created(project(2L, ProjectType.ACADEMICO, "react", "Python")));
+
+        ProjectFacetsDTO facets = index.facets(List.of(), 10);
+        assertEquals(2, facets.getTotal());
+        assertEquals(new ProjectFacetsDTO.FacetCount("React", 2), facets.getTechs().get(0));
+        assertEquals(Map.of("PROFESIONAL", 1L, "ACADEMICO", 1L), facets.getTypes());
+
+        ProjectDTO moved = project(1L, ProjectType.ACADEMICO, "Java", "Angular");
+        index.onProjectChanged(ProjectChangedEvent.updated(first, moved));
+        facets = index.facets(List.of("JAVA"), 10);
+        assertEquals(1, facets.getTotal());
+        assertEquals(List.of(new ProjectFacetsDTO.FacetCount("Angular", 1), new ProjectFacetsDTO.FacetCount("Java", 1)),
+                facets.getTechs());
+        assertEquals(Map.of("PROFESIONAL", 0L, "ACADEMICO", 1L), facets.getTypes());
+
+        index.onProjectChanged(ProjectChangedEvent.deleted(moved));
+        facets = index.facets(List.of(), 10);
+        assertEquals(1, facets.getTotal());
+        assertEquals(List.of(new ProjectFacetsDTO.FacetCount("Python", 1), new ProjectFacetsDTO.FacetCount("React", 1)),
+                facets.getTechs());
+        assertEquals(0, index.facets(List.of("Java"), 10).getTotal());
+    }
+
+    private static ProjectDTO project(Long id, ProjectType type, String... techs) {
+        return ProjectDTO.builder().id(id).name("Project " + id).type(type).techs(List.of(techs)).build();
+    }
+}
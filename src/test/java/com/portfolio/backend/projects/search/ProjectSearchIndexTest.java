@@ -0,0 +1,45 @@
+package com.portfolio.backend.projects.search;
+
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ProjectSearchIndexTest {
+
+    private final ProjectSearchIndex index = new ProjectSearchIndex(mock(ProjectRepository.class));
+
+    @Test
+    void findsByNameDescriptionAndTechWithNameFirst() {
+        index.onProjectChanged(ProjectChangedEvent.created(project(1L, "Inventario", "Control de bodega", "Java")));
+        index.onProjectChanged(ProjectChangedEvent.created(project(2L, "Tienda", "Inventario de la tienda", "React")));
+        index.onProjectChanged(ProjectChangedEvent.created(project(3L, "Blog", "Notas personales", "Astro")));
+
+        assertEquals(new ProjectSearchIndex.SearchHits(2, List.of(1L, 2L)), index.search("inventario", 0, 10));
+        assertEquals(List.of(2L), index.search("REACT", 0, 10).projectIds());
+        assertEquals(new ProjectSearchIndex.SearchHits(0, List.of()), index.search("kotlin", 0, 10));
+    }
+
+    @Test
+    void updatesAndDeletesReplaceTheTerms() {
+        ProjectDTO before = project(1L, "Agenda", "Citas medicas", "Vue");
+        index.onProjectChanged(ProjectChangedEvent.created(before));
+        ProjectDTO after = project(1L, "Agenda", "Reservas de canchas", "Vue");
+        index.onProjectChanged(ProjectChangedEvent.updated(before, after));
+
+        assertEquals(0, index.search("medicas", 0, 10).total());
+        assertEquals(List.of(1L), index.search("canchas", 0, 10).projectIds());
+
+        index.onProjectChanged(ProjectChangedEvent.deleted(after));
+        assertEquals(0, index.search("agenda", 0, 10).total());
+    }
+
+    private static ProjectDTO project(Long id, String name, String description, String tech) {
+        return ProjectDTO.builder().id(id).name(name).description(description).techs(List.of(tech)).build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.portfolio.backend.projects.search;
+
+import com.portfolio.backend.projects.dtos.ProjectDTO;
+import com.portfolio.backend.projects.events.ProjectChangedEvent;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ProjectSimilarityIndexTest {
+
+    private final ProjectSimilarityIndex index = new ProjectSimilarityIndex(mock(ProjectRepository.class));
+
+    // Pairs at exactly J = 0.5 ({x, y, a} vs {x, y, b}); the banding finds
+    // them with probability ~0.986, so well over 95% must come back
+    @Test
+    void findsMostPairsAtTheStatedThreshold() {
+        int pairs = 500;
+        for (int i = 0; i < pairs; i++) {
+            add(2L * i + 1, "x" + i, "y" + i, "a" + i);
+            add(2L * i + 2, "x" + i, "y" + i, "b" + i);
+        }
+
+        int found = 0;
+        for (int i = 0; i < pairs; i++) {
+            List<ProjectSimilarityIndex.Match> matches = index.similar(2L * i + 1, 5);
+            if (!matches.isEmpty() && matches.get(0).projectId() == 2L * i + 2) {
+                assertEquals(0.5, matches.get(0).similarity(), 1e-9);
+                found++;
+            }
+        }
+        assertTrue(found >= pairs * 0.95, "recall " + found + "/" + pairs);
+    }
+
+    @Test
+    void ranksNeighborsByExactSimilarity() {
+        add(1L, "Java", "Spring", "PostgreSQL", "Docker");
+        add(2L, "Java", "Spring", "PostgreSQL", "Redis");
+        add(3L, "Java", "Spring", "Angular", "Redis");
+        add(4L, "Python", "Django", "Celery", "Vue");
+
+        List<ProjectSimilarityIndex.Match> matches = index.similar(1L, 5);
+
+        assertEquals(2L, matches.get(0).projectId());
+        assertEquals(0.6, matches.get(0).similarity(), 1e-9);
+        assertTrue(matches.stream().noneMatch(match -> match.projectId() == 4L));
+        assertTrue(matches.stream().noneMatch(match -> match.projectId() == 1L));
+
+        index.onProjectChanged(ProjectChangedEvent.deleted(project(2L)));
+        assertTrue(index.similar(1L, 5).stream().noneMatch(match -> match.projectId() == 2L));
+        assertEquals(List.of(), index.similar(2L, 5));
+    }
+
+    private void add(Long id, String... techs) {
+        index.onProjectChanged(ProjectChangedEvent.created(project(id, techs)));
+    }
+
+    private static ProjectDTO project(Long id, String... techs) {
+        return ProjectDTO.builder().id(id).name("Project " + id).techs(List.of(techs)).build();
+    }
+}
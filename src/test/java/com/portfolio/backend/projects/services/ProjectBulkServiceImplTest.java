@@ -0,0 +1,124 @@
+package com.portfolio.backend.projects.services;
+
+import com.portfolio.backend.projects.dtos.ProjectImportResultDTO;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Batches of 2 and room for 2 owners, so batches and evictions happen on a few lines
+@SpringBootTest(properties = { "projects.import.batch-size=2", "projects.import.max-cached-owners=2" })
+class ProjectBulkServiceImplTest {
+
+    @Autowired
+    private ProjectBulkService bulkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void failedLinesAreReportedAndTheRestIsImported() throws Exception {
+        User admin = user("bulk-admin@test.dev", Role.ADMIN);
+        String ndjson = String.join("\n",
+                line("Partial A", "Java"),
+                // Passes validation, but image_url is a VARCHAR(255)
+                "{\"name\":\"Partial B\",\"type\":\"ACADEMICO\",\"imageUrl\":\"https://img/" + "x".repeat(300) + "\"}",
+                line("Partial C", "Go"),
+                "{not json",
+                "{\"name\":\"Partial D\",\"type\":\"ACADEMICO\",\"description\":\"" + "y".repeat(70_000) + "\"}",
+                line("Partial E", "Rust"),
+                "",
+                line("Partial F", "Kotlin")) + "\r\n";
+
+        ProjectImportResultDTO result = bulkService.importProjects(stream(ndjson), admin.getEmail());
+
+        assertEquals(4, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(2L, 4L, 5L), result.getErrors().stream()
+                .map(ProjectImportResultDTO.LineError::getLine)
+                .toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Rejected by the database"));
+        assertTrue(result.getErrors().get(2).getMessage().startsWith("Line longer than"));
+        assertEquals(List.of("Partial A", "Partial C", "Partial E", "Partial F"),
+                exported("Partial ").stream().map(node -> node.get("name").asString()).toList());
+    }
+
+    // With two owners cached, every third line evicts one; each project must
+    // still end up with its own owner
+    @Test
+    void evictedOwnersAreLookedUpAgain() throws Exception {
+        User admin = user("bulk-evict-admin@test.dev", Role.ADMIN);
+        List<User> owners = List.of(user("bulk-owner-a@test.dev", Role.USER),
+                user("bulk-owner-b@test.dev", Role.USER), user("bulk-owner-c@test.dev", Role.USER));
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            User owner = owners.get(i % 3);
+            lines.add("{\"name\":\"Evict " + i + "\",\"type\":\"PROFESIONAL\",\"techs\":[\"Java\",\"SQL\"],"
+                    + (i % 2 == 0 ? "\"ownerEmail\":\"" + owner.getEmail() + "\"" : "\"ownerId\":" + owner.getId())
+                    + "}");
+        }
+
+        ProjectImportResultDTO result = bulkService.importProjects(stream(String.join("\n", lines)),
+                admin.getEmail());
+
+        assertEquals(9, result.getImported(), String.valueOf(result.getErrors()));
+        Map<String, JsonNode> exported = exported("Evict ").stream()
+                .collect(Collectors.toMap(node -> node.get("name").asString(), node -> node));
+        for (int i = 0; i < 9; i++) {
+            JsonNode project = exported.get("Evict " + i);
+            User owner = owners.get(i % 3);
+            assertEquals(owner.getId(), project.get("ownerId").asLong());
+            assertEquals(owner.getEmail(), project.get("ownerEmail").asString());
+            assertEquals(List.of("Java", "SQL"), List.of(project.get("techs").get(0).asString(),
+                    project.get("techs").get(1).asString()));
+        }
+    }
+
+    private List<JsonNode> exported(String namePrefix) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkService.exportProjects(out);
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("name").asString().startsWith(namePrefix)) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private static String line(String name, String tech) {
+        return "{\"name\":\"" + name + "\",\"type\":\"PROFESIONAL\",\"techs\":[\"" + tech + "\"]}";
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User user(String email, Role role) {
+        return userRepository.save(User.builder()
+                .name("Test")
+                .email(email)
+                .password("secret")
+                .role(role)
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.portfolio.backend.schedules.events;
+
+import com.portfolio.backend.schedules.dto.ScheduleChangeDTO;
+import com.portfolio.backend.schedules.dto.ScheduleChangeFeedDTO;
+import com.portfolio.backend.schedules.entity.ScheduleChange;
+import com.portfolio.backend.schedules.repository.ScheduleChangeRepository;
+import com.portfolio.backend.schedules.services.ScheduleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The scheduled run is pushed out of the way; the test drives the sequencer
+@SpringBootTest(properties = "schedules.changes.sequence-interval-ms=3600000")
+class ScheduleChangeSequencerTest {
+
+    private static final long PROGRAMMER = 424242L;
+
+    @Autowired
+    private ScheduleChangeSequencer sequencer;
+
+    @Autowired
+    private ScheduleChangeRepository changeRepository;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void changeCommittedLateIsNotSkipped() throws Exception {
+        sequencer.assignSequences();
+        long cursor = scheduleService.getLatestChangeCursor();
+
+        // A long transaction takes the lower id but commits last
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Long id = changeRepository.save(change(1L)).getId();
+            inserted.countDown();
+            await(commit);
+            return id;
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+        Long fastId = changeRepository.save(change(2L)).getId();
+
+        sequencer.assignSequences();
+        ScheduleChangeFeedDTO first = scheduleService.getChanges(cursor, PROGRAMMER, 100);
+        assertEquals(List.of(2L), scheduleIds(first));
+
+        commit.countDown();
+        Long slowId = slow.get(10, TimeUnit.SECONDS);
+        assertTrue(slowId < fastId);
+
+        sequencer.assignSequences();
+        ScheduleChangeFeedDTO second = scheduleService.getChanges(first.getCursor(), PROGRAMMER, 100);
+        assertEquals(List.of(1L), scheduleIds(second));
+        assertEquals(second.getCursor(), scheduleService.getLatestChangeCursor());
+    }
+
+    private static ScheduleChange change(Long scheduleId) {
+        return ScheduleChange.builder()
+                .changeType(ScheduleChangeType.CREATED)
+                .scheduleId(scheduleId)
+                .programmerId(PROGRAMMER)
+                .build();
+    }
+
+    private static List<Long> scheduleIds(ScheduleChangeFeedDTO feed) {
+        return feed.getChanges().stream().map(ScheduleChangeDTO::getScheduleId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
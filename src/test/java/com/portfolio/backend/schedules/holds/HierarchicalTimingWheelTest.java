@@ -0,0 +1,66 @@
+package com.portfolio.backend.schedules.holds;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    private final List<String> expired = new ArrayList<>();
+
+    // 4 buckets x 3 levels: delays up to 16 * 3 = 48 ticks
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(4, 3, 0, expired::add);
+
+    @Test
+    void firesEachTimeoutOnItsTickAcrossLevels() {
+        wheel.schedule("a", 1);
+        wheel.schedule("b", 7); // level 1, cascades once
+        wheel.schedule("c", 37); // level 2, cascades twice
+
+        wheel.advanceTo(6);
+        assertEquals(List.of("a"), expired);
+        wheel.advanceTo(7);
+        assertEquals(List.of("a", "b"), expired);
+        wheel.advanceTo(36);
+        assertEquals(List.of("a", "b"), expired);
+        wheel.advanceTo(37);
+        assertEquals(List.of("a", "b", "c"), expired);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() {
+        HierarchicalTimingWheel.Timeout<String> near = wheel.schedule("near", 2);
+        HierarchicalTimingWheel.Timeout<String> far = wheel.schedule("far", 20);
+        assertEquals(2, wheel.pending());
+
+        assertTrue(wheel.cancel(near));
+        wheel.advanceTo(10); // far has cascaded down by now
+        assertTrue(wheel.cancel(far));
+        assertFalse(wheel.cancel(far));
+        wheel.advanceTo(48);
+
+        assertEquals(List.of(), expired);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void rejectsDelaysBeyondRange() {
+        assertEquals(48, wheel.maxDelayTicks());
+        wheel.advanceTo(5); // not aligned to any level
+        wheel.schedule("last", wheel.maxDelayTicks());
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule("late", wheel.maxDelayTicks() + 1));
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule("now", 0));
+
+        wheel.advanceTo(5 + 47);
+        assertEquals(List.of(), expired);
+        wheel.advanceTo(5 + 48);
+        assertEquals(List.of("last"), expired);
+    }
+}
@@ -0,0 +1,219 @@
+package com.portfolio.backend.schedules.holds;
+
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScheduleHoldServiceTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final ManualClock clock = new ManualClock();
+    private ScheduleHoldService holds;
+
+    @BeforeEach
+    void setUp() {
+        ScheduleRepository repository = mock(ScheduleRepository.class);
+        when(repository.findById(anyLong())).thenAnswer(invocation -> Optional.of(Schedule.builder()
+                .id(invocation.getArgument(0))
+                .status(ScheduleStatus.AVAILABLE)
+                .build()));
+        holds = new ScheduleHoldService(repository, meters);
+        ReflectionTestUtils.setField(holds, "clock", clock);
+        ReflectionTestUtils.setField(holds, "defaultMinutes", 5);
+        ReflectionTestUtils.setField(holds, "maxMinutes", 15);
+    }
+
+    @AfterEach
+    void tearDown() {
+        holds.shutdown();
+    }
+
+    @Test
+    void releaseBeforeExpiryCancelsTheTimeout() {
+        ScheduleHoldDTO hold = holds.hold(1L, null, 7L);
+        assertThrows(RuntimeException.class, () -> holds.hold(1L, null, 8L));
+        assertEquals(1.0, pendingTimeouts());
+
+        holds.release(1L, "wrong-token", 7L);
+        holds.release(1L, hold.getHoldToken(), 8L);
+        assertEquals(Set.of(1L), holds.heldScheduleIds());
+
+        holds.release(1L, hold.getHoldToken(), 7L);
+        assertEquals(Set.of(), holds.heldScheduleIds());
+        assertEquals(0.0, pendingTimeouts());
+
+        // The slot can be held again right away
+        holds.hold(1L, 1, 8L);
+        assertEquals(1.0, pendingTimeouts());
+    }
+
+    @Test
+    void onlyTheHolderBooksWithTheHold() {
+        ScheduleHoldDTO hold = holds.hold(1L, 1, 7L);
+
+        AtomicInteger bookings = new AtomicInteger();
+        assertThrows(RuntimeException.class, () -> holds.book(1L, null, 8L, () -> bookings.incrementAndGet() > 0));
+        assertThrows(RuntimeException.class,
+                () -> holds.book(1L, hold.getHoldToken(), 8L, () -> bookings.incrementAndGet() > 0));
+        assertEquals(0, bookings.get());
+
+        assertFalse(holds.book(1L, hold.getHoldToken(), 7L, () -> false));
+        assertEquals(Set.of(1L), holds.heldScheduleIds());
+        assertTrue(holds.book(1L, hold.getHoldToken(), 7L, () -> true));
+        assertEquals(Set.of(), holds.heldScheduleIds());
+        assertEquals(0.0, pendingTimeouts());
+
+        // An expired hold no longer blocks anyone
+        holds.hold(2L, 1, 7L);
+        clock.advance(60_000);
+        assertTrue(holds.book(2L, null, 8L, () -> true));
+    }
+
+    // Workers take, release and abandon holds on a few slots while the clock
+    // runs and the wheel expires them. Every granted hold is checked against
+    // the last one recorded on its slot: their lifetimes must not overlap
+    @Test
+    void concurrentHoldsNeverOverlapAndAllExpire() throws Exception {
+        int slots = 16;
+        int workers = 8;
+        int rounds = 2_000;
+        Map<Long, AtomicReference<Grant>> owners = new ConcurrentHashMap<>();
+        for (long slot = 1; slot <= slots; slot++) {
+            owners.put(slot, new AtomicReference<>());
+        }
+        Queue<String> overlaps = new ConcurrentLinkedQueue<>();
+        AtomicInteger granted = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        Thread driver = new Thread(() -> {
+            while (running.get()) {
+                clock.advance(ThreadLocalRandom.current().nextLong(1, 1_500));
+                holds.expireDue();
+                Thread.yield();
+            }
+        });
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            long userId = w + 1;
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < rounds; i++) {
+                    long slot = random.nextLong(1, slots + 1);
+                    int minutes = random.nextInt(1, 4);
+                    ScheduleHoldDTO hold;
+                    try {
+                        hold = holds.hold(slot, minutes, userId);
+                    } catch (RuntimeException alreadyHeld) {
+                        continue;
+                    }
+                    granted.incrementAndGet();
+                    Grant grant = new Grant(hold.getHoldToken(),
+                            hold.getExpiresAt().minusSeconds(minutes * 60L), hold.getExpiresAt());
+                    Grant previous = owners.get(slot).getAndSet(grant);
+                    if (previous != null && previous.overlaps(grant)) {
+                        overlaps.add("slot " + slot + ": " + previous + " and " + grant);
+                    }
+                    switch (random.nextInt(3)) {
+                        case 0 -> {
+                            owners.get(slot).compareAndSet(grant, null);
+                            holds.release(slot, hold.getHoldToken(), userId);
+                        }
+                        // Someone else's release must leave the hold in place
+                        case 1 -> holds.release(slot, hold.getHoldToken(), userId + workers);
+                        default -> {
+                            // Abandoned, left to expire
+                        }
+                    }
+                }
+            }));
+        }
+        driver.start();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        running.set(false);
+        driver.join();
+
+        assertEquals(List.of(), List.copyOf(overlaps));
+        assertTrue(granted.get() > slots, "only " + granted.get() + " holds granted");
+        // Each hold still in the map has exactly one timeout pending
+        assertEquals(activeHolds(), pendingTimeouts());
+
+        clock.advance(4 * 60_000);
+        holds.expireDue();
+        assertEquals(Set.of(), holds.heldScheduleIds());
+        assertEquals(0.0, activeHolds());
+        assertEquals(0.0, pendingTimeouts());
+    }
+
+    private double activeHolds() {
+        return meters.get("schedules.holds.active").gauge().value();
+    }
+
+    private double pendingTimeouts() {
+        return meters.get("schedules.holds.timeouts_pending").gauge().value();
+    }
+
+    private record Grant(String token, Instant start, Instant end) {
+
+        private boolean overlaps(Grant other) {
+            return start.isBefore(other.end) && other.start.isBefore(end);
+        }
+    }
+
+    private static final class ManualClock extends Clock {
+
+        private final AtomicLong millis = new AtomicLong(System.currentTimeMillis());
+
+        private void advance(long delta) {
+            millis.addAndGet(delta);
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
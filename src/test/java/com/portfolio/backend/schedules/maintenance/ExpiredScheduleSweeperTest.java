@@ -0,0 +1,67 @@
+package com.portfolio.backend.schedules.maintenance;
+
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ExpiredScheduleSweeperTest {
+
+    @Autowired
+    private ExpiredScheduleSweeper sweeper;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // "Now" is noon of a day in the past, so only slots made here are in play
+    @Test
+    void slotsThatEndedEarlierTodayAreSwept() {
+        User programmer = userRepository.save(User.builder()
+                .name("Test")
+                .email("sweeper-today@test.dev")
+                .password("secret")
+                .role(Role.PROGRAMMER)
+                .build());
+        LocalDate today = LocalDate.now().minusDays(30);
+        Schedule yesterday = slot(programmer, today.minusDays(1), LocalTime.of(15, 0));
+        Schedule morning = slot(programmer, today, LocalTime.of(9, 0));
+        Schedule endingNow = slot(programmer, today, LocalTime.of(11, 0));
+        Schedule running = slot(programmer, today, LocalTime.of(11, 30));
+        Schedule afternoon = slot(programmer, today, LocalTime.of(15, 0));
+        Schedule lateNight = slot(programmer, today, LocalTime.of(23, 30));
+
+        sweeper.purgeExpired(today.atTime(12, 0));
+
+        assertFalse(scheduleRepository.existsById(yesterday.getId()));
+        assertFalse(scheduleRepository.existsById(morning.getId()));
+        assertFalse(scheduleRepository.existsById(endingNow.getId()));
+        assertTrue(scheduleRepository.existsById(running.getId()));
+        assertTrue(scheduleRepository.existsById(afternoon.getId()));
+        // Ends at 00:30 the next day
+        assertTrue(scheduleRepository.existsById(lateNight.getId()));
+    }
+
+    private Schedule slot(User programmer, LocalDate date, LocalTime time) {
+        return scheduleRepository.save(Schedule.builder()
+                .programmer(programmer)
+                .date(date)
+                .time(time)
+                .modality(Modality.VIRTUAL)
+                .build());
+    }
+}
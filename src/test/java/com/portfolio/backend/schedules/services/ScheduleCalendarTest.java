@@ -0,0 +1,115 @@
+package com.portfolio.backend.schedules.services;
+
+import com.portfolio.backend.advisories.entity.Advisory;
+import com.portfolio.backend.advisories.entity.enums.AdvisoryStatus;
+import com.portfolio.backend.advisories.repository.AdvisoryRepository;
+import com.portfolio.backend.schedules.dto.ScheduleDTO;
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScheduleCalendarTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private AdvisoryRepository advisoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void feedIsReachableOnlyThroughItsTokenAndHidesClients() throws Exception {
+        User programmer = user("calendar-programmer@test.dev", "Programadora", Role.PROGRAMMER);
+        User client = user("calendar-client@test.dev", "Cliente Secreto", Role.USER);
+        Schedule slot = scheduleRepository.save(Schedule.builder()
+                .programmer(programmer)
+                .date(LocalDate.now().plusDays(1))
+                .time(LocalTime.of(9, 0))
+                .status(ScheduleStatus.BOOKED)
+                .modality(Modality.VIRTUAL)
+                .build());
+        advisoryRepository.save(Advisory.builder()
+                .programmer(programmer)
+                .user(client)
+                .schedule(slot)
+                .status(AdvisoryStatus.ACCEPTED)
+                .date(slot.getDate())
+                .time(slot.getTime())
+                .modality("VIRTUAL")
+                .message("Mensaje privado")
+                .build());
+        // Rows from before auditing have no updatedAt
+        jdbcTemplate.update("UPDATE users SET updated_at = NULL WHERE id = ?", programmer.getId());
+
+        mockMvc.perform(get("/api/schedules/calendar/token")).andExpect(status().isForbidden());
+        String token = scheduleService.getCalendarToken(programmer.getEmail());
+        assertEquals(token, scheduleService.getCalendarToken(programmer.getEmail()));
+
+        MvcResult first = mockMvc.perform(get("/api/schedules/calendar/{token}.ics", token))
+                .andExpect(status().isOk())
+                .andReturn();
+        String ics = first.getResponse().getContentAsString();
+        assertTrue(ics.matches("(?s).*\r\nDTSTAMP:\\d{8}T\\d{6}Z\r\n.*"), ics);
+        assertTrue(ics.contains("SUMMARY:Asesoria (VIRTUAL)"), ics);
+        assertFalse(ics.contains("Cliente Secreto") || ics.contains("Mensaje privado"), ics);
+        String etag = first.getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/schedules/calendar/{token}.ics", token).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Any logged change of the programmer's slots changes the tag, sequenced or not
+        scheduleService.createSchedule(ScheduleDTO.builder()
+                .programmerId(programmer.getId())
+                .date(LocalDate.now().plusDays(2))
+                .time(LocalTime.of(10, 0))
+                .build());
+        assertNotEquals(etag, scheduleService.getCalendarEtag(programmer.getId()));
+
+        String rotated = scheduleService.rotateCalendarToken(programmer.getEmail());
+        assertNotEquals(token, rotated);
+        mockMvc.perform(get("/api/schedules/calendar/{token}.ics", token)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/schedules/calendar/{token}.ics", rotated)).andExpect(status().isOk());
+    }
+
+    private User user(String email, String name, Role role) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(email)
+                .password("secret")
+                .role(role)
+                .build());
+    }
+}
@@ -0,0 +1,116 @@
+package com.portfolio.backend.schedules.services;
+
+import com.portfolio.backend.schedules.dto.ScheduleUtilizationDTO;
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.events.ScheduleChangeType;
+import com.portfolio.backend.schedules.events.ScheduleChangedEvent;
+import com.portfolio.backend.schedules.maintenance.ExpiredScheduleSweeper;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScheduleUtilizationServiceTest {
+
+    @Autowired
+    private ScheduleUtilizationService utilizationService;
+
+    @Autowired
+    private ExpiredScheduleSweeper sweeper;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rebuildMatchesIncrementalCounters() {
+        User programmer = userRepository.save(User.builder()
+                .name("Test")
+                .email("utilization@test.dev")
+                .password("secret")
+                .role(Role.PROGRAMMER)
+                .build());
+        LocalDate lastWeek = LocalDate.now().minusWeeks(1);
+        create(programmer, lastWeek, 9);
+        create(programmer, lastWeek, 10);
+        book(create(programmer, lastWeek, 11));
+        book(create(programmer, LocalDate.now().plusWeeks(1), 9));
+        create(programmer, LocalDate.now().plusWeeks(1), 10);
+        Schedule deleted = create(programmer, LocalDate.now().plusWeeks(2), 9);
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ScheduleChangedEvent.of(ScheduleChangeType.DELETED, deleted));
+            scheduleRepository.deleteById(deleted.getId());
+        });
+        // Removes the two unbooked slots of last week
+        sweeper.sweep();
+
+        LocalDate from = LocalDate.now().minusWeeks(2);
+        LocalDate to = LocalDate.now().plusWeeks(3);
+        List<ScheduleUtilizationDTO> incremental = utilizationService.getUtilization(programmer.getId(), from, to);
+        utilizationService.rebuild();
+        List<ScheduleUtilizationDTO> rebuilt = utilizationService.getUtilization(programmer.getId(), from, to);
+
+        assertFalse(rebuilt.isEmpty());
+        assertEquals(rebuilt, incremental.stream()
+                .filter(week -> week.getAvailableSlots() + week.getBookedSlots() > 0)
+                .toList());
+    }
+
+    @Test
+    void utilizationIsAdminOnly() throws Exception {
+        mockMvc.perform(get("/api/schedules/utilization"))
+                .andExpect(status().isForbidden());
+    }
+
+    private Schedule create(User programmer, LocalDate date, int hour) {
+        return transactionTemplate.execute(status -> {
+            Schedule slot = scheduleRepository.save(Schedule.builder()
+                    .programmer(programmer)
+                    .date(date)
+                    .time(LocalTime.of(hour, 0))
+                    .modality(Modality.VIRTUAL)
+                    .build());
+            eventPublisher.publishEvent(ScheduleChangedEvent.of(ScheduleChangeType.CREATED, slot));
+            return slot;
+        });
+    }
+
+    private void book(Schedule slot) {
+        transactionTemplate.executeWithoutResult(status -> {
+            slot.setStatus(ScheduleStatus.BOOKED);
+            eventPublisher.publishEvent(ScheduleChangedEvent.of(ScheduleChangeType.BOOKED,
+                    scheduleRepository.save(slot)));
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package com.portfolio.backend.users.cache;
+
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.events.UserChangedEvent;
+import com.portfolio.backend.users.repository.UserRepository;
+import com.portfolio.backend.users.services.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class UserLookupCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Readers hammer the cache (and so keep reloading it) while the role
+    // flips; once updateUserRole has returned, no reader may see the old one.
+    // `changes` is odd while an update is in progress
+    @Test
+    void roleChangeIsNeverServedStale() throws Exception {
+        User user = userRepository.save(User.builder()
+                .name("Test")
+                .email("role-race@test.dev")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+        AtomicReference<Role> current = new AtomicReference<>(Role.USER);
+        AtomicInteger changes = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger checked = new AtomicInteger();
+
+        int readers = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < readers; i++) {
+                results.add(pool.submit(() -> {
+                    while (!done.get()) {
+                        int before = changes.get();
+                        Role expected = current.get();
+                        String authority = userDetailsService.loadUserByUsername(user.getEmail())
+                                .getAuthorities().iterator().next().getAuthority();
+                        // Only reads that did not overlap a change are conclusive
+                        if (before % 2 == 0 && changes.get() == before) {
+                            assertEquals("ROLE_" + expected.name(), authority);
+                            checked.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                Role next = i % 2 == 0 ? Role.PROGRAMMER : Role.USER;
+                changes.incrementAndGet();
+                userService.updateUserRole(user.getId(), next.name());
+                current.set(next);
+                changes.incrementAndGet();
+                Thread.sleep(1);
+            }
+        } finally {
+            done.set(true);
+            pool.shutdown();
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        assertTrue(checked.get() > 0);
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        UserLookup row = new UserLookup(7L, "Ana", "ana@test.dev", "hash", Role.USER, null, null, null, null);
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findIdByEmail(any())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return Optional.of(7L);
+        });
+        when(repository.findLookupById(7L)).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return Optional.of(row);
+        });
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        UserLookupCache cache = new UserLookupCache(repository, meters, 100, 10);
+
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<UserLookup>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.getByEmail("ana@test.dev");
+                }));
+            }
+            start.countDown();
+            for (Future<Optional<UserLookup>> result : results) {
+                assertEquals(row, result.get().orElseThrow());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (int i = 0; i < callers + 1; i++) {
+            cache.getByEmail("ana@test.dev");
+        }
+
+        verify(repository, times(1)).findIdByEmail("ana@test.dev");
+        verify(repository, times(1)).findLookupById(7L);
+        double hitRatio = meters.get("users.cache.hit_ratio").tag("cache", "users.byEmail").gauge().value();
+        assertTrue(hitRatio > 0.5, "hit ratio " + hitRatio);
+    }
+
+    @Test
+    void deletionDropsOnlyTheDeletedEmail() {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findIdByEmail("ana@test.dev")).thenReturn(Optional.of(7L), Optional.empty());
+        when(repository.findIdByEmail("luis@test.dev")).thenReturn(Optional.of(8L));
+        when(repository.findLookupById(7L)).thenReturn(Optional.of(
+                new UserLookup(7L, "Ana", "ana@test.dev", "hash", Role.USER, null, null, null, null)));
+        when(repository.findLookupById(8L)).thenReturn(Optional.of(
+                new UserLookup(8L, "Luis", "luis@test.dev", "hash", Role.USER, null, null, null, null)));
+        UserLookupCache cache = new UserLookupCache(repository, new SimpleMeterRegistry(), 100, 10);
+        cache.getByEmail("ana@test.dev");
+        cache.getByEmail("luis@test.dev");
+
+        cache.onUserChanged(UserChangedEvent.deleted(7L, "ana@test.dev"));
+
+        assertTrue(cache.getByEmail("ana@test.dev").isEmpty());
+        assertTrue(cache.getByEmail("luis@test.dev").isPresent());
+        verify(repository, times(2)).findIdByEmail("ana@test.dev");
+        verify(repository, times(1)).findIdByEmail("luis@test.dev");
+    }
+}
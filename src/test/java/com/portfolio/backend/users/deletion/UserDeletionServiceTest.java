@@ -0,0 +1,168 @@
+package com.portfolio.backend.users.deletion;
+
+import com.portfolio.backend.advisories.entity.Advisory;
+import com.portfolio.backend.advisories.entity.enums.AdvisoryStatus;
+import com.portfolio.backend.advisories.repository.AdvisoryRepository;
+import com.portfolio.backend.profiles.entity.ProgrammerProfile;
+import com.portfolio.backend.profiles.repository.ProgrammerProfileRepository;
+import com.portfolio.backend.projects.entity.Project;
+import com.portfolio.backend.projects.entity.enums.ProjectType;
+import com.portfolio.backend.projects.repository.ProjectRepository;
+import com.portfolio.backend.schedules.entity.Schedule;
+import com.portfolio.backend.schedules.entity.enums.Modality;
+import com.portfolio.backend.schedules.entity.enums.ScheduleStatus;
+import com.portfolio.backend.schedules.repository.ScheduleRepository;
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Chunks of 2 so every phase loops
+@SpringBootTest(properties = "users.deletion.chunk-size=2")
+class UserDeletionServiceTest {
+
+    @Autowired
+    private UserDeletionService deletionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private AdvisoryRepository advisoryRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProgrammerProfileRepository profileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deletesUserAndEverythingTheyOwnInChunks() throws Exception {
+        User doomed = user("deleted-programmer@test.dev", Role.PROGRAMMER);
+        User programmer = user("kept-programmer@test.dev", Role.PROGRAMMER);
+        User client = user("kept-client@test.dev", Role.USER);
+
+        profileRepository.save(ProgrammerProfile.builder()
+                .user(doomed)
+                .skills(List.of("Java", "SQL"))
+                .build());
+        for (int i = 0; i < 3; i++) {
+            project(doomed, "Doomed " + i);
+        }
+        Project keptProject = project(programmer, "Kept");
+        List<Schedule> doomedSlots = List.of(slot(doomed, 1), slot(doomed, 2), slot(doomed, 3));
+        // A client booked one of the deleted programmer's slots...
+        advisory(doomed, client, book(doomedSlots.get(0)));
+        // ...and the deleted user booked someone else's
+        Schedule heldSlot = book(slot(programmer, 4));
+        advisory(programmer, doomed, heldSlot);
+        Schedule keptSlot = slot(programmer, 5);
+
+        UserDeletionJobDTO job = await(deletionService.submit(doomed.getId()).getJobId());
+
+        assertEquals("DONE", job.getStatus(), job.getError());
+        assertEquals(Map.of("BOOKINGS", 1L, "ADVISORIES", 1L, "SCHEDULES", 3L, "PROJECTS", 3L,
+                "PROFILE", 1L, "USER", 1L), job.getDeleted());
+        assertEquals(10, job.getTotal());
+        assertEquals(10, job.getProcessed());
+        assertEquals(1, job.getFreedSchedules());
+
+        assertFalse(userRepository.existsById(doomed.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM projects WHERE owner_id = ?", doomed.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM schedules WHERE programmer_id = ?", doomed.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM advisories WHERE user_id = ? OR programmer_id = ?",
+                doomed.getId(), doomed.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM programmer_profiles WHERE user_id = ?", doomed.getId()));
+        assertEquals(3, count("SELECT COUNT(*) FROM schedule_changes WHERE change_type = 'DELETED' "
+                + "AND programmer_id = ?", doomed.getId()));
+
+        assertEquals(ScheduleStatus.AVAILABLE, scheduleRepository.findById(heldSlot.getId()).orElseThrow().getStatus());
+        assertTrue(scheduleRepository.existsById(keptSlot.getId()));
+        assertTrue(projectRepository.existsById(keptProject.getId()));
+        assertTrue(userRepository.existsById(client.getId()));
+    }
+
+    @Test
+    void unknownUserIsRejected() {
+        RuntimeException error = org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class,
+                () -> deletionService.submit(-1L));
+        assertTrue(error.getMessage().contains("no encontrado"));
+    }
+
+    private UserDeletionJobDTO await(String jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            UserDeletionJobDTO job = deletionService.getJob(jobId);
+            if ("DONE".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Deletion job did not finish");
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private User user(String email, Role role) {
+        return userRepository.save(User.builder()
+                .name("Test")
+                .email(email)
+                .password("secret")
+                .role(role)
+                .build());
+    }
+
+    private Project project(User owner, String name) {
+        return projectRepository.save(Project.builder()
+                .name(name)
+                .type(ProjectType.values()[0])
+                .techs(List.of("Java", "Spring"))
+                .owner(owner)
+                .build());
+    }
+
+    private Schedule slot(User programmer, int days) {
+        return scheduleRepository.save(Schedule.builder()
+                .programmer(programmer)
+                .date(LocalDate.now().plusDays(days))
+                .time(LocalTime.of(10, 0))
+                .modality(Modality.values()[0])
+                .build());
+    }
+
+    private Schedule book(Schedule slot) {
+        slot.setStatus(ScheduleStatus.BOOKED);
+        return scheduleRepository.save(slot);
+    }
+
+    private void advisory(User programmer, User client, Schedule slot) {
+        advisoryRepository.save(Advisory.builder()
+                .programmer(programmer)
+                .user(client)
+                .schedule(slot)
+                .status(AdvisoryStatus.ACCEPTED)
+                .date(slot.getDate())
+                .time(slot.getTime())
+                .modality("VIRTUAL")
+                .build());
+    }
+}
@@ -0,0 +1,136 @@
+package com.portfolio.backend.users.images;
+
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "uploads.storage=local",
+        "uploads.local.dir=target/test-uploads-gc" })
+class BlobGarbageCollectorTest {
+
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    @Autowired
+    private BlobGarbageCollector collector;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ImageVariantGenerator variantGenerator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // target/ outlives the H2 database, so files from earlier runs would be orphans
+    @BeforeEach
+    void clearStore() throws Exception {
+        for (Path directory : new Path[] { blobStore.root(), variantGenerator.directory() }) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    void deletesOnlyOldUnreferencedFiles() throws Exception {
+        BlobStore.Blob shared = put("shared");
+        BlobStore.Blob orphan = put("orphan");
+        BlobStore.Blob recent = put("recent");
+        createUser("gc-a@test.dev", shared.url());
+        createUser("gc-b@test.dev", shared.url());
+        Path sharedVariant = variant(shared.hash());
+        Path orphanVariant = variant(orphan.hash());
+        for (Path file : new Path[] { shared.path(), orphan.path(), sharedVariant, orphanVariant }) {
+            Files.setLastModifiedTime(file, OLD);
+        }
+
+        assertEquals(2L, collector.referenceCounts().get(shared.url()));
+        assertEquals(2, collector.collectGarbage(Instant.now().minusSeconds(60)));
+
+        assertTrue(Files.exists(shared.path()));
+        assertTrue(Files.exists(sharedVariant));
+        assertTrue(Files.exists(recent.path()));
+        assertFalse(Files.exists(orphan.path()));
+        assertFalse(Files.exists(orphanVariant));
+    }
+
+    @Test
+    void reusedBlobSurvivesTheGracePeriod() throws Exception {
+        BlobStore.Blob blob = put("reused");
+        Files.setLastModifiedTime(blob.path(), OLD);
+
+        // Same content uploaded again before its user row is updated
+        put("reused");
+
+        assertEquals(0, collector.collectGarbage(Instant.now().minusSeconds(60)));
+        assertTrue(Files.exists(blob.path()));
+    }
+
+    // The collector picked the blob as garbage and is about to delete it when
+    // the same content is uploaded again: whichever gets the hash lock first,
+    // the blob must be there once the upload returns
+    @Test
+    void blobReusedDuringTheSweepIsKept() throws Exception {
+        BlobStore.Blob blob = put("reused-during-sweep");
+        Files.setLastModifiedTime(blob.path(), OLD);
+
+        FutureTask<Integer> sweep = new FutureTask<>(() -> collector.collectGarbage(Instant.now().minusSeconds(60)));
+        Thread sweeper = new Thread(sweep);
+        synchronized (blobStore.lock(blob.hash())) {
+            sweeper.start();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (sweeper.getState() != Thread.State.BLOCKED && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            // Waiting for the lock, right before its last check
+            assertEquals(Thread.State.BLOCKED, sweeper.getState());
+            assertEquals(blob.path(), put("reused-during-sweep").path());
+        }
+
+        assertEquals(0, sweep.get(10, TimeUnit.SECONDS));
+        assertTrue(Files.exists(blob.path()));
+    }
+
+    private BlobStore.Blob put(String content) throws Exception {
+        Path source = Files.createTempFile("blob-source-", ".upload");
+        try {
+            return blobStore.put(Files.writeString(source, content), "image/jpeg");
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    private Path variant(String hash) throws Exception {
+        return Files.writeString(variantGenerator.directory().resolve(ImageVariant.THUMB.fileName(hash)), hash);
+    }
+
+    private void createUser(String email, String imageUrl) {
+        userRepository.save(User.builder()
+                .name("Test")
+                .email(email)
+                .password("secret")
+                .role(Role.USER)
+                .imageUrl(imageUrl)
+                .build());
+    }
+}
@@ -0,0 +1,130 @@
+package com.portfolio.backend.users.images;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class BlobStoreTest {
+
+    @TempDir
+    private Path uploads;
+
+    private SimpleMeterRegistry meters;
+    private BlobStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meters = new SimpleMeterRegistry();
+        store = new BlobStore(uploads.toString(), meters);
+    }
+
+    @Test
+    void storesUnderShardedHashName() throws Exception {
+        byte[] content = bytes(1, 300_000);
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        BlobStore.Blob blob = store.put(write(content), "image/png");
+
+        assertEquals(hash, blob.hash());
+        String relative = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png";
+        assertEquals(uploads.resolve("blobs").resolve(relative).toAbsolutePath(), blob.path());
+        assertEquals("/uploads/blobs/" + relative, blob.url());
+        assertArrayEquals(content, Files.readAllBytes(blob.path()));
+
+        BlobStore.Blob other = store.put(write(bytes(2, 1000)), "image/png");
+        assertNotEquals(blob.hash(), other.hash());
+        assertEquals(2.0, count("new"));
+    }
+
+    @Test
+    void concurrentIdenticalUploadsKeepOneBlob() throws Exception {
+        int uploaders = 8;
+        byte[] content = bytes(3, 2_000_000);
+        List<Path> sources = new ArrayList<>();
+        for (int i = 0; i < uploaders; i++) {
+            sources.add(write(content));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(uploaders);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BlobStore.Blob>> results = new ArrayList<>();
+        try {
+            for (Path source : sources) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return store.put(source, "image/jpeg");
+                }));
+            }
+            start.countDown();
+            Set<String> urls = results.stream().map(this::get).map(BlobStore.Blob::url).collect(Collectors.toSet());
+            assertEquals(1, urls.size());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        try (Stream<Path> files = Files.walk(store.root())) {
+            List<Path> stored = files.filter(Files::isRegularFile).toList();
+            assertEquals(1, stored.size(), stored.toString());
+            assertArrayEquals(content, Files.readAllBytes(stored.get(0)));
+        }
+        // Uploads of the same hash run one at a time, so only the first stores
+        assertEquals(1.0, count("new"));
+        assertEquals(uploaders - 1, count("duplicate"));
+    }
+
+    // The collector removed the blob between two uploads of the same content
+    @Test
+    void collectedBlobIsStoredAgain() throws Exception {
+        byte[] content = bytes(4, 10_000);
+        BlobStore.Blob first = store.put(write(content), "image/jpeg");
+        Files.delete(first.path());
+
+        BlobStore.Blob second = store.put(write(content), "image/jpeg");
+
+        assertEquals(first.path(), second.path());
+        assertArrayEquals(content, Files.readAllBytes(second.path()));
+        assertEquals(2.0, count("new"));
+    }
+
+    private BlobStore.Blob get(Future<BlobStore.Blob> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private Path write(byte[] content) throws Exception {
+        return Files.write(Files.createTempFile(uploads, "source-", ".upload"), content);
+    }
+
+    private static byte[] bytes(long seed, int size) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    private double count(String result) {
+        return meters.get("users.image_blobs.stored").tag("result", result).counter().count();
+    }
+}
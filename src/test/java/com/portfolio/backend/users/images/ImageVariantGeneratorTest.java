@@ -0,0 +1,121 @@
+package com.portfolio.backend.users.images;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageVariantGeneratorTest {
+
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    @TempDir
+    private Path uploads;
+
+    private SimpleMeterRegistry meters;
+    private ImageVariantGenerator generator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meters = new SimpleMeterRegistry();
+        generator = new ImageVariantGenerator(uploads.toString(), meters);
+    }
+
+    @Test
+    void writesEveryVariantNamedByContentHash() throws Exception {
+        Path source = png(2000, 1000);
+        String hash = sha256(source);
+
+        assertTrue(generator.generate(source, hash));
+
+        assertEquals(64, hash.length());
+        assertSize(variant(ImageVariant.FULL, hash), 1600, 800);
+        assertSize(variant(ImageVariant.CARD, hash), 400, 200);
+        assertSize(variant(ImageVariant.THUMB, hash), 96, 48);
+        assertEquals(1.0, count("generated"));
+    }
+
+    @Test
+    void reusesVariantsAlreadyOnDisk() throws Exception {
+        Path source = png(800, 600);
+        String hash = sha256(source);
+        generator.generate(source, hash);
+        Files.write(variant(ImageVariant.THUMB, hash), new byte[] { 1 });
+        for (ImageVariant variant : ImageVariant.values()) {
+            Files.setLastModifiedTime(variant(variant, hash), OLD);
+        }
+
+        // Same content again: nothing is decoded or rewritten, but the
+        // files look freshly used to the collector
+        assertTrue(generator.generate(png(800, 600), hash));
+        assertArrayEquals(new byte[] { 1 }, Files.readAllBytes(variant(ImageVariant.THUMB, hash)));
+        for (ImageVariant variant : ImageVariant.values()) {
+            assertNotEquals(OLD, Files.getLastModifiedTime(variant(variant, hash)));
+        }
+        assertEquals(1.0, count("cached"));
+
+        // A missing variant is regenerated on its own
+        Files.delete(variant(ImageVariant.CARD, hash));
+        assertTrue(generator.generate(source, hash));
+        assertSize(variant(ImageVariant.CARD, hash), 400, 300);
+        assertArrayEquals(new byte[] { 1 }, Files.readAllBytes(variant(ImageVariant.THUMB, hash)));
+        assertEquals(2.0, count("generated"));
+    }
+
+    @Test
+    void doesNotUpscaleAndSkipsUnreadableFiles() throws Exception {
+        Path small = png(64, 32);
+        String hash = sha256(small);
+        assertTrue(generator.generate(small, hash));
+        assertSize(variant(ImageVariant.FULL, hash), 64, 32);
+        assertSize(variant(ImageVariant.THUMB, hash), 64, 32);
+
+        Path text = Files.writeString(uploads.resolve("notes.png"), "not an image");
+        String textHash = sha256(text);
+        assertNotEquals(hash, textHash);
+        assertFalse(generator.generate(text, textHash));
+        assertFalse(Files.exists(variant(ImageVariant.THUMB, textHash)));
+    }
+
+    private Path png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, height / 2, 0xFF336699);
+        }
+        Path file = Files.createTempFile(uploads, "source-", ".png");
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+
+    private static String sha256(Path file) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    }
+
+    private Path variant(ImageVariant variant, String hash) {
+        return uploads.resolve("variants").resolve(variant.fileName(hash));
+    }
+
+    private double count(String result) {
+        return meters.get("users.image_variants").tag("result", result).counter().count();
+    }
+
+    private static void assertSize(Path file, int width, int height) throws Exception {
+        BufferedImage image = ImageIO.read(file.toFile());
+        assertEquals(width, image.getWidth(), file.toString());
+        assertEquals(height, image.getHeight(), file.toString());
+    }
+}
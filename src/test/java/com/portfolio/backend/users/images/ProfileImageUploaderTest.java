@@ -0,0 +1,210 @@
+package com.portfolio.backend.users.images;
+
+import com.portfolio.backend.users.entity.User;
+import com.portfolio.backend.users.entity.enums.Role;
+import com.portfolio.backend.users.repository.UserRepository;
+import com.portfolio.backend.users.services.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "uploads.storage=local",
+        "uploads.local.dir=target/test-uploads",
+        "uploads.spool-dir=target/test-upload-spool" })
+class ProfileImageUploaderTest {
+
+    @Autowired
+    private ProfileImageUploader uploader;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ImageVariantGenerator variantGenerator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void uploadCompletesInBackgroundAndSetsImageUrl() throws Exception {
+        Long userId = createUser("upload@test.dev");
+        byte[] image = new byte[256 * 1024];
+        image[0] = (byte) 0x89;
+
+        ImageUploadJobDTO job = uploader.submit(userId,
+                new MockMultipartFile("file", "me.png", "image/png", image));
+        ImageUploadJobDTO done = awaitFinished(userId, job.getJobId());
+
+        assertEquals("DONE", done.getStatus(), done.getError());
+        assertTrue(done.getImageUrl().startsWith("/uploads/") && done.getImageUrl().endsWith(".png"));
+        assertNull(done.getImageVariants()); // not a decodable PNG
+        assertEquals(done.getImageUrl(), userRepository.findById(userId).orElseThrow().getImageUrl());
+        Path stored = Paths.get("target/test-uploads").resolve(done.getImageUrl().substring("/uploads/".length()));
+        assertArrayEquals(image, Files.readAllBytes(stored));
+        try (var spooled = Files.list(Paths.get("target/test-upload-spool"))) {
+            assertEquals(0, spooled.count());
+        }
+    }
+
+    @Test
+    void decodableImageGetsVariants() throws Exception {
+        Long userId = createUser("variants@test.dev");
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        ImageUploadJobDTO job = uploader.submit(userId,
+                new MockMultipartFile("file", "me.png", "image/png", png.toByteArray()));
+        ImageUploadJobDTO done = awaitFinished(userId, job.getJobId());
+
+        assertEquals("DONE", done.getStatus(), done.getError());
+        ImageVariantsDTO variants = done.getImageVariants();
+        assertTrue(variants.thumb().startsWith("/uploads/variants/") && variants.thumb().endsWith("-thumb.jpg"));
+        BufferedImage thumb = ImageIO.read(Paths.get("target/test-uploads/variants")
+                .resolve(variants.thumb().substring("/uploads/variants/".length())).toFile());
+        assertEquals(96, thumb.getWidth());
+        assertEquals(72, thumb.getHeight());
+        assertEquals(variants, userService.getAllUsers().stream()
+                .filter(user -> user.getId().equals(userId))
+                .findFirst().orElseThrow().getImageVariants());
+    }
+
+    // Variant URLs point at this server, which a remote storage does not use
+    @Test
+    void remoteStorageGetsNoVariants() throws Exception {
+        Long userId = createUser("remote-variants@test.dev");
+        ImageStorage remote = (blob, contentType) -> "https://cdn.example.com/" + blob.hash() + ".png";
+        ProfileImageUploader remoteUploader = new ProfileImageUploader(remote, blobStore, variantGenerator,
+                userRepository, transactionTemplate, eventPublisher, new SimpleMeterRegistry(),
+                "target/test-upload-spool", 1, 10, 30);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(320, 200, BufferedImage.TYPE_INT_RGB), "png", png);
+        try {
+            ImageUploadJobDTO job = remoteUploader.submit(userId,
+                    new MockMultipartFile("file", "me.png", "image/png", png.toByteArray()));
+            ImageUploadJobDTO done = awaitFinished(remoteUploader, userId, job.getJobId());
+
+            assertEquals("DONE", done.getStatus(), done.getError());
+            assertTrue(done.getImageUrl().startsWith("https://cdn.example.com/"));
+            assertNull(done.getImageVariants());
+            User user = userRepository.findById(userId).orElseThrow();
+            assertEquals(done.getImageUrl(), user.getImageUrl());
+            assertNull(user.getImageHash());
+        } finally {
+            remoteUploader.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsNonImagesAndOtherUsersJobs() throws Exception {
+        Long userId = createUser("upload-owner@test.dev");
+        Long otherId = createUser("upload-other@test.dev");
+
+        assertThrows(RuntimeException.class, () -> uploader.submit(userId,
+                new MockMultipartFile("file", "notes.txt", "text/plain", new byte[] { 1 })));
+
+        ImageUploadJobDTO job = uploader.submit(userId,
+                new MockMultipartFile("file", "me.jpg", "image/jpeg", new byte[] { 1, 2, 3 }));
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> uploader.getJob(otherId, job.getJobId()));
+        assertEquals("Upload job not found", error.getMessage());
+        awaitFinished(userId, job.getJobId());
+    }
+
+    // The first upload is held in storage until the second one is done: when
+    // it finally finishes it must not put the older image back
+    @Test
+    void olderUploadFinishingLastDoesNotWin() throws Exception {
+        Long userId = createUser("upload-order@test.dev");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ImageStorage storage = (blob, contentType) -> {
+            try {
+                if (calls.incrementAndGet() == 1 && !release.await(10, TimeUnit.SECONDS)) {
+                    throw new IOException("never released");
+                }
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return blob.url();
+        };
+        ProfileImageUploader twoWorkers = new ProfileImageUploader(storage, blobStore, variantGenerator,
+                userRepository, transactionTemplate, eventPublisher, new SimpleMeterRegistry(),
+                "target/test-upload-spool", 2, 10, 30);
+        try {
+            ImageUploadJobDTO older = twoWorkers.submit(userId,
+                    new MockMultipartFile("file", "old.jpg", "image/jpeg", new byte[] { 1, 2, 3 }));
+            while (calls.get() == 0) {
+                Thread.sleep(5);
+            }
+            ImageUploadJobDTO newer = twoWorkers.submit(userId,
+                    new MockMultipartFile("file", "new.jpg", "image/jpeg", new byte[] { 4, 5, 6 }));
+            ImageUploadJobDTO newerDone = awaitFinished(twoWorkers, userId, newer.getJobId());
+            release.countDown();
+            ImageUploadJobDTO olderDone = awaitFinished(twoWorkers, userId, older.getJobId());
+
+            assertEquals("DONE", newerDone.getStatus(), newerDone.getError());
+            assertEquals("FAILED", olderDone.getStatus());
+            assertEquals("Replaced by a newer upload", olderDone.getError());
+            assertEquals(newerDone.getImageUrl(), userRepository.findById(userId).orElseThrow().getImageUrl());
+        } finally {
+            release.countDown();
+            twoWorkers.shutdown();
+        }
+    }
+
+    private ImageUploadJobDTO awaitFinished(Long userId, String jobId) throws InterruptedException {
+        return awaitFinished(uploader, userId, jobId);
+    }
+
+    private static ImageUploadJobDTO awaitFinished(ProfileImageUploader uploader, Long userId, String jobId)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ImageUploadJobDTO job = uploader.getJob(userId, jobId);
+        while (!job.getStatus().equals("DONE") && !job.getStatus().equals("FAILED")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = uploader.getJob(userId, jobId);
+        }
+        return job;
+    }
+
+    private Long createUser(String email) {
+        return userRepository.save(User.builder()
+                .name("Test")
+                .email(email)
+                .password("secret")
+                .role(Role.USER)
+                .build()).getId();
+    }
+}
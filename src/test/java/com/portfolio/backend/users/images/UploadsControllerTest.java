@@ -0,0 +1,85 @@
+package com.portfolio.backend.users.images;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "uploads.local.dir=target/test-uploads-served")
+@AutoConfigureMockMvc
+class UploadsControllerTest {
+
+    private static final String HASH = "ab".repeat(32);
+    private static final byte[] BODY = "0123456789".getBytes();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void writeFiles() throws Exception {
+        Path dir = Files.createDirectories(Paths.get("target/test-uploads-served"));
+        Files.write(dir.resolve(HASH + ".jpg"), BODY);
+        Files.write(dir.resolve("legacy.jpg"), BODY);
+    }
+
+    @Test
+    void contentAddressedFilesAreImmutableAndRevalidateTo304() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(header().string("Content-Type", "image/jpeg"))
+                .andExpect(content().bytes(BODY));
+
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("If-None-Match", "\"" + HASH + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void otherFilesMustBeRevalidated() throws Exception {
+        mockMvc.perform(get("/uploads/legacy.jpg"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    void servesSingleRanges() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("Range", "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-4/10"))
+                .andExpect(content().bytes("234".getBytes()));
+
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("789".getBytes()));
+
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("Range", "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+
+        // A stale If-Range gets the whole file
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("Range", "bytes=2-4").header("If-Range", "\"x\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BODY));
+    }
+
+    @Test
+    void doesNotLeaveTheUploadsDirectory() throws Exception {
+        // Rejected by the security firewall or by the controller, never served
+        mockMvc.perform(get("/uploads/../pom.xml")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/uploads/%2e%2e/pom.xml")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/uploads/missing.jpg")).andExpect(status().isNotFound());
+    }
+}